@@ -0,0 +1,68 @@
+package net.jfabricationgames.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.jfabricationgames.linear_algebra.Matrix2D;
+import net.jfabricationgames.linear_algebra.Vector2D;
+
+/**
+ * Reproducible input data for the benchmarks (all data is created from a fixed seed so the results can be compared across releases).
+ */
+public class BenchmarkData {
+	
+	public static final long SEED = 42;
+	
+	private BenchmarkData() {}
+	
+	/**
+	 * Create points that are spread uniformly in the area [0, size] x [0, size].
+	 */
+	public static List<Vector2D> createUniformPoints(int count, double size, Random random) {
+		List<Vector2D> points = new ArrayList<Vector2D>(count);
+		for (int i = 0; i < count; i++) {
+			points.add(new Vector2D(random.nextDouble() * size, random.nextDouble() * size));
+		}
+		return points;
+	}
+	
+	/**
+	 * Create points that are normally distributed around a number of randomly chosen cluster centers in the area [0, size] x [0, size].
+	 */
+	public static List<Vector2D> createClusteredPoints(int count, int clusters, double size, Random random) {
+		List<Vector2D> centers = createUniformPoints(clusters, size, random);
+		double deviation = size / (4 * clusters);
+		List<Vector2D> points = new ArrayList<Vector2D>(count);
+		for (int i = 0; i < count; i++) {
+			Vector2D center = centers.get(i % clusters);
+			points.add(new Vector2D(center.x + random.nextGaussian() * deviation, center.y + random.nextGaussian() * deviation));
+		}
+		return points;
+	}
+	
+	/**
+	 * Create a random quadratic matrix that is diagonally dominant (so a gauss system with this matrix has a single solution).
+	 */
+	public static Matrix2D createDiagonallyDominantMatrix(int size, Random random) {
+		Matrix2D matrix = new Matrix2D(size, size);
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				matrix.set(i, j, random.nextDouble());
+			}
+			matrix.set(i, i, size + random.nextDouble());
+		}
+		return matrix;
+	}
+	
+	/**
+	 * Create a vector of random values.
+	 */
+	public static double[] createVector(int size, Random random) {
+		double[] vector = new double[size];
+		for (int i = 0; i < size; i++) {
+			vector[i] = random.nextDouble();
+		}
+		return vector;
+	}
+}
@@ -0,0 +1,62 @@
+package net.jfabricationgames.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.jfabricationgames.linear_algebra.Gauss;
+import net.jfabricationgames.linear_algebra.Matrix2D;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GaussBenchmark {
+	
+	@Param({"3", "10", "50"})
+	private int size;
+	
+	private Matrix2D matrix;
+	private Matrix2D underdeterminedMatrix;
+	private double[] b;
+	
+	@Setup
+	public void setUp() {
+		Random random = new Random(BenchmarkData.SEED);
+		matrix = BenchmarkData.createDiagonallyDominantMatrix(size, random);
+		b = BenchmarkData.createVector(size, random);
+		//the same matrix with an additional column, so the solutions have one free parameter (and the alternative system is solved)
+		underdeterminedMatrix = new Matrix2D(size, size + 1);
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				underdeterminedMatrix.set(i, j, matrix.at(i, j));
+			}
+		}
+		for (int j = 0; j < size; j++) {
+			underdeterminedMatrix.set(size, j, random.nextDouble());
+		}
+	}
+	
+	@Benchmark
+	public Gauss calculateGauss() {
+		return Gauss.calculateGauss(matrix, b);
+	}
+	
+	@Benchmark
+	public double[][] getSolutionsUnderdetermined() {
+		return Gauss.calculateGauss(underdeterminedMatrix, b).getSolutions();
+	}
+}
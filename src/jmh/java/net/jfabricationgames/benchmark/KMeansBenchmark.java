@@ -0,0 +1,71 @@
+package net.jfabricationgames.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.jfabricationgames.algorithm.KMeans;
+import net.jfabricationgames.algorithm.KMeansResult;
+import net.jfabricationgames.linear_algebra.Vector2D;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KMeansBenchmark {
+	
+	@Param({"10000", "100000"})
+	private int pointCount;
+	
+	@Param({"5", "20"})
+	private int k;
+	
+	@Param({"false", "true"})
+	private boolean parallel;
+	
+	@Param({"LLOYD", "HAMERLY"})
+	private KMeans.Algorithm algorithm;
+	
+	private List<Vector2D> points;
+	private List<Vector2D> initialCenters;
+	
+	@Setup
+	public void setUp() {
+		Random random = new Random(BenchmarkData.SEED);
+		points = BenchmarkData.createClusteredPoints(pointCount, k, 1000, random);
+		//fixed initial centers, so every invocation does the same amount of work
+		initialCenters = BenchmarkData.createUniformPoints(k, 1000, random);
+	}
+	
+	@Benchmark
+	public Map<Vector2D, Set<Vector2D>> findClusters() {
+		KMeans<Vector2D> kMeans = new KMeans<Vector2D>(k, points, initialCenters, v -> v);
+		kMeans.setParallel(parallel);
+		kMeans.setAlgorithm(algorithm);
+		return kMeans.findClusters();
+	}
+	
+	@Benchmark
+	public KMeansResult<Vector2D> findClusterResult() {
+		KMeans<Vector2D> kMeans = new KMeans<Vector2D>(k, points, initialCenters, v -> v);
+		kMeans.setParallel(parallel);
+		kMeans.setAlgorithm(algorithm);
+		return kMeans.findClusterResult();
+	}
+}
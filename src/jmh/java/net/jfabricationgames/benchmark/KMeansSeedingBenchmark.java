@@ -0,0 +1,58 @@
+package net.jfabricationgames.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.jfabricationgames.algorithm.KMeans;
+import net.jfabricationgames.algorithm.KMeansResult;
+import net.jfabricationgames.linear_algebra.Vector2D;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KMeansSeedingBenchmark {
+	
+	@Param({"10000", "100000"})
+	private int pointCount;
+	
+	@Param({"5", "20"})
+	private int k;
+	
+	@Param({"UNIFORM", "KMEANS_PLUS_PLUS", "KMEANS_PARALLEL"})
+	private KMeans.Seeding seeding;
+	
+	private List<Vector2D> points;
+	
+	@Setup
+	public void setUp() {
+		points = BenchmarkData.createClusteredPoints(pointCount, k, 1000, new Random(BenchmarkData.SEED));
+	}
+	
+	/**
+	 * The whole clustering (seeding and iterations), because a better seeding reduces the number of iterations.
+	 */
+	@Benchmark
+	public KMeansResult<Vector2D> findClusterResult() {
+		KMeans<Vector2D> kMeans = new KMeans<Vector2D>(k, points, null, v -> v);
+		kMeans.setSeeding(seeding);
+		//the same seed in every invocation, so every invocation does the same amount of work
+		kMeans.setRandom(new Random(BenchmarkData.SEED));
+		return kMeans.findClusterResult();
+	}
+}
@@ -0,0 +1,59 @@
+package net.jfabricationgames.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.jfabricationgames.linear_algebra.Matrix2D;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Matrix2DBenchmark {
+	
+	@Param({"3", "50", "200"})
+	private int size;
+	
+	private Matrix2D matrix;
+	
+	@Setup
+	public void setUp() {
+		matrix = BenchmarkData.createDiagonallyDominantMatrix(size, new Random(BenchmarkData.SEED));
+	}
+	
+	@Benchmark
+	public Matrix2D cloneMatrix() {
+		return matrix.clone();
+	}
+	
+	@Benchmark
+	public Matrix2D transpose() {
+		return matrix.transpose();
+	}
+	
+	@Benchmark
+	public double sumEntries() {
+		int[] dimensions = matrix.getDimensions();
+		double sum = 0;
+		for (int y = 0; y < dimensions[0]; y++) {
+			for (int x = 0; x < dimensions[1]; x++) {
+				sum += matrix.at(x, y);
+			}
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,109 @@
+package net.jfabricationgames.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.jfabricationgames.linear_algebra.DenseMatrix2D;
+import net.jfabricationgames.linear_algebra.Matrix2D;
+
+/**
+ * Compares the (hand-rolled) naive triple loop with the blocked and the parallel multiplication of Matrix2D and DenseMatrix2D.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatrixMultiplicationBenchmark {
+	
+	@Param({"50", "200", "500"})
+	private int size;
+	
+	private Matrix2D matrix;
+	private Matrix2D other;
+	private DenseMatrix2D denseMatrix;
+	private DenseMatrix2D denseOther;
+	private double[] vector;
+	
+	@Setup
+	public void setUp() {
+		Random random = new Random(BenchmarkData.SEED);
+		matrix = BenchmarkData.createDiagonallyDominantMatrix(size, random);
+		other = BenchmarkData.createDiagonallyDominantMatrix(size, random);
+		denseMatrix = new DenseMatrix2D(matrix);
+		denseOther = new DenseMatrix2D(other);
+		vector = BenchmarkData.createVector(size, random);
+	}
+	
+	@Benchmark
+	public Matrix2D multNaive() {
+		int[] dimensions = matrix.getDimensions();
+		int[] otherDimensions = other.getDimensions();
+		Matrix2D result = new Matrix2D(dimensions[0], otherDimensions[1]);
+		for (int i = 0; i < dimensions[0]; i++) {
+			for (int j = 0; j < otherDimensions[1]; j++) {
+				double sum = 0;
+				for (int k = 0; k < dimensions[1]; k++) {
+					sum += matrix.at(k, i) * other.at(j, k);
+				}
+				result.set(j, i, sum);
+			}
+		}
+		return result;
+	}
+	
+	@Benchmark
+	public Matrix2D mult() {
+		return matrix.mult(other);
+	}
+	
+	@Benchmark
+	public Matrix2D multParallel() {
+		return matrix.mult(other, true);
+	}
+	
+	@Benchmark
+	public Matrix2D multDense() {
+		return denseMatrix.mult(denseOther);
+	}
+	
+	@Benchmark
+	public Matrix2D multDenseParallel() {
+		return denseMatrix.mult(denseOther, true);
+	}
+	
+	@Benchmark
+	public double[] multVectorNaive() {
+		int[] dimensions = matrix.getDimensions();
+		double[] result = new double[dimensions[0]];
+		for (int i = 0; i < dimensions[0]; i++) {
+			for (int k = 0; k < dimensions[1]; k++) {
+				result[i] += matrix.at(k, i) * vector[k];
+			}
+		}
+		return result;
+	}
+	
+	@Benchmark
+	public double[] multVector() {
+		return matrix.mult(vector);
+	}
+	
+	@Benchmark
+	public double[] multVectorDense() {
+		return denseMatrix.mult(vector);
+	}
+}
@@ -0,0 +1,100 @@
+package net.jfabricationgames.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.jfabricationgames.linear_algebra.DenseMatrix2D;
+import net.jfabricationgames.linear_algebra.Gauss;
+import net.jfabricationgames.linear_algebra.Line3D;
+import net.jfabricationgames.linear_algebra.Matrix2D;
+import net.jfabricationgames.linear_algebra.Plane3D;
+import net.jfabricationgames.linear_algebra.Vector3D;
+import net.jfabricationgames.linear_algebra.Vector3DBuffer;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Plane3DBenchmark {
+	
+	@Param({"1000", "100000"})
+	private int lineCount;
+	
+	private Plane3D plane;
+	private List<Line3D> lines;
+	private Vector3DBuffer starts;
+	private Vector3DBuffer directions;
+	private double[] parameters;
+	
+	@Setup
+	public void setUp() {
+		Random random = new Random(BenchmarkData.SEED);
+		plane = new Plane3D(new Vector3D(1, 1, 0), new Vector3D(1, 1, -1), new Vector3D(2, 0, 1));
+		lines = new ArrayList<Line3D>(lineCount);
+		starts = new Vector3DBuffer(lineCount);
+		directions = new Vector3DBuffer(lineCount);
+		for (int i = 0; i < lineCount; i++) {
+			Vector3D start = new Vector3D(random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100);
+			Vector3D direction = new Vector3D(random.nextDouble() - 0.5, random.nextDouble() - 0.5, random.nextDouble() - 0.5);
+			lines.add(new Line3D(start, direction));
+			starts.append(start);
+			directions.append(direction);
+		}
+		parameters = new double[lineCount];
+	}
+	
+	@Benchmark
+	public void getIntersectionPoint(Blackhole blackhole) {
+		for (Line3D line : lines) {
+			blackhole.consume(plane.getIntersectionPoint(line));
+		}
+	}
+	
+	@Benchmark
+	public void getIntersectionPointGauss(Blackhole blackhole) {
+		for (Line3D line : lines) {
+			blackhole.consume(getIntersectionPointGauss(plane, line));
+		}
+	}
+	
+	@Benchmark
+	public double[] getIntersectionParametersBuffer() {
+		return plane.getIntersectionParameters(starts, directions, parameters);
+	}
+	
+	@Benchmark
+	public double[] getIntersectionParametersList() {
+		return plane.getIntersectionParameters(lines, parameters);
+	}
+	
+	/**
+	 * The previous implementation that solves a gauss system for every line (for comparison; the lines are not parallel to the plane).
+	 */
+	private static Vector3D getIntersectionPointGauss(Plane3D plane, Line3D line) {
+		Vector3D normal = plane.getNormalVector();
+		//two direction vectors of the plane
+		Vector3D direction1 = normal.cross(new Vector3D(1, 0, 0));
+		Vector3D direction2 = normal.cross(direction1);
+		Matrix2D m = new DenseMatrix2D(Matrix2D.Orientation.COL, direction1, direction2, line.getDirection().mult(-1));
+		double[] b = line.getStart().sub(new Vector3D(1, 1, 0)).asArray();
+		Gauss gauss = Gauss.calculateGauss(m, b);
+		return line.getStart().add(line.getDirection().mult(gauss.getXVec()[2]));
+	}
+}
@@ -0,0 +1,81 @@
+package net.jfabricationgames.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.jfabricationgames.linear_algebra.Line3D;
+import net.jfabricationgames.linear_algebra.Plane3D;
+import net.jfabricationgames.linear_algebra.Vector3D;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Plane3DDistanceBenchmark {
+	
+	@Param({"1000", "1000000"})
+	private int pointCount;
+	
+	private Plane3D plane;
+	private Vector3D[] points;
+	private double[] coordinates;
+	private double[] distances;
+	
+	@Setup
+	public void setUp() {
+		Random random = new Random(BenchmarkData.SEED);
+		plane = new Plane3D(new Vector3D(1, 1, 0), new Vector3D(1, 1, -1), new Vector3D(2, 0, 1));
+		points = new Vector3D[pointCount];
+		coordinates = new double[3 * pointCount];
+		for (int i = 0; i < pointCount; i++) {
+			points[i] = new Vector3D(random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100);
+			coordinates[3 * i] = points[i].x;
+			coordinates[3 * i + 1] = points[i].y;
+			coordinates[3 * i + 2] = points[i].z;
+		}
+		distances = new double[pointCount];
+	}
+	
+	@Benchmark
+	public void getDistance(Blackhole blackhole) {
+		for (Vector3D point : points) {
+			blackhole.consume(plane.getDistance(point));
+		}
+	}
+	
+	@Benchmark
+	public void getDistanceIntersection(Blackhole blackhole) {
+		for (Vector3D point : points) {
+			blackhole.consume(getDistanceIntersection(plane, point));
+		}
+	}
+	
+	@Benchmark
+	public double[] getSignedDistances() {
+		return plane.getSignedDistances(coordinates, distances);
+	}
+	
+	/**
+	 * The previous implementation that intersects a line along the normal vector with the plane (for comparison).
+	 */
+	private static double getDistanceIntersection(Plane3D plane, Vector3D point) {
+		Line3D line = new Line3D(point, plane.getNormalVector());
+		Vector3D intersection = plane.getIntersectionPoint(line);
+		return point.distance(intersection);
+	}
+}
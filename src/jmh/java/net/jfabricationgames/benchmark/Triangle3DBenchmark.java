@@ -0,0 +1,100 @@
+package net.jfabricationgames.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.jfabricationgames.linear_algebra.LineSegment3D;
+import net.jfabricationgames.linear_algebra.Triangle2D;
+import net.jfabricationgames.linear_algebra.Triangle3D;
+import net.jfabricationgames.linear_algebra.Vector2D;
+import net.jfabricationgames.linear_algebra.Vector3D;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Triangle3DBenchmark {
+	
+	@Param({"1000", "100000"})
+	private int triangleCount;
+	
+	private List<Triangle3D> triangles;
+	private List<Vector3D[]> vertices;
+	private LineSegment3D ray;
+	private double[] parameters;
+	private double[] barycentrics;
+	
+	@Setup
+	public void setUp() {
+		Random random = new Random(BenchmarkData.SEED);
+		triangles = new ArrayList<Triangle3D>(triangleCount);
+		vertices = new ArrayList<Vector3D[]>(triangleCount);
+		for (int i = 0; i < triangleCount; i++) {
+			//small triangles in a 10 x 10 area (in front of the ray)
+			Vector3D vertex1 = new Vector3D(random.nextDouble() * 10, random.nextDouble() * 10, random.nextDouble() * 10);
+			Vector3D vertex2 = vertex1.add(new Vector3D(random.nextDouble(), random.nextDouble(), random.nextDouble()));
+			Vector3D vertex3 = vertex1.add(new Vector3D(random.nextDouble(), random.nextDouble(), random.nextDouble()));
+			triangles.add(new Triangle3D(vertex1, vertex2, vertex3));
+			vertices.add(new Vector3D[] {vertex1, vertex2, vertex3});
+		}
+		ray = new LineSegment3D(new Vector3D(5, 5, -1), new Vector3D(0.1, 0.2, 20));
+		parameters = new double[triangleCount];
+		barycentrics = new double[3 * triangleCount];
+	}
+	
+	@Benchmark
+	public void getIntersectionPointProjection(Blackhole blackhole) {
+		for (int i = 0; i < triangleCount; i++) {
+			blackhole.consume(getIntersectionPointProjection(triangles.get(i), vertices.get(i), ray));
+		}
+	}
+	
+	@Benchmark
+	public void getTriangleIntersectionPoint(Blackhole blackhole) {
+		for (Triangle3D triangle : triangles) {
+			blackhole.consume(triangle.getTriangleIntersectionPoint(ray));
+		}
+	}
+	
+	@Benchmark
+	public double[] getIntersectionParameters() {
+		return Triangle3D.getIntersectionParameters(ray, triangles, parameters, barycentrics);
+	}
+	
+	@Benchmark
+	public int getNearestIntersection() {
+		return Triangle3D.getNearestIntersection(ray, triangles, barycentrics);
+	}
+	
+	/**
+	 * The previous implementation that intersects the plane of the triangle and projects the triangle to the x-y area (for comparison).
+	 */
+	private static Vector3D getIntersectionPointProjection(Triangle3D triangle, Vector3D[] vertices, LineSegment3D lineSegment) {
+		Vector3D intersectionPoint = triangle.getIntersectionPointLineSegment(lineSegment);
+		if (intersectionPoint != null) {
+			Triangle2D triangle2d = new Triangle2D(new Vector2D(vertices[0].x, vertices[0].y), new Vector2D(vertices[1].x, vertices[1].y),
+					new Vector2D(vertices[2].x, vertices[2].y));
+			if (triangle2d.isPointInArea(new Vector2D(intersectionPoint.x, intersectionPoint.y))) {
+				return intersectionPoint;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,97 @@
+package net.jfabricationgames.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.jfabricationgames.linear_algebra.LineSegment3D;
+import net.jfabricationgames.linear_algebra.Triangle3D;
+import net.jfabricationgames.linear_algebra.TriangleMesh3D;
+import net.jfabricationgames.linear_algebra.Vector3D;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TriangleMesh3DBenchmark {
+	
+	@Param({"1000", "100000"})
+	private int triangleCount;
+	
+	private static final int SEGMENT_COUNT = 100;
+	
+	private List<Triangle3D> triangles;
+	private List<LineSegment3D> segments;
+	private TriangleMesh3D mesh;
+	
+	@Setup
+	public void setUp() {
+		Random random = new Random(BenchmarkData.SEED);
+		triangles = new ArrayList<Triangle3D>(triangleCount);
+		for (int i = 0; i < triangleCount; i++) {
+			Vector3D vertex = new Vector3D(random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100);
+			triangles.add(new Triangle3D(vertex, vertex.add(new Vector3D(random.nextDouble(), random.nextDouble(), random.nextDouble())),
+					vertex.add(new Vector3D(random.nextDouble(), random.nextDouble(), random.nextDouble()))));
+		}
+		segments = new ArrayList<LineSegment3D>(SEGMENT_COUNT);
+		for (int i = 0; i < SEGMENT_COUNT; i++) {
+			Vector3D start = new Vector3D(random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100);
+			segments.add(new LineSegment3D(start, new Vector3D(random.nextDouble() - 0.5, random.nextDouble() - 0.5, random.nextDouble() - 0.5).mult(50)));
+		}
+		mesh = new TriangleMesh3D(triangles);
+	}
+	
+	@Benchmark
+	public TriangleMesh3D buildSequential() {
+		return new TriangleMesh3D(triangles, false);
+	}
+	
+	@Benchmark
+	public TriangleMesh3D buildParallel() {
+		return new TriangleMesh3D(triangles, true);
+	}
+	
+	@Benchmark
+	public void firstHitAllTriangles(Blackhole blackhole) {
+		for (LineSegment3D segment : segments) {
+			blackhole.consume(Triangle3D.getNearestIntersection(segment, triangles, null));
+		}
+	}
+	
+	@Benchmark
+	public void firstHit(Blackhole blackhole) {
+		for (LineSegment3D segment : segments) {
+			blackhole.consume(mesh.getFirstHit(segment));
+		}
+	}
+	
+	@Benchmark
+	public void anyHit(Blackhole blackhole) {
+		for (LineSegment3D segment : segments) {
+			blackhole.consume(mesh.intersects(segment));
+		}
+	}
+	
+	@Benchmark
+	public void allHits(Blackhole blackhole) {
+		for (LineSegment3D segment : segments) {
+			blackhole.consume(mesh.getAllHits(segment));
+		}
+	}
+}
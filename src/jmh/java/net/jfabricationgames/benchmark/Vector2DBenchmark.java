@@ -0,0 +1,93 @@
+package net.jfabricationgames.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.jfabricationgames.linear_algebra.Rotation2D;
+import net.jfabricationgames.linear_algebra.Vector2D;
+import net.jfabricationgames.linear_algebra.Vector2DBuffer;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Vector2DBenchmark {
+	
+	@Param({"1000", "100000"})
+	private int pointCount;
+	
+	private List<Vector2D> points;
+	private Vector2D target;
+	private Vector2DBuffer buffer;
+	
+	@Setup
+	public void setUp() {
+		Random random = new Random(BenchmarkData.SEED);
+		points = BenchmarkData.createUniformPoints(pointCount, 100, random);
+		target = new Vector2D(random.nextDouble() * 100, random.nextDouble() * 100);
+		buffer = new Vector2DBuffer(points);
+	}
+	
+	@Benchmark
+	public Vector2D add() {
+		Vector2D sum = new Vector2D(0, 0);
+		for (Vector2D point : points) {
+			sum = sum.add(point);
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public void distance(Blackhole blackhole) {
+		for (Vector2D point : points) {
+			blackhole.consume(point.distance(target));
+		}
+	}
+	
+	@Benchmark
+	public void rotate(Blackhole blackhole) {
+		for (Vector2D point : points) {
+			blackhole.consume(point.rotate(42));
+		}
+	}
+	
+	@Benchmark
+	public void rotateWithRotation2D(Blackhole blackhole) {
+		Rotation2D rotation = new Rotation2D(42);
+		for (Vector2D point : points) {
+			blackhole.consume(point.rotate(rotation));
+		}
+	}
+	
+	@Benchmark
+	public Vector2DBuffer rotateBuffer() {
+		return buffer.rotate(42);
+	}
+	
+	@Benchmark
+	public int isInRange() {
+		int inRange = 0;
+		for (Vector2D point : points) {
+			if (point.isInRange(target, 25)) {
+				inRange++;
+			}
+		}
+		return inRange;
+	}
+}
@@ -0,0 +1,78 @@
+package net.jfabricationgames.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.jfabricationgames.linear_algebra.Gauss;
+import net.jfabricationgames.linear_algebra.Gauss.GaussCalculationException;
+import net.jfabricationgames.linear_algebra.Matrix2D;
+import net.jfabricationgames.linear_algebra.Vector3D;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Vector3DBenchmark {
+	
+	private static final int VECTOR_TRIPLES = 1000;
+	
+	private Vector3D[][] vectorTriples;
+	
+	@Setup
+	public void setUp() {
+		Random random = new Random(BenchmarkData.SEED);
+		vectorTriples = new Vector3D[VECTOR_TRIPLES][];
+		for (int i = 0; i < VECTOR_TRIPLES; i++) {
+			Vector3D a = new Vector3D(random.nextDouble(), random.nextDouble(), random.nextDouble());
+			Vector3D b = new Vector3D(random.nextDouble(), random.nextDouble(), random.nextDouble());
+			//every second triple is linearly dependent
+			Vector3D c = i % 2 == 0 ? a.mult(random.nextDouble()).add(b.mult(random.nextDouble()))
+					: new Vector3D(random.nextDouble(), random.nextDouble(), random.nextDouble());
+			vectorTriples[i] = new Vector3D[] {a, b, c};
+		}
+	}
+	
+	@Benchmark
+	public void isLinearlyDependentVectors(Blackhole blackhole) {
+		for (Vector3D[] vectors : vectorTriples) {
+			blackhole.consume(Vector3D.isLinearlyDependentVectors(vectors));
+		}
+	}
+	
+	@Benchmark
+	public void isLinearlyDependentVectorsGauss(Blackhole blackhole) {
+		for (Vector3D[] vectors : vectorTriples) {
+			blackhole.consume(isLinearlyDependentVectorsGauss(vectors));
+		}
+	}
+	
+	/**
+	 * The previous implementation that solves a gauss system of the three vectors (for comparison).
+	 */
+	private static boolean isLinearlyDependentVectorsGauss(Vector3D... vectors) {
+		Matrix2D m = new Matrix2D(Matrix2D.Orientation.COL, vectors);
+		double[] b = {0, 0, 0};
+		Gauss gauss = Gauss.calculateGauss(m, b);
+		try {
+			double[] x = gauss.getXVec();
+			return !(Math.abs(x[0]) < 1e-5 && Math.abs(x[1]) < 1e-5 && Math.abs(x[2]) < 1e-5);
+		}
+		catch (GaussCalculationException gce) {
+			return true;
+		}
+	}
+}
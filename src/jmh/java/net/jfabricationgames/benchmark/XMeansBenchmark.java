@@ -0,0 +1,63 @@
+package net.jfabricationgames.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.jfabricationgames.algorithm.XMeans;
+import net.jfabricationgames.linear_algebra.Vector2D;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XMeansBenchmark {
+	
+	@Param({"1000", "10000"})
+	private int pointCount;
+	
+	@Param({"5", "10"})
+	private int kMax;
+	
+	@Param({"false", "true"})
+	private boolean parallel;
+	
+	@Param({"GLOBAL", "LOCAL"})
+	private XMeans.SplitMode splitMode;
+	
+	private List<Vector2D> points;
+	private List<Vector2D> initialCenters;
+	
+	@Setup
+	public void setUp() {
+		Random random = new Random(BenchmarkData.SEED);
+		points = BenchmarkData.createClusteredPoints(pointCount, kMax, 1000, random);
+		initialCenters = BenchmarkData.createUniformPoints(2, 1000, random);
+	}
+	
+	@Benchmark
+	public Map<Vector2D, Set<Vector2D>> findClusters() {
+		XMeans<Vector2D> xMeans = new XMeans<Vector2D>(points, 2, kMax, initialCenters, v -> v);
+		//the same seed in every invocation, so every invocation does the same amount of work
+		xMeans.setRandom(new Random(BenchmarkData.SEED));
+		xMeans.setParallel(parallel);
+		xMeans.setSplitMode(splitMode);
+		return xMeans.findClusters();
+	}
+}
@@ -0,0 +1,364 @@
+package net.jfabricationgames.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import net.jfabricationgames.linear_algebra.Vector2D;
+
+/**
+ * A k-means clustering that is updated when points are added, removed or moved, instead of being calculated again from scratch.
+ * 
+ * Adding, removing or moving a point only assigns this point to it's nearest center and updates the sums of the clusters, which takes O(k)
+ * time. The centers are only recalculated when the clustering is requested (e.g. by {@link #getCenters()} or {@link #getResult()}). Then only
+ * the points that may have a new nearest center (because the centers moved) are assigned again. To find these points an upper bound of the
+ * distance to the assigned center and a lower bound of the distance to all other centers are stored for every point (like in Hamerly's
+ * algorithm, see {@link KMeans.Algorithm#HAMERLY}).
+ * 
+ * The points are identified by their identity (not by their equals and hashCode methods), so a point can be changed in place and then be updated
+ * using {@link #movePoint(Object)}, and different points with equal coordinates can be added. The same object can't be added twice.
+ * 
+ * Note that {@link #update()} checks the bounds of all points whenever a center moved, which takes O(n) time (but only the points whose bounds
+ * don't prove their assignment are compared to all k centers). So updating after every single change is only cheap compared to a new k-means run,
+ * not independent of the number of points.
+ */
+public class IncrementalKMeans<T> {
+	
+	/**
+	 * A relative tolerance for the bounds, so rounding errors can't lead to a point not being assigned to it's nearest center
+	 */
+	private static final double TOLERANCE = 1e-10;
+	/**
+	 * The minimum number of changes of the cluster sums after which the sums are calculated again from all points (to remove the rounding errors
+	 * that add up from adding and subtracting the points). The sums are calculated again after at least max(n, this value) changes, so this takes
+	 * O(1) amortized time per change.
+	 */
+	private static final int MIN_SUMS_RECALCULATION_INTERVAL = 4096;
+	
+	private int k;
+	private Function<T, Vector2D> vector2Dconverter;
+	
+	/**
+	 * The maximum number of times the centers are recalculated (and the points are assigned again) when the clustering is requested
+	 */
+	private int maxIterations = 100;
+	
+	private double[] centersX;
+	private double[] centersY;
+	private double[] sumsX;
+	private double[] sumsY;
+	private int[] counts;
+	/**
+	 * The clusters that changed since the centers were calculated
+	 */
+	private boolean[] changed;
+	private boolean anyChanged;
+	/**
+	 * The number of changes of the cluster sums since they were calculated from all points
+	 */
+	private long sumChanges;
+	
+	private List<T> points = new ArrayList<T>();
+	private Map<T, Integer> pointIndices = new IdentityHashMap<T, Integer>();
+	private double[] pointsX = new double[16];
+	private double[] pointsY = new double[16];
+	private int[] labels = new int[16];
+	private double[] upper = new double[16];
+	private double[] lower = new double[16];
+	
+	/**
+	 * Start without points.
+	 */
+	public IncrementalKMeans(List<Vector2D> initialCenters, Function<T, Vector2D> vector2Dconverter) {
+		if (initialCenters.size() < 2) {
+			throw new IllegalArgumentException("The parameter k must be at least 2");
+		}
+		this.k = initialCenters.size();
+		this.vector2Dconverter = vector2Dconverter;
+		centersX = new double[k];
+		centersY = new double[k];
+		sumsX = new double[k];
+		sumsY = new double[k];
+		counts = new int[k];
+		changed = new boolean[k];
+		for (int i = 0; i < k; i++) {
+			centersX[i] = initialCenters.get(i).x;
+			centersY[i] = initialCenters.get(i).y;
+		}
+	}
+	/**
+	 * Start with the result of a k-means clustering (e.g. from {@link KMeans#findClusterResult()}). The points of the result may have equal
+	 * coordinates, but the same object must not be contained twice.
+	 */
+	public IncrementalKMeans(KMeansResult<T> result, Function<T, Vector2D> vector2Dconverter) {
+		this(result.getCenters(), vector2Dconverter);
+		for (T point : result.getPoints()) {
+			addPoint(point);
+		}
+	}
+	
+	/**
+	 * Add a new point to the clustering.
+	 * 
+	 * @throws IllegalArgumentException
+	 *         An {@link IllegalArgumentException} is thrown if the point (the same object) is already part of the clustering.
+	 */
+	public void addPoint(T point) throws IllegalArgumentException {
+		if (pointIndices.containsKey(point)) {
+			throw new IllegalArgumentException("The point is already part of the clustering: " + point);
+		}
+		int index = points.size();
+		ensureCapacity(index + 1);
+		points.add(point);
+		pointIndices.put(point, index);
+		
+		Vector2D vector = vector2Dconverter.apply(point);
+		pointsX[index] = vector.x;
+		pointsY[index] = vector.y;
+		labels[index] = assignToNearestCenter(index);
+		addToCluster(index);
+	}
+	
+	/**
+	 * Remove a point from the clustering.
+	 * 
+	 * @return Returns true if the point was removed, false if it was not part of the clustering
+	 */
+	public boolean removePoint(T point) {
+		Integer index = pointIndices.remove(point);
+		if (index == null) {
+			return false;
+		}
+		removeFromCluster(index);
+		
+		//move the last point to the index of the removed point
+		int last = points.size() - 1;
+		T lastPoint = points.remove(last);
+		if (index != last) {
+			points.set(index, lastPoint);
+			pointIndices.put(lastPoint, index);
+			pointsX[index] = pointsX[last];
+			pointsY[index] = pointsY[last];
+			labels[index] = labels[last];
+			upper[index] = upper[last];
+			lower[index] = lower[last];
+		}
+		return true;
+	}
+	
+	/**
+	 * Update the position of a point that moved (the position is converted again).
+	 * 
+	 * @throws IllegalArgumentException
+	 *         An {@link IllegalArgumentException} is thrown if the point is not part of the clustering.
+	 */
+	public void movePoint(T point) throws IllegalArgumentException {
+		Integer index = pointIndices.get(point);
+		if (index == null) {
+			throw new IllegalArgumentException("The point is not part of the clustering: " + point);
+		}
+		removeFromCluster(index);
+		Vector2D vector = vector2Dconverter.apply(point);
+		pointsX[index] = vector.x;
+		pointsY[index] = vector.y;
+		labels[index] = assignToNearestCenter(index);
+		addToCluster(index);
+	}
+	
+	private void addToCluster(int index) {
+		int cluster = labels[index];
+		sumsX[cluster] += pointsX[index];
+		sumsY[cluster] += pointsY[index];
+		counts[cluster]++;
+		changed[cluster] = true;
+		anyChanged = true;
+		sumChanges++;
+	}
+	private void removeFromCluster(int index) {
+		int cluster = labels[index];
+		sumsX[cluster] -= pointsX[index];
+		sumsY[cluster] -= pointsY[index];
+		counts[cluster]--;
+		changed[cluster] = true;
+		anyChanged = true;
+		sumChanges++;
+	}
+	
+	/**
+	 * Calculate the sums of all clusters again from the points (to remove the rounding errors of adding and subtracting the points).
+	 */
+	private void recalculateSums() {
+		Arrays.fill(sumsX, 0);
+		Arrays.fill(sumsY, 0);
+		for (int i = 0; i < points.size(); i++) {
+			sumsX[labels[i]] += pointsX[i];
+			sumsY[labels[i]] += pointsY[i];
+		}
+		//the centers are calculated again from the exact sums
+		Arrays.fill(changed, true);
+		anyChanged = true;
+		sumChanges = 0;
+	}
+	
+	/**
+	 * Find the nearest center of a point and calculate the bounds of the distances.
+	 * 
+	 * @return Returns the index of the nearest center
+	 */
+	private int assignToNearestCenter(int index) {
+		double x = pointsX[index];
+		double y = pointsY[index];
+		int center = 0;
+		double centerDistance = Double.POSITIVE_INFINITY;
+		double secondDistance = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < k; i++) {
+			double dx = x - centersX[i];
+			double dy = y - centersY[i];
+			double distance = dx * dx + dy * dy;
+			if (distance < centerDistance) {
+				secondDistance = centerDistance;
+				center = i;
+				centerDistance = distance;
+			}
+			else if (distance < secondDistance) {
+				secondDistance = distance;
+			}
+		}
+		upper[index] = Math.sqrt(centerDistance);
+		lower[index] = Math.sqrt(secondDistance);
+		return center;
+	}
+	
+	private void ensureCapacity(int capacity) {
+		if (capacity > pointsX.length) {
+			int newCapacity = Math.max(capacity, pointsX.length * 2);
+			pointsX = Arrays.copyOf(pointsX, newCapacity);
+			pointsY = Arrays.copyOf(pointsY, newCapacity);
+			labels = Arrays.copyOf(labels, newCapacity);
+			upper = Arrays.copyOf(upper, newCapacity);
+			lower = Arrays.copyOf(lower, newCapacity);
+		}
+	}
+	
+	/**
+	 * Recalculate the centers of the clusters that changed and assign the points that may have a new nearest center again. This is repeated
+	 * until no point changes it's cluster (or the maximum number of iterations is reached). Every iteration in which a center moved checks the
+	 * bounds of all n points.
+	 * 
+	 * This method is called by all methods that return the clustering, so it doesn't need to be called directly.
+	 */
+	public void update() {
+		if (sumChanges >= Math.max(points.size(), MIN_SUMS_RECALCULATION_INTERVAL)) {
+			recalculateSums();
+		}
+		double[] moved = new double[k];
+		for (int iteration = 0; anyChanged && iteration < maxIterations; iteration++) {
+			anyChanged = false;
+			
+			//recalculate the centers of the changed clusters and find the distances the centers moved
+			double maxMoved = 0;
+			double secondMaxMoved = 0;
+			int maxMovedCenter = -1;
+			for (int i = 0; i < k; i++) {
+				moved[i] = 0;
+				if (changed[i] && counts[i] > 0) {
+					double x = sumsX[i] / counts[i];
+					double y = sumsY[i] / counts[i];
+					moved[i] = Math.sqrt((x - centersX[i]) * (x - centersX[i]) + (y - centersY[i]) * (y - centersY[i]));
+					centersX[i] = x;
+					centersY[i] = y;
+				}
+				//an empty cluster keeps it's center
+				changed[i] = false;
+				if (moved[i] > maxMoved) {
+					secondMaxMoved = maxMoved;
+					maxMoved = moved[i];
+					maxMovedCenter = i;
+				}
+				else if (moved[i] > secondMaxMoved) {
+					secondMaxMoved = moved[i];
+				}
+			}
+			if (maxMoved == 0) {
+				break;
+			}
+			
+			//only assign the points again whose bounds don't prove that their center is still the nearest one
+			for (int i = 0; i < points.size(); i++) {
+				int cluster = labels[i];
+				upper[i] += moved[cluster];
+				lower[i] -= cluster == maxMovedCenter ? secondMaxMoved : maxMoved;
+				if (upper[i] * (1 + TOLERANCE) >= lower[i]) {
+					int newCluster = assignToNearestCenter(i);
+					if (newCluster != cluster) {
+						removeFromCluster(i);
+						labels[i] = newCluster;
+						addToCluster(i);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * The index of the cluster of a point.
+	 * 
+	 * @throws IllegalArgumentException
+	 *         An {@link IllegalArgumentException} is thrown if the point is not part of the clustering.
+	 */
+	public int getLabel(T point) throws IllegalArgumentException {
+		Integer index = pointIndices.get(point);
+		if (index == null) {
+			throw new IllegalArgumentException("The point is not part of the clustering: " + point);
+		}
+		update();
+		return labels[index];
+	}
+	
+	/**
+	 * The current centers of the clusters.
+	 */
+	public List<Vector2D> getCenters() {
+		update();
+		List<Vector2D> centers = new ArrayList<Vector2D>(k);
+		for (int i = 0; i < k; i++) {
+			centers.add(new Vector2D(centersX[i], centersY[i]));
+		}
+		return centers;
+	}
+	
+	/**
+	 * The current clustering (as a copy that is not changed by adding, removing or moving points).
+	 * 
+	 * @return Returns the result, that holds the index of the cluster of every point and the cluster centers
+	 */
+	public KMeansResult<T> getResult() {
+		update();
+		return KMeansResult.withStatistics(new ArrayList<T>(points), pointsX, pointsY, Arrays.copyOf(labels, points.size()), centersX.clone(),
+				centersY.clone());
+	}
+	
+	/**
+	 * The number of points in the clustering.
+	 */
+	public int size() {
+		return points.size();
+	}
+	
+	public int getK() {
+		return k;
+	}
+	
+	public int getMaxIterations() {
+		return maxIterations;
+	}
+	/**
+	 * Set the maximum number of times the centers are recalculated (and the points are assigned again) when the clustering is requested
+	 */
+	public void setMaxIterations(int maxIterations) {
+		this.maxIterations = maxIterations;
+	}
+}
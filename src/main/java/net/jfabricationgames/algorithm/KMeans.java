@@ -1,11 +1,15 @@
 package net.jfabricationgames.algorithm;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.Function;
 
 import net.jfabricationgames.linear_algebra.Vector2D;
@@ -18,10 +22,121 @@ public class KMeans<T> {
 	private List<Vector2D> initialCenters;
 	
 	/**
-	 * Maximum distance for two center points to be treated as equal
+	 * Maximum distance for two center points to be treated as equal (the clustering is finished if no center moved further in an iteration)
 	 */
 	private double distanceThresholdForEqualCenters = 1e-5;
 	
+	/**
+	 * The maximum number of iterations (the clustering stops with the current centers if they are still changing)
+	 */
+	private int maxIterations = 300;
+	
+	/**
+	 * A listener that is informed after every iteration (or null)
+	 */
+	private IterationListener iterationListener;
+	
+	/**
+	 * The minimum number of points that are assigned to their centers in one task (if the assignment is done in parallel)
+	 */
+	private static final int PARALLEL_BATCH_SIZE = 4096;
+	/**
+	 * The difference between the seeds of the random number generators of two chunks of points (an odd constant with well distributed bits, so
+	 * the seeds of the chunks are different for every round)
+	 */
+	private static final long CHUNK_SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+	
+	/**
+	 * Assign the points to their centers in parallel (using the fork join pool)
+	 */
+	private boolean parallel = false;
+	private ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+	
+	/**
+	 * The algorithm that is used to assign the points to the nearest centers
+	 */
+	private Algorithm algorithm = Algorithm.LLOYD;
+	
+	/**
+	 * The strategy that is used to choose the initial centers (if no initial centers are given). The default is k-means++ (earlier versions always
+	 * used {@link Seeding#UNIFORM}, which can be set to get the old behavior).
+	 */
+	private Seeding seeding = Seeding.KMEANS_PLUS_PLUS;
+	/**
+	 * The random number generator that is used to choose the initial centers (a seeded generator makes the results reproducible)
+	 */
+	private Random random = new Random();
+	
+	/**
+	 * The number of rounds in which candidates for the initial centers are sampled (if the seeding is {@link Seeding#KMEANS_PARALLEL})
+	 */
+	private static final int SEEDING_ROUNDS = 5;
+	
+	/**
+	 * The algorithms that can be used to assign the points to their nearest centers. All algorithms find the same clusters.
+	 */
+	public enum Algorithm {
+		/**
+		 * Calculate the distances from every point to every center in every iteration.
+		 */
+		LLOYD,
+		/**
+		 * Keep a lower bound for the distance to all other centers for every point (Hamerly's algorithm). The distances to all centers are only
+		 * calculated if the distance to the assigned center and the bound (that is updated by the distances the centers moved) don't prove that the
+		 * assigned center is still the nearest one, which skips most of the distance calculations once the centers only move a little bit. The
+		 * distance to the assigned center is always calculated, because it's needed for the statistics of the clusters.
+		 */
+		HAMERLY;
+	}
+	
+	/**
+	 * A listener that is informed about the progress of the clustering after every iteration.
+	 */
+	@FunctionalInterface
+	public interface IterationListener {
+		
+		/**
+		 * Called after the points were assigned to the centers of an iteration.
+		 * 
+		 * @param iteration
+		 *        The number of the iteration (starting with 1).
+		 * 
+		 * @param inertia
+		 *        The sum of the squared distances of all points to the centers they are assigned to.
+		 * 
+		 * @param elapsedNanos
+		 *        The time since the clustering was started (in nanoseconds).
+		 */
+		public void iterationFinished(int iteration, double inertia, long elapsedNanos);
+	}
+	
+	/**
+	 * The strategies that can be used to choose the initial centers (if no initial centers are given).
+	 */
+	public enum Seeding {
+		/**
+		 * Choose the centers uniformly at random inside the bounding box of the points. Centers that are far from all points lead to empty
+		 * clusters and many iterations.
+		 */
+		UNIFORM,
+		/**
+		 * Choose the first center from the points uniformly at random and every other center from the points with a probability that is
+		 * proportional to the squared distance to the nearest center that was already chosen (k-means++). The centers are spread over the points,
+		 * which needs k passes over the points but reduces the number of iterations.
+		 */
+		KMEANS_PLUS_PLUS,
+		/**
+		 * Sample about 2k candidates from the points in each of a few rounds (with a probability that is proportional to the squared distance to
+		 * the nearest candidate) and choose the centers from the candidates, weighted by the number of points that are nearest to them, using
+		 * k-means++ (scalable k-means++ or k-means||). Needs only a few passes over the points instead of k.
+		 * 
+		 * The passes over the points are done in parallel (in the fork join pool) if the clustering is parallel (see {@link #setParallel(boolean)}).
+		 * The points are sampled in chunks with their own random number generators (seeded from the random number generator of the k-means), so the
+		 * result is the same for a parallel and a sequential seeding.
+		 */
+		KMEANS_PARALLEL;
+	}
+	
 	public KMeans(int k, List<T> points, List<Vector2D> initialCenters, Function<T, Vector2D> vector2Dconverter) {
 		this.k = k;
 		this.points = points;
@@ -32,9 +147,19 @@ public class KMeans<T> {
 	/**
 	 * Find clusters using a k-means algorithm
 	 * 
-	 * @return Returns a map of center points to all points that are classified to the center (a set of T)
+	 * @return Returns a (modifiable) map of center points to all points that are classified to the center (a set of T; see
+	 *         {@link KMeansResult#toHashMap()})
 	 */
 	public Map<Vector2D, Set<T>> findClusters() {
+		return findClusterResult().toHashMap();
+	}
+	
+	/**
+	 * Find clusters using a k-means algorithm
+	 * 
+	 * @return Returns the result, that holds the index of the cluster of every point and the cluster centers
+	 */
+	public KMeansResult<T> findClusterResult() {
 		if (points.isEmpty()) {
 			throw new IllegalArgumentException("The list of fields mussn't be empty");
 		}
@@ -42,110 +167,689 @@ public class KMeans<T> {
 			throw new IllegalArgumentException("The parameter k must be at least 2");
 		}
 		
-		Vector2D min = new Vector2D();//upper left corner
-		Vector2D max = new Vector2D();//lower right corner
+		//the points are accessed by their index when they are classified
+		List<T> points = this.points instanceof RandomAccess ? this.points : new ArrayList<T>(this.points);
 		
-		min.x = points.stream().map(vector2Dconverter).mapToDouble(v -> v.getX()).min()
-				.orElseThrow(() -> new IllegalStateException("No coordinates were found"));
-		min.y = points.stream().map(vector2Dconverter).mapToDouble(v -> v.getY()).min()
-				.orElseThrow(() -> new IllegalStateException("No coordinates were found"));
-		
-		max.x = points.stream().map(vector2Dconverter).mapToDouble(v -> v.getX()).max()
-				.orElseThrow(() -> new IllegalStateException("No coordinates were found"));
-		max.y = points.stream().map(vector2Dconverter).mapToDouble(v -> v.getY()).max()
-				.orElseThrow(() -> new IllegalStateException("No coordinates were found"));
+		//convert all fields only once (instead of once for every center in every iteration) and find the bounds in the same pass
+		double[] pointsX = new double[points.size()];
+		double[] pointsY = new double[points.size()];
+		Vector2D min = new Vector2D(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);//upper left corner
+		Vector2D max = new Vector2D(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);//lower right corner
+		for (int i = 0; i < pointsX.length; i++) {
+			Vector2D point = vector2Dconverter.apply(points.get(i));
+			pointsX[i] = point.x;
+			pointsY[i] = point.y;
+			min.x = Math.min(min.x, point.x);
+			min.y = Math.min(min.y, point.y);
+			max.x = Math.max(max.x, point.x);
+			max.y = Math.max(max.y, point.y);
+		}
 		
-		List<Vector2D> centers;
+		//the centers that are used in the current iteration and the new centers (the arrays are swapped after every iteration)
+		double[] centersX = new double[k];
+		double[] centersY = new double[k];
+		double[] newCentersX = new double[k];
+		double[] newCentersY = new double[k];
 		if (initialCenters == null) {
-			//initialize the centers with random values
-			centers = new ArrayList<Vector2D>(k);
-			for (int i = 0; i < k; i++) {
-				double x = Math.random() * (max.x - min.x) + min.x;
-				double y = Math.random() * (max.y - min.y) + min.y;
-				centers.add(new Vector2D(x, y));
+			switch (seeding) {
+				case UNIFORM:
+					//initialize the centers with random values
+					for (int i = 0; i < k; i++) {
+						centersX[i] = random.nextDouble() * (max.x - min.x) + min.x;
+						centersY[i] = random.nextDouble() * (max.y - min.y) + min.y;
+					}
+					break;
+				case KMEANS_PLUS_PLUS:
+					seedKMeansPlusPlus(pointsX, pointsY, null, pointsX.length, centersX, centersY, random);
+					break;
+				case KMEANS_PARALLEL:
+					seedKMeansParallel(pointsX, pointsY, centersX, centersY);
+					break;
 			}
 		}
 		else {
 			if (initialCenters.size() != k) {
 				throw new IllegalArgumentException("the number of initial centers has to be equal to k");
 			}
-			centers = new ArrayList<Vector2D>(initialCenters);
+			for (int i = 0; i < k; i++) {
+				centersX[i] = initialCenters.get(i).x;
+				centersY[i] = initialCenters.get(i).y;
+			}
 		}
 		
-		boolean centersChanged;//repeat until the centers are not changing anymore
-		Map<Vector2D, Set<T>> finalClassification = null;
+		//the index of the center every point is assigned to
+		int[] labels = new int[points.size()];
+		ClusterSums sums = new ClusterSums(k);
+		HamerlyBounds bounds = algorithm == Algorithm.HAMERLY ? new HamerlyBounds(labels.length, k) : null;
+		
+		boolean centersChanged;//repeat until the centers are not changing anymore (or the maximum number of iterations is reached)
+		int iteration = 0;
+		long startTime = System.nanoTime();
 		
 		do {
-			Map<Vector2D, Set<T>> classifications = new HashMap<Vector2D, Set<T>>();
-			//initialize the classification map
-			centers.forEach(center -> classifications.put(center, new HashSet<T>()));
-			
-			//add all fields to the centers they belong to (the ones with the shortest distance)
-			for (T field : points) {
-				//start with the first center
-				Vector2D center = centers.get(0);
-				double centerDistance = center.distance(vector2Dconverter.apply(field));
-				for (int i = 1; i < centers.size(); i++) {
-					double distance = centers.get(i).distance(vector2Dconverter.apply(field));
-					//found a center that is nearer to this field
-					if (distance < centerDistance) {
-						center = centers.get(i);
-						centerDistance = distance;
-					}
-				}
-				
-				//add the field to the center that is the nearest to this field
-				classifications.get(center).add(field);
+			//assign all fields to the centers they belong to (the ones with the shortest distance)
+			RangeAssignment assignment;
+			if (bounds != null) {
+				bounds.updateCenterDistances(centersX, centersY);
+				assignment = bounds.assignment(pointsX, pointsY, centersX, centersY, labels);
+			}
+			else {
+				double[] currentCentersX = centersX;
+				double[] currentCentersY = centersY;
+				assignment = (from, to, rangeSums) -> assign(pointsX, pointsY, currentCentersX, currentCentersY, labels, from, to, rangeSums);
+			}
+			if (parallel) {
+				sums = forkJoinPool.invoke(new AssignmentTask(assignment, k, 0, labels.length));
+			}
+			else {
+				sums.clear();
+				assignment.assign(0, labels.length, sums);
 			}
 			
 			//update the centers to the center of mass of all fields that are classified to the center
-			List<Vector2D> newCenters = new ArrayList<Vector2D>(k);
-			for (Set<T> classifiedFields : classifications.values()) {
-				//calculate the center of the classified fields
-				Vector2D center;
-				if (!classifiedFields.isEmpty()) {
+			for (int i = 0; i < k; i++) {
+				if (sums.counts[i] > 0) {
 					//calculate center of mass
-					center = classifiedFields.stream().map(vector2Dconverter).reduce((v1, v2) -> v1.add(v2))
-							.orElseThrow(() -> new IllegalStateException("new center couldn't be found"));
-					center = center.mult(1d / classifiedFields.size());
+					newCentersX[i] = sums.sumsX[i] * (1d / sums.counts[i]);
+					newCentersY[i] = sums.sumsY[i] * (1d / sums.counts[i]);
 				}
 				else {
 					//use the minimum if there are no fields classified to this center (because then this center is useless now)
-					center = min.clone();
+					newCentersX[i] = min.x;
+					newCentersY[i] = min.y;
 				}
-				
-				newCenters.add(center);
 			}
 			
+			iteration++;
+			if (iterationListener != null) {
+				iterationListener.iterationFinished(iteration, sum(sums.distortions), System.nanoTime() - startTime);
+			}
+			
+			//the centers have changed if one of the centers moved further than the threshold
+			double threshold = distanceThresholdForEqualCenters * distanceThresholdForEqualCenters;
 			centersChanged = false;
+			for (int i = 0; i < k && !centersChanged; i++) {
+				centersChanged = squaredDistance(newCentersX[i], newCentersY[i], centersX[i], centersY[i]) >= threshold;
+			}
+			//stop without using the new centers if the maximum number of iterations is reached
+			centersChanged &= iteration < maxIterations;
 			
-			for (Vector2D newCenter : newCenters) {
-				boolean included = false;
-				for (Vector2D oldCenter : centers) {
-					included |= newCenter.distance(oldCenter) < distanceThresholdForEqualCenters;
+			if (centersChanged) {
+				if (bounds != null) {
+					bounds.updateMovedCenters(centersX, centersY, newCentersX, newCentersY);
 				}
-				//if one of the new centers is not included in the old center list the centers have changed
-				centersChanged |= !included;
+				//repeat with the new centers until the centers are not changing anymore
+				double[] tmp = centersX;
+				centersX = newCentersX;
+				newCentersX = tmp;
+				tmp = centersY;
+				centersY = newCentersY;
+				newCentersY = tmp;
 			}
+		} while (centersChanged);
+		
+		//the result holds the centers that were used for the last classification (and the statistics of the last assignment)
+		return new KMeansResult<T>(points, labels, centersX, centersY, sums.counts, sums.sumsX, sums.sumsY, sums.distortions, sums.distanceSums);
+	}
+	
+	/**
+	 * Assign the points in the range [from, to) to the nearest centers and add them to the sums.
+	 * 
+	 * @return The sums of the coordinates and the number of the points that were assigned to each center
+	 */
+	private static ClusterSums assign(double[] pointsX, double[] pointsY, double[] centersX, double[] centersY, int[] labels, int from, int to,
+			ClusterSums sums) {
+		for (int i = from; i < to; i++) {
+			double x = pointsX[i];
+			double y = pointsY[i];
 			
-			//repeat until the centers are not changing anymore
-			centers = newCenters;
+			//start with the first center
+			int center = 0;
+			//compare the squared distances (no square root needed to find the nearest center)
+			double centerDistance = squaredDistance(x, y, centersX[0], centersY[0]);
+			for (int j = 1; j < centersX.length; j++) {
+				double distance = squaredDistance(x, y, centersX[j], centersY[j]);
+				//found a center that is nearer to this field
+				if (distance < centerDistance) {
+					center = j;
+					centerDistance = distance;
+				}
+			}
 			
-			if (!centersChanged) {
-				finalClassification = classifications;
+			labels[i] = center;
+			sums.add(center, x, y, centerDistance);
+		}
+		return sums;
+	}
+	
+	/**
+	 * Choose the centers from the (weighted) points using k-means++: the first center is chosen at random and every other center is chosen with a
+	 * probability that is proportional to the weight of the point times the squared distance to the nearest center that was already chosen.
+	 * 
+	 * @param weights
+	 *        The weights of the points (or null if all points have the same weight).
+	 * 
+	 * @param size
+	 *        The number of points (that are used from the arrays).
+	 */
+	static void seedKMeansPlusPlus(double[] pointsX, double[] pointsY, double[] weights, int size, double[] centersX, double[] centersY,
+			Random random) {
+		//the weighted squared distance of every point to it's nearest center (the weight of the point before the first center is chosen)
+		double[] distances = new double[size];
+		double[] squaredDistances = new double[size];
+		for (int i = 0; i < size; i++) {
+			distances[i] = weights == null ? 1 : weights[i];
+			squaredDistances[i] = Double.POSITIVE_INFINITY;
+		}
+		for (int center = 0; center < centersX.length; center++) {
+			int chosen = chooseWeighted(distances, size, random);
+			if (chosen == -1) {
+				//all points are centers already (less different points than centers), so a point is chosen again
+				chosen = random.nextInt(size);
 			}
-		} while (centersChanged);
+			centersX[center] = pointsX[chosen];
+			centersY[center] = pointsY[chosen];
+			
+			for (int i = 0; i < size; i++) {
+				squaredDistances[i] = Math.min(squaredDistances[i], squaredDistance(pointsX[i], pointsY[i], pointsX[chosen], pointsY[chosen]));
+				distances[i] = weights == null ? squaredDistances[i] : weights[i] * squaredDistances[i];
+			}
+		}
+	}
+	
+	/**
+	 * Choose the centers using k-means||: in every round each point is taken as a candidate with a probability that is proportional to it's
+	 * squared distance to the nearest candidate (about 2k candidates per round). The centers are chosen from the candidates (weighted by the
+	 * number of points that are nearest to them) using k-means++.
+	 * 
+	 * The points are processed in chunks of {@link #PARALLEL_BATCH_SIZE} points (in parallel if the clustering is parallel). Every chunk samples
+	 * it's points with it's own random number generator and the results of the chunks are combined in the order of the chunks, so the result
+	 * doesn't depend on the order in which the chunks are executed.
+	 */
+	private void seedKMeansParallel(double[] pointsX, double[] pointsY, double[] centersX, double[] centersY) {
+		int k = centersX.length;
+		int size = pointsX.length;
+		int chunks = (size + PARALLEL_BATCH_SIZE - 1) / PARALLEL_BATCH_SIZE;
+		double oversampling = 2 * k;
+		
+		double[] candidatesX = new double[k * 4];
+		double[] candidatesY = new double[k * 4];
+		int first = random.nextInt(size);
+		candidatesX[0] = pointsX[first];
+		candidatesY[0] = pointsY[first];
+		int candidates = 1;
+		
+		//the squared distance of every point to it's nearest candidate and the index of this candidate
+		double[] squaredDistances = new double[size];
+		int[] nearestCandidates = new int[size];
+		double[] chunkCosts = new double[chunks];
+		double firstX = candidatesX[0];
+		double firstY = candidatesY[0];
+		forEachChunk(size, (chunk, from, to) -> {
+			double chunkCost = 0;
+			for (int i = from; i < to; i++) {
+				squaredDistances[i] = squaredDistance(pointsX[i], pointsY[i], firstX, firstY);
+				chunkCost += squaredDistances[i];
+			}
+			chunkCosts[chunk] = chunkCost;
+		});
+		double cost = sum(chunkCosts);
+		
+		int[][] sampled = new int[chunks][];
+		for (int round = 0; round < SEEDING_ROUNDS && cost > 0; round++) {
+			//sample the new candidates (every chunk with it's own random number generator)
+			long roundSeed = random.nextLong();
+			double roundCost = cost;
+			forEachChunk(size, (chunk, from, to) -> {
+				Random chunkRandom = new Random(roundSeed + chunk * CHUNK_SEED_INCREMENT);
+				int[] chunkSampled = new int[to - from];
+				int count = 0;
+				for (int i = from; i < to; i++) {
+					if (chunkRandom.nextDouble() * roundCost < oversampling * squaredDistances[i]) {
+						chunkSampled[count++] = i;
+					}
+				}
+				sampled[chunk] = Arrays.copyOf(chunkSampled, count);
+			});
+			int firstNewCandidate = candidates;
+			for (int[] chunkSampled : sampled) {
+				if (candidates + chunkSampled.length > candidatesX.length) {
+					candidatesX = Arrays.copyOf(candidatesX, Math.max(candidates * 2, candidates + chunkSampled.length));
+					candidatesY = Arrays.copyOf(candidatesY, candidatesX.length);
+				}
+				for (int i : chunkSampled) {
+					candidatesX[candidates] = pointsX[i];
+					candidatesY[candidates] = pointsY[i];
+					candidates++;
+				}
+			}
+			
+			//only the distances to the new candidates need to be calculated
+			double[] roundCandidatesX = candidatesX;
+			double[] roundCandidatesY = candidatesY;
+			int lastNewCandidate = candidates;
+			forEachChunk(size, (chunk, from, to) -> {
+				double chunkCost = 0;
+				for (int i = from; i < to; i++) {
+					for (int j = firstNewCandidate; j < lastNewCandidate; j++) {
+						double distance = squaredDistance(pointsX[i], pointsY[i], roundCandidatesX[j], roundCandidatesY[j]);
+						if (distance < squaredDistances[i]) {
+							squaredDistances[i] = distance;
+							nearestCandidates[i] = j;
+						}
+					}
+					chunkCost += squaredDistances[i];
+				}
+				chunkCosts[chunk] = chunkCost;
+			});
+			cost = sum(chunkCosts);
+		}
+		
+		if (candidates < k) {
+			//not enough candidates (because there are only a few different points), so the centers are chosen from all points
+			seedKMeansPlusPlus(pointsX, pointsY, null, size, centersX, centersY, random);
+			return;
+		}
+		
+		//weight the candidates by the number of points that are nearest to them and choose the centers from the candidates
+		double[] weights = new double[candidates];
+		for (int i = 0; i < size; i++) {
+			weights[nearestCandidates[i]]++;
+		}
+		seedKMeansPlusPlus(candidatesX, candidatesY, weights, candidates, centersX, centersY, random);
+	}
+	
+	/**
+	 * Run an action for all chunks of {@link #PARALLEL_BATCH_SIZE} points (in parallel in the fork join pool if the clustering is parallel).
+	 */
+	private void forEachChunk(int size, ChunkAction action) {
+		int chunks = (size + PARALLEL_BATCH_SIZE - 1) / PARALLEL_BATCH_SIZE;
+		if (parallel && chunks > 1) {
+			forkJoinPool.invoke(new ChunkTask(action, size, 0, chunks));
+		}
+		else {
+			for (int chunk = 0; chunk < chunks; chunk++) {
+				action.run(chunk, chunk * PARALLEL_BATCH_SIZE, Math.min(size, (chunk + 1) * PARALLEL_BATCH_SIZE));
+			}
+		}
+	}
+	
+	/**
+	 * Sum the values in the order of the array (so the result doesn't depend on the order in which the values were calculated).
+	 */
+	private static double sum(double[] values) {
+		double sum = 0;
+		for (double value : values) {
+			sum += value;
+		}
+		return sum;
+	}
+	
+	/**
+	 * Choose a random index with a probability that is proportional to the weight at the index.
+	 * 
+	 * @return Returns the chosen index or -1 if all weights are 0
+	 */
+	private static int chooseWeighted(double[] weights, int size, Random random) {
+		double total = 0;
+		for (int i = 0; i < size; i++) {
+			total += weights[i];
+		}
+		if (total <= 0) {
+			return -1;
+		}
+		double target = random.nextDouble() * total;
+		int lastPositive = -1;
+		for (int i = 0; i < size; i++) {
+			if (weights[i] > 0) {
+				target -= weights[i];
+				lastPositive = i;
+				if (target < 0) {
+					return i;
+				}
+			}
+		}
+		//rounding errors in the sum of the weights
+		return lastPositive;
+	}
+	
+	private static double squaredDistance(double x1, double y1, double x2, double y2) {
+		double dx = x1 - x2;
+		double dy = y1 - y2;
+		return dx * dx + dy * dy;
+	}
+	
+	/**
+	 * The sums of the coordinates and the number of points that are assigned to each center (used to calculate the new centers) and the sums of
+	 * the (squared) distances of the points to their centers. The sums of the last assignment are the statistics of the result, so no additional
+	 * pass over the points is needed.
+	 */
+	private static class ClusterSums {
+		
+		private final double[] sumsX;
+		private final double[] sumsY;
+		private final int[] counts;
+		private final double[] distortions;
+		private final double[] distanceSums;
+		
+		public ClusterSums(int centers) {
+			sumsX = new double[centers];
+			sumsY = new double[centers];
+			counts = new int[centers];
+			distortions = new double[centers];
+			distanceSums = new double[centers];
+		}
+		
+		public void clear() {
+			Arrays.fill(sumsX, 0);
+			Arrays.fill(sumsY, 0);
+			Arrays.fill(counts, 0);
+			Arrays.fill(distortions, 0);
+			Arrays.fill(distanceSums, 0);
+		}
+		
+		/**
+		 * Add a point with the squared distance to the center it's assigned to (the square root is cheap compared to the distance calculations of
+		 * the assignment, so the distances are summed up in every assignment instead of an additional pass after the last one).
+		 */
+		public void add(int center, double x, double y, double squaredDistance) {
+			sumsX[center] += x;
+			sumsY[center] += y;
+			counts[center]++;
+			distortions[center] += squaredDistance;
+			distanceSums[center] += Math.sqrt(squaredDistance);
+		}
+		
+		/**
+		 * Add the sums of another part of the points to these sums.
+		 */
+		public ClusterSums merge(ClusterSums sums) {
+			for (int i = 0; i < counts.length; i++) {
+				sumsX[i] += sums.sumsX[i];
+				sumsY[i] += sums.sumsY[i];
+				counts[i] += sums.counts[i];
+				distortions[i] += sums.distortions[i];
+				distanceSums[i] += sums.distanceSums[i];
+			}
+			return this;
+		}
+	}
+	
+	/**
+	 * Assigns the points in the range [from, to) to their nearest centers and adds them to the sums.
+	 */
+	@FunctionalInterface
+	private interface RangeAssignment {
+		
+		public void assign(int from, int to, ClusterSums sums);
+	}
+	
+	/**
+	 * The bounds of the distances for Hamerly's algorithm (see {@link Algorithm#HAMERLY}).
+	 */
+	private static class HamerlyBounds {
+		
+		/**
+		 * A relative tolerance for the bounds, so rounding errors can't lead to a point being assigned to another center than in Lloyd's algorithm
+		 */
+		private static final double TOLERANCE = 1e-10;
+		private static final double SQUARED_TOLERANCE_FACTOR = (1 + TOLERANCE) * (1 + TOLERANCE);
+		
+		/**
+		 * A lower bound of the distance of every point to all other centers
+		 */
+		private final double[] lower;
+		/**
+		 * Half the distance from every center to the nearest other center
+		 */
+		private final double[] halfCenterDistances;
+		/**
+		 * The largest distances the centers moved in the last iteration
+		 */
+		private double maxMoved;
+		private double secondMaxMoved;
+		private int maxMovedCenter;
+		
+		public HamerlyBounds(int points, int k) {
+			//there are no bounds known yet (all points are assigned to the center 0 at the start)
+			lower = new double[points];
+			halfCenterDistances = new double[k];
+		}
+		
+		/**
+		 * Calculate the distance of every center to it's nearest other center.
+		 */
+		public void updateCenterDistances(double[] centersX, double[] centersY) {
+			Arrays.fill(halfCenterDistances, Double.POSITIVE_INFINITY);
+			for (int i = 0; i < centersX.length; i++) {
+				for (int j = i + 1; j < centersX.length; j++) {
+					double halfDistance = 0.5 * Math.sqrt(squaredDistance(centersX[i], centersY[i], centersX[j], centersY[j]));
+					halfCenterDistances[i] = Math.min(halfCenterDistances[i], halfDistance);
+					halfCenterDistances[j] = Math.min(halfCenterDistances[j], halfDistance);
+				}
+			}
+		}
+		
+		/**
+		 * Store the distances the centers moved, which are used to update the bounds in the next assignment.
+		 */
+		public void updateMovedCenters(double[] centersX, double[] centersY, double[] newCentersX, double[] newCentersY) {
+			maxMoved = 0;
+			secondMaxMoved = 0;
+			maxMovedCenter = -1;
+			for (int i = 0; i < centersX.length; i++) {
+				double moved = Math.sqrt(squaredDistance(centersX[i], centersY[i], newCentersX[i], newCentersY[i]));
+				if (moved > maxMoved) {
+					secondMaxMoved = maxMoved;
+					maxMoved = moved;
+					maxMovedCenter = i;
+				}
+				else if (moved > secondMaxMoved) {
+					secondMaxMoved = moved;
+				}
+			}
+		}
+		
+		public RangeAssignment assignment(double[] pointsX, double[] pointsY, double[] centersX, double[] centersY, int[] labels) {
+			return (from, to, sums) -> {
+				for (int i = from; i < to; i++) {
+					double x = pointsX[i];
+					double y = pointsY[i];
+					int center = labels[i];
+					
+					//the other centers came nearer by at most the maximum distance a center moved
+					lower[i] -= center == maxMovedCenter ? secondMaxMoved : maxMoved;
+					
+					//the distance to the assigned center is needed for the statistics of the clusters anyway, so it's used instead of an upper bound
+					//(the squared distances are compared, so no square root is needed)
+					double centerDistance = squaredDistance(x, y, centersX[center], centersY[center]);
+					double bound = Math.max(halfCenterDistances[center], lower[i]);
+					if (centerDistance * SQUARED_TOLERANCE_FACTOR >= bound * bound) {
+						//the bounds can't prove that the center is still the nearest one: calculate the distances to all centers (in the same way as
+						//Lloyd's algorithm does)
+						center = 0;
+						centerDistance = squaredDistance(x, y, centersX[0], centersY[0]);
+						double secondDistance = Double.POSITIVE_INFINITY;
+						for (int j = 1; j < centersX.length; j++) {
+							double distance = squaredDistance(x, y, centersX[j], centersY[j]);
+							if (distance < centerDistance) {
+								secondDistance = centerDistance;
+								center = j;
+								centerDistance = distance;
+							}
+							else if (distance < secondDistance) {
+								secondDistance = distance;
+							}
+						}
+						labels[i] = center;
+						lower[i] = Math.sqrt(secondDistance);
+					}
+					
+					sums.add(center, x, y, centerDistance);
+				}
+			};
+		}
+	}
+	
+	/**
+	 * Assigns a range of the points to their centers by splitting the range until the parts are small enough to be assigned in one task. The
+	 * partial sums are merged in the order of the points, so the result doesn't depend on the order in which the tasks are executed.
+	 */
+	private static class AssignmentTask extends RecursiveTask<ClusterSums> {
+		
+		private static final long serialVersionUID = -1847372487206829402L;
 		
-		return finalClassification;
+		private final RangeAssignment assignment;
+		private final int k;
+		private final int from;
+		private final int to;
+		
+		public AssignmentTask(RangeAssignment assignment, int k, int from, int to) {
+			this.assignment = assignment;
+			this.k = k;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected ClusterSums compute() {
+			if (to - from <= PARALLEL_BATCH_SIZE) {
+				ClusterSums sums = new ClusterSums(k);
+				assignment.assign(from, to, sums);
+				return sums;
+			}
+			int middle = (from + to) >>> 1;
+			AssignmentTask left = new AssignmentTask(assignment, k, from, middle);
+			AssignmentTask right = new AssignmentTask(assignment, k, middle, to);
+			left.fork();
+			ClusterSums rightSums = right.compute();
+			return left.join().merge(rightSums);
+		}
+	}
+	
+	/**
+	 * Processes the chunk (with the index chunk) of the points in the range [from, to).
+	 */
+	@FunctionalInterface
+	private interface ChunkAction {
+		
+		public void run(int chunk, int from, int to);
+	}
+	
+	/**
+	 * Runs an action for a range of chunks by splitting the range until only one chunk is left.
+	 */
+	private static class ChunkTask extends RecursiveAction {
+		
+		private static final long serialVersionUID = 4613087260133583171L;
+		
+		private final ChunkAction action;
+		private final int size;
+		private final int fromChunk;
+		private final int toChunk;
+		
+		public ChunkTask(ChunkAction action, int size, int fromChunk, int toChunk) {
+			this.action = action;
+			this.size = size;
+			this.fromChunk = fromChunk;
+			this.toChunk = toChunk;
+		}
+		
+		@Override
+		protected void compute() {
+			if (toChunk - fromChunk == 1) {
+				action.run(fromChunk, fromChunk * PARALLEL_BATCH_SIZE, Math.min(size, toChunk * PARALLEL_BATCH_SIZE));
+			}
+			else {
+				int middle = (fromChunk + toChunk) >>> 1;
+				invokeAll(new ChunkTask(action, size, fromChunk, middle), new ChunkTask(action, size, middle, toChunk));
+			}
+		}
 	}
 	
 	public double getDistanceThresholdForEqualCenters() {
 		return distanceThresholdForEqualCenters;
 	}
 	/**
-	 * Set the distance that is the maximum for two center points to be treated as equal
+	 * Set the distance that is the maximum for two center points to be treated as equal (the clustering is finished if no center moved further
+	 * in an iteration)
 	 */
 	public void setDistanceThresholdForEqualCenters(double distanceThresholdForEqualCenters) {
 		this.distanceThresholdForEqualCenters = distanceThresholdForEqualCenters;
 	}
+	
+	public int getMaxIterations() {
+		return maxIterations;
+	}
+	/**
+	 * Set the maximum number of iterations (the clustering stops with the current centers if they are still changing)
+	 */
+	public void setMaxIterations(int maxIterations) {
+		if (maxIterations < 1) {
+			throw new IllegalArgumentException("The maximum number of iterations must be at least 1");
+		}
+		this.maxIterations = maxIterations;
+	}
+	
+	public IterationListener getIterationListener() {
+		return iterationListener;
+	}
+	/**
+	 * Set a listener that is informed after every iteration (or null to remove the listener). The inertia is taken from the distances that
+	 * were calculated in the assignment of the iteration.
+	 */
+	public void setIterationListener(IterationListener iterationListener) {
+		this.iterationListener = iterationListener;
+	}
+	
+	public boolean isParallel() {
+		return parallel;
+	}
+	/**
+	 * Assign the points to their nearest centers in parallel (in the fork join pool).
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+	
+	public Algorithm getAlgorithm() {
+		return algorithm;
+	}
+	/**
+	 * Set the algorithm that is used to assign the points to the nearest centers (Lloyd's algorithm is used by default)
+	 */
+	public void setAlgorithm(Algorithm algorithm) {
+		this.algorithm = algorithm;
+	}
+	
+	public Seeding getSeeding() {
+		return seeding;
+	}
+	/**
+	 * Set the strategy that is used to choose the initial centers (if no initial centers are given). The default is
+	 * {@link Seeding#KMEANS_PLUS_PLUS} (earlier versions always used {@link Seeding#UNIFORM}).
+	 */
+	public void setSeeding(Seeding seeding) {
+		this.seeding = seeding;
+	}
+	
+	public Random getRandom() {
+		return random;
+	}
+	/**
+	 * Set the random number generator that is used to choose the initial centers (a seeded generator makes the results reproducible)
+	 */
+	public void setRandom(Random random) {
+		this.random = random;
+	}
+	
+	public ForkJoinPool getForkJoinPool() {
+		return forkJoinPool;
+	}
+	/**
+	 * Set the pool that is used if the points are assigned in parallel (the common pool is used by default)
+	 */
+	public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+		this.forkJoinPool = forkJoinPool;
+	}
 }
\ No newline at end of file
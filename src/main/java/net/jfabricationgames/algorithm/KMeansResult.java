@@ -0,0 +1,389 @@
+package net.jfabricationgames.algorithm;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.jfabricationgames.linear_algebra.Vector2D;
+
+/**
+ * The result of a k-means clustering: the index of the cluster of every point (label) and the centers of the clusters (stored in primitive
+ * arrays).
+ * 
+ * The result can also be viewed as a map of center points to the points of the cluster (see {@link #asMap()}).
+ */
+public class KMeansResult<T> {
+	
+	private final List<T> points;
+	private final int[] labels;
+	private final double[] centersX;
+	private final double[] centersY;
+	private final int[] clusterSizes;
+	
+	//the statistics of the clusters (or null if they are not known)
+	private final double[] sumsX;
+	private final double[] sumsY;
+	private final double[] distortions;
+	private final double[] distanceSums;
+	
+	private Map<Vector2D, Set<T>> map;
+	
+	/**
+	 * Create a result without the statistics of the clusters. The arrays are not copied.
+	 * 
+	 * @param points
+	 *        The clustered points.
+	 * 
+	 * @param labels
+	 *        The index of the cluster of every point (in the same order as the points).
+	 * 
+	 * @param centersX
+	 *        The x coordinates of the cluster centers.
+	 * 
+	 * @param centersY
+	 *        The y coordinates of the cluster centers.
+	 * 
+	 * @param clusterSizes
+	 *        The number of points in every cluster.
+	 */
+	public KMeansResult(List<T> points, int[] labels, double[] centersX, double[] centersY, int[] clusterSizes) {
+		this(points, labels, centersX, centersY, clusterSizes, null, null, null, null);
+	}
+	/**
+	 * Create a result with the statistics of the clusters. The arrays are not copied.
+	 * 
+	 * @param points
+	 *        The clustered points.
+	 * 
+	 * @param labels
+	 *        The index of the cluster of every point (in the same order as the points).
+	 * 
+	 * @param centersX
+	 *        The x coordinates of the cluster centers.
+	 * 
+	 * @param centersY
+	 *        The y coordinates of the cluster centers.
+	 * 
+	 * @param clusterSizes
+	 *        The number of points in every cluster.
+	 * 
+	 * @param sumsX
+	 *        The sums of the x coordinates of the points in every cluster (or null if the statistics are not known).
+	 * 
+	 * @param sumsY
+	 *        The sums of the y coordinates of the points in every cluster (or null if the statistics are not known).
+	 * 
+	 * @param distortions
+	 *        The sums of the squared distances from the points to the center in every cluster (or null if the statistics are not known).
+	 * 
+	 * @param distanceSums
+	 *        The sums of the distances from the points to the center in every cluster (or null if the statistics are not known).
+	 */
+	public KMeansResult(List<T> points, int[] labels, double[] centersX, double[] centersY, int[] clusterSizes, double[] sumsX, double[] sumsY,
+			double[] distortions, double[] distanceSums) {
+		if (labels.length != points.size()) {
+			throw new IllegalArgumentException("there has to be one label for every point");
+		}
+		if (centersX.length != centersY.length || centersX.length != clusterSizes.length) {
+			throw new IllegalArgumentException("the centers and the cluster sizes need to have the same length");
+		}
+		if ((sumsX == null) != (sumsY == null) || (sumsX == null) != (distortions == null) || (sumsX == null) != (distanceSums == null)) {
+			throw new IllegalArgumentException("either all or none of the cluster statistics have to be given");
+		}
+		if (sumsX != null && (sumsX.length != centersX.length || sumsY.length != centersX.length || distortions.length != centersX.length
+				|| distanceSums.length != centersX.length)) {
+			throw new IllegalArgumentException("the cluster statistics need to have the same length as the centers");
+		}
+		this.points = points;
+		this.labels = labels;
+		this.centersX = centersX;
+		this.centersY = centersY;
+		this.clusterSizes = clusterSizes;
+		this.sumsX = sumsX;
+		this.sumsY = sumsY;
+		this.distortions = distortions;
+		this.distanceSums = distanceSums;
+	}
+	
+	/**
+	 * Calculate the statistics of the clusters from the coordinates of the points (in the same order as the labels) and create a result. The
+	 * arrays are not copied.
+	 */
+	static <T> KMeansResult<T> withStatistics(List<T> points, double[] pointsX, double[] pointsY, int[] labels, double[] centersX,
+			double[] centersY) {
+		int k = centersX.length;
+		int[] clusterSizes = new int[k];
+		double[] sumsX = new double[k];
+		double[] sumsY = new double[k];
+		double[] distortions = new double[k];
+		double[] distanceSums = new double[k];
+		for (int i = 0; i < labels.length; i++) {
+			int cluster = labels[i];
+			double dx = pointsX[i] - centersX[cluster];
+			double dy = pointsY[i] - centersY[cluster];
+			double squaredDistance = dx * dx + dy * dy;
+			clusterSizes[cluster]++;
+			sumsX[cluster] += pointsX[i];
+			sumsY[cluster] += pointsY[i];
+			distortions[cluster] += squaredDistance;
+			distanceSums[cluster] += Math.sqrt(squaredDistance);
+		}
+		return new KMeansResult<T>(points, labels, centersX, centersY, clusterSizes, sumsX, sumsY, distortions, distanceSums);
+	}
+	
+	/**
+	 * The number of clusters (including empty clusters).
+	 */
+	public int getK() {
+		return centersX.length;
+	}
+	
+	public List<T> getPoints() {
+		return points;
+	}
+	public T getPoint(int index) {
+		return points.get(index);
+	}
+	
+	/**
+	 * The index of the cluster of every point (the array is not copied and must not be changed).
+	 */
+	public int[] getLabels() {
+		return labels;
+	}
+	/**
+	 * The index of the cluster of the point at the index.
+	 */
+	public int getLabel(int pointIndex) {
+		return labels[pointIndex];
+	}
+	
+	public Vector2D getCenter(int cluster) {
+		return new Vector2D(centersX[cluster], centersY[cluster]);
+	}
+	public double getCenterX(int cluster) {
+		return centersX[cluster];
+	}
+	public double getCenterY(int cluster) {
+		return centersY[cluster];
+	}
+	/**
+	 * All cluster centers (as new Vector2D objects).
+	 */
+	public List<Vector2D> getCenters() {
+		List<Vector2D> centers = new ArrayList<Vector2D>(centersX.length);
+		for (int i = 0; i < centersX.length; i++) {
+			centers.add(getCenter(i));
+		}
+		return centers;
+	}
+	
+	/**
+	 * The number of points in a cluster.
+	 */
+	public int getClusterSize(int cluster) {
+		return clusterSizes[cluster];
+	}
+	
+	/**
+	 * Whether the result holds the statistics of the clusters (sums, distortions and distance sums). The results of the clustering algorithms
+	 * always hold the statistics.
+	 */
+	public boolean hasStatistics() {
+		return distortions != null;
+	}
+	
+	private void checkStatistics() throws IllegalStateException {
+		if (distortions == null) {
+			throw new IllegalStateException("The result doesn't hold the statistics of the clusters");
+		}
+	}
+	
+	/**
+	 * The sum of the points in a cluster.
+	 * 
+	 * @throws IllegalStateException
+	 *         An {@link IllegalStateException} is thrown if the result doesn't hold the statistics of the clusters.
+	 */
+	public Vector2D getClusterSum(int cluster) throws IllegalStateException {
+		checkStatistics();
+		return new Vector2D(sumsX[cluster], sumsY[cluster]);
+	}
+	public double getClusterSumX(int cluster) throws IllegalStateException {
+		checkStatistics();
+		return sumsX[cluster];
+	}
+	public double getClusterSumY(int cluster) throws IllegalStateException {
+		checkStatistics();
+		return sumsY[cluster];
+	}
+	
+	/**
+	 * The sum of the squared distances from the points of a cluster to it's center (within-cluster distortion).
+	 * 
+	 * @throws IllegalStateException
+	 *         An {@link IllegalStateException} is thrown if the result doesn't hold the statistics of the clusters.
+	 */
+	public double getDistortion(int cluster) throws IllegalStateException {
+		checkStatistics();
+		return distortions[cluster];
+	}
+	/**
+	 * The sum of the squared distances from all points to the centers of their clusters (inertia).
+	 * 
+	 * @throws IllegalStateException
+	 *         An {@link IllegalStateException} is thrown if the result doesn't hold the statistics of the clusters.
+	 */
+	public double getDistortion() throws IllegalStateException {
+		checkStatistics();
+		double distortion = 0;
+		for (int i = 0; i < distortions.length; i++) {
+			distortion += distortions[i];
+		}
+		return distortion;
+	}
+	
+	/**
+	 * The sum of the distances from the points of a cluster to it's center.
+	 * 
+	 * @throws IllegalStateException
+	 *         An {@link IllegalStateException} is thrown if the result doesn't hold the statistics of the clusters.
+	 */
+	public double getDistanceSum(int cluster) throws IllegalStateException {
+		checkStatistics();
+		return distanceSums[cluster];
+	}
+	/**
+	 * The average distance from the points of a cluster to it's center (NaN if the cluster is empty).
+	 * 
+	 * @throws IllegalStateException
+	 *         An {@link IllegalStateException} is thrown if the result doesn't hold the statistics of the clusters.
+	 */
+	public double getAverageDistance(int cluster) throws IllegalStateException {
+		checkStatistics();
+		return distanceSums[cluster] / clusterSizes[cluster];
+	}
+	
+	/**
+	 * All points that are assigned to a cluster.
+	 */
+	public List<T> getCluster(int cluster) {
+		List<T> clusterPoints = new ArrayList<T>(clusterSizes[cluster]);
+		for (int i = 0; i < labels.length; i++) {
+			if (labels[i] == cluster) {
+				clusterPoints.add(points.get(i));
+			}
+		}
+		return clusterPoints;
+	}
+	/**
+	 * The points of all clusters (the points of the cluster i are at index i), collected in one pass over the labels.
+	 */
+	public List<List<T>> getClusters() {
+		List<List<T>> clusters = new ArrayList<List<T>>(clusterSizes.length);
+		for (int i = 0; i < clusterSizes.length; i++) {
+			clusters.add(new ArrayList<T>(clusterSizes[i]));
+		}
+		for (int i = 0; i < labels.length; i++) {
+			clusters.get(labels[i]).add(points.get(i));
+		}
+		return clusters;
+	}
+	
+	/**
+	 * Get the result as (unmodifiable) map of center points to all points that are classified to the center (a set of T).
+	 * 
+	 * The keys are searched using {@link Vector2D#equals(Object)}, so a center can be found by a vector that is equal to it but has another hash
+	 * code (which a HashMap can't do). Clusters with equal centers are combined into one entry.
+	 */
+	public Map<Vector2D, Set<T>> asMap() {
+		if (map == null) {
+			map = new ClusterMap();
+		}
+		return map;
+	}
+	
+	/**
+	 * Get the result as a (modifiable) {@link HashMap} of center points to all points that are classified to the center (a set of T). The map and
+	 * the sets are copies, so changing them doesn't change this result. Clusters with equal centers are combined into one entry (like in
+	 * {@link #asMap()}).
+	 */
+	public Map<Vector2D, Set<T>> toHashMap() {
+		Map<Vector2D, Set<T>> hashMap = new HashMap<Vector2D, Set<T>>();
+		for (Map.Entry<Vector2D, Set<T>> entry : asMap().entrySet()) {
+			hashMap.put(entry.getKey(), new HashSet<T>(entry.getValue()));
+		}
+		return hashMap;
+	}
+	
+	/**
+	 * A read only map with the cluster centers as keys, that searches the keys using the equals method of Vector2D.
+	 */
+	private class ClusterMap extends AbstractMap<Vector2D, Set<T>> {
+		
+		private final List<Entry<Vector2D, Set<T>>> entries;
+		
+		public ClusterMap() {
+			//combine the clusters with equal centers
+			int[] entryIndex = new int[centersX.length];
+			List<Vector2D> keys = new ArrayList<Vector2D>(centersX.length);
+			List<Set<T>> values = new ArrayList<Set<T>>(centersX.length);
+			for (int i = 0; i < centersX.length; i++) {
+				Vector2D center = getCenter(i);
+				int index = keys.indexOf(center);
+				if (index == -1) {
+					index = keys.size();
+					keys.add(center);
+					values.add(new HashSet<T>());
+				}
+				entryIndex[i] = index;
+			}
+			for (int i = 0; i < labels.length; i++) {
+				values.get(entryIndex[labels[i]]).add(points.get(i));
+			}
+			
+			entries = new ArrayList<Entry<Vector2D, Set<T>>>(keys.size());
+			for (int i = 0; i < keys.size(); i++) {
+				entries.add(new SimpleImmutableEntry<Vector2D, Set<T>>(keys.get(i), Collections.unmodifiableSet(values.get(i))));
+			}
+		}
+		
+		@Override
+		public Set<Entry<Vector2D, Set<T>>> entrySet() {
+			return new AbstractSet<Entry<Vector2D, Set<T>>>() {
+				
+				@Override
+				public Iterator<Entry<Vector2D, Set<T>>> iterator() {
+					return Collections.unmodifiableList(entries).iterator();
+				}
+				
+				@Override
+				public int size() {
+					return entries.size();
+				}
+			};
+		}
+		
+		@Override
+		public Set<T> get(Object key) {
+			for (Entry<Vector2D, Set<T>> entry : entries) {
+				if (entry.getKey().equals(key)) {
+					return entry.getValue();
+				}
+			}
+			return null;
+		}
+		
+		@Override
+		public boolean containsKey(Object key) {
+			return get(key) != null;
+		}
+	}
+}
@@ -0,0 +1,289 @@
+package net.jfabricationgames.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Function;
+import java.util.function.IntToDoubleFunction;
+
+import net.jfabricationgames.linear_algebra.Vector2D;
+
+/**
+ * A k-means algorithm that doesn't need all points at once, but updates the centers with small batches of points (mini-batch k-means).
+ * 
+ * The points are read from an Iterator or a Spliterator (or given batch by batch using {@link #partialFit(List)}), so data sets that don't fit
+ * into the memory or that arrive continuously can be clustered. This is a single-pass estimator: every point is only used once (in the batch it
+ * belongs to), so {@link #fit(Iterator)} doesn't run multiple epochs over the points. To use the points again, fit can be called again with a new
+ * iterator (which continues with the current centers and counts).
+ * 
+ * Algorithm:
+ * <ul>
+ * <li>The initial centers are chosen from the first batch using k-means++ (if no initial centers are given; see
+ * {@link KMeans.Seeding#KMEANS_PLUS_PLUS}). If the first batch has less than k points, the points are kept until there are k points.</li>
+ * <li>The points of a batch are assigned to their nearest centers</li>
+ * <li>Every center is moved towards the points that were assigned to it by the learning rate (which is 1 / number of points assigned to the
+ * center by default, so a center is the mean of all it's points if it didn't move)</li>
+ * <li>Repeat with the next batch until there are no more points</li>
+ * </ul>
+ */
+public class MiniBatchKMeans<T> {
+	
+	private int k;
+	private Function<T, Vector2D> vector2Dconverter;
+	
+	/**
+	 * The number of points that are read from the iterator (or spliterator) for one update of the centers
+	 */
+	private int batchSize = 1024;
+	
+	/**
+	 * The learning rate of a center, depending on the number of points that were assigned to the center (including the current point)
+	 */
+	private IntToDoubleFunction learningRate = pointsInCluster -> 1d / pointsInCluster;
+	
+	private double[] centersX;
+	private double[] centersY;
+	/**
+	 * The number of points that were assigned to each center
+	 */
+	private int[] counts;
+	/**
+	 * Whether the centers are initialized (given in the constructor or chosen from the first batch)
+	 */
+	private boolean initialized;
+	/**
+	 * The random number generator that is used to choose the initial centers (a seeded generator makes the results reproducible)
+	 */
+	private Random random = new Random();
+	
+	//buffers for the current batch (to not create new arrays for every batch)
+	private double[] batchX;
+	private double[] batchY;
+	private int[] batchLabels;
+	/**
+	 * The number of points at the start of the batch buffers that are kept until there are enough points to choose the initial centers
+	 */
+	private int pendingPoints;
+	
+	public MiniBatchKMeans(int k, Function<T, Vector2D> vector2Dconverter) {
+		this(k, null, vector2Dconverter);
+	}
+	public MiniBatchKMeans(int k, List<Vector2D> initialCenters, Function<T, Vector2D> vector2Dconverter) {
+		if (k < 2) {
+			throw new IllegalArgumentException("The parameter k must be at least 2");
+		}
+		this.k = k;
+		this.vector2Dconverter = vector2Dconverter;
+		centersX = new double[k];
+		centersY = new double[k];
+		counts = new int[k];
+		if (initialCenters != null) {
+			if (initialCenters.size() != k) {
+				throw new IllegalArgumentException("the number of initial centers has to be equal to k");
+			}
+			for (int i = 0; i < k; i++) {
+				centersX[i] = initialCenters.get(i).x;
+				centersY[i] = initialCenters.get(i).y;
+			}
+			initialized = true;
+		}
+	}
+	
+	/**
+	 * Update the centers with all points of the iterator (in batches of the batch size).
+	 * 
+	 * @return Returns the centers after all points were used
+	 */
+	public List<Vector2D> fit(Iterator<T> points) {
+		List<T> batch = new ArrayList<T>(batchSize);
+		while (points.hasNext()) {
+			batch.add(points.next());
+			if (batch.size() == batchSize) {
+				partialFit(batch);
+				batch.clear();
+			}
+		}
+		if (!batch.isEmpty()) {
+			partialFit(batch);
+		}
+		return getCenters();
+	}
+	/**
+	 * Update the centers with all points of the spliterator (in batches of the batch size).
+	 * 
+	 * @return Returns the centers after all points were used
+	 */
+	public List<Vector2D> fit(Spliterator<T> points) {
+		List<T> batch = new ArrayList<T>(batchSize);
+		boolean hasNext = true;
+		while (hasNext) {
+			hasNext = points.tryAdvance(batch::add);
+			if (batch.size() == batchSize || (!hasNext && !batch.isEmpty())) {
+				partialFit(batch);
+				batch.clear();
+			}
+		}
+		return getCenters();
+	}
+	
+	/**
+	 * Update the centers with one batch of points.
+	 */
+	public void partialFit(List<T> batch) {
+		//the points that were kept to choose the initial centers are used in this batch too
+		ensureBatchCapacity(pendingPoints + batch.size());
+		int size = pendingPoints;
+		for (T point : batch) {
+			Vector2D vector = vector2Dconverter.apply(point);
+			batchX[size] = vector.x;
+			batchY[size] = vector.y;
+			size++;
+		}
+		if (!initialized) {
+			if (size < k) {
+				//not enough points to choose the initial centers yet
+				pendingPoints = size;
+				return;
+			}
+			//choose the initial centers from the batch using k-means++ (so equal or sorted leading points don't lead to equal centers)
+			KMeans.seedKMeansPlusPlus(batchX, batchY, null, size, centersX, centersY, random);
+			initialized = true;
+			pendingPoints = 0;
+		}
+		
+		//assign all points of the batch to their nearest centers before moving the centers
+		for (int i = 0; i < size; i++) {
+			batchLabels[i] = nearestCenter(batchX[i], batchY[i]);
+		}
+		
+		//move the centers towards their points
+		for (int i = 0; i < size; i++) {
+			int center = batchLabels[i];
+			counts[center]++;
+			double rate = learningRate.applyAsDouble(counts[center]);
+			centersX[center] = (1 - rate) * centersX[center] + rate * batchX[i];
+			centersY[center] = (1 - rate) * centersY[center] + rate * batchY[i];
+		}
+	}
+	
+	private void ensureBatchCapacity(int capacity) {
+		if (batchX == null) {
+			batchX = new double[capacity];
+			batchY = new double[capacity];
+			batchLabels = new int[capacity];
+		}
+		else if (batchX.length < capacity) {
+			//keep the pending points
+			batchX = Arrays.copyOf(batchX, capacity);
+			batchY = Arrays.copyOf(batchY, capacity);
+			batchLabels = new int[capacity];
+		}
+	}
+	
+	/**
+	 * Find the index of the center that is nearest to a point.
+	 */
+	public int predict(T point) {
+		if (!initialized) {
+			throw new IllegalStateException("The centers are not initialized yet (less than k points were used)");
+		}
+		Vector2D vector = vector2Dconverter.apply(point);
+		return nearestCenter(vector.x, vector.y);
+	}
+	
+	private int nearestCenter(double x, double y) {
+		int center = 0;
+		double centerDistance = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < k; i++) {
+			double dx = x - centersX[i];
+			double dy = y - centersY[i];
+			//compare the squared distances (no square root needed to find the nearest center)
+			double distance = dx * dx + dy * dy;
+			if (distance < centerDistance) {
+				center = i;
+				centerDistance = distance;
+			}
+		}
+		return center;
+	}
+	
+	/**
+	 * Assign all points of a list to the current centers (without updating the centers).
+	 * 
+	 * @return Returns the result, that holds the index of the cluster of every point and the cluster centers
+	 */
+	public KMeansResult<T> classify(List<T> points) {
+		if (!initialized) {
+			throw new IllegalStateException("The centers are not initialized yet (less than k points were used)");
+		}
+		double[] pointsX = new double[points.size()];
+		double[] pointsY = new double[points.size()];
+		int[] labels = new int[points.size()];
+		int i = 0;
+		for (T point : points) {
+			Vector2D vector = vector2Dconverter.apply(point);
+			pointsX[i] = vector.x;
+			pointsY[i] = vector.y;
+			labels[i] = nearestCenter(vector.x, vector.y);
+			i++;
+		}
+		return KMeansResult.withStatistics(points, pointsX, pointsY, labels, centersX.clone(), centersY.clone());
+	}
+	
+	/**
+	 * The current centers (empty if less than k points were used yet and no initial centers were given).
+	 */
+	public List<Vector2D> getCenters() {
+		List<Vector2D> centers = new ArrayList<Vector2D>(k);
+		if (initialized) {
+			for (int i = 0; i < k; i++) {
+				centers.add(new Vector2D(centersX[i], centersY[i]));
+			}
+		}
+		return centers;
+	}
+	
+	/**
+	 * The number of points that were assigned to the center (at index cluster) so far.
+	 */
+	public int getCount(int cluster) {
+		return counts[cluster];
+	}
+	
+	public int getBatchSize() {
+		return batchSize;
+	}
+	/**
+	 * Set the number of points that are read from the iterator (or spliterator) for one update of the centers
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("The batch size must be at least 1");
+		}
+		this.batchSize = batchSize;
+	}
+	
+	public Random getRandom() {
+		return random;
+	}
+	/**
+	 * Set the random number generator that is used to choose the initial centers (a seeded generator makes the results reproducible)
+	 */
+	public void setRandom(Random random) {
+		this.random = random;
+	}
+	
+	public IntToDoubleFunction getLearningRate() {
+		return learningRate;
+	}
+	/**
+	 * Set the learning rate of a center, depending on the number of points that were assigned to the center (including the current point). The
+	 * default is 1 / number of points.
+	 */
+	public void setLearningRate(IntToDoubleFunction learningRate) {
+		this.learningRate = learningRate;
+	}
+}
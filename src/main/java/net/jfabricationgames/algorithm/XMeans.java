@@ -1,11 +1,15 @@
 package net.jfabricationgames.algorithm;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -25,21 +29,116 @@ public class XMeans<T> {
 	private double splitDistanceAsAverageToCenters = 0.05;//5% of the average distance to other centers
 	
 	/**
-	 * The strategy that is used to split a new center from one of the current centers
+	 * The strategy that is used to split a new center from one of the current centers (using the random number generator of the split attempt)
 	 */
-	private BiFunction<List<Vector2D>, Vector2D, Vector2D> splitStrategy = (centers, split) -> {
+	private SplitStrategy randomSplitStrategy = (centers, split, random) -> {
 		//use 5% of the average distance between this center and all other centers as distance for the split
 		double averageDistanceToCenters = centers.stream().mapToDouble(center -> center.distance(split)).sum() / (centers.size() - 1);
-		Vector2D randomDirectionVector = new Vector2D(Math.random() * 360);
+		Vector2D randomDirectionVector = new Vector2D(random.nextDouble() * 360);
 		randomDirectionVector = randomDirectionVector.setLength(averageDistanceToCenters * splitDistanceAsAverageToCenters);
 		return split.add(randomDirectionVector);
 	};
+	/**
+	 * The split strategy as a function of the centers and the split center (uses a new random number generator for every split if it's created
+	 * from the random split strategy)
+	 */
+	private BiFunction<List<Vector2D>, Vector2D, Vector2D> splitStrategy = (centers, split) -> randomSplitStrategy.split(centers, split,
+			new Random());
+	
+	/**
+	 * The random number generator that is used to create the seeds of the split attempts (a seeded generator makes the results reproducible)
+	 */
+	private Random random = new Random();
+	
+	/**
+	 * Evaluate the splits of the centers in parallel (using the executor)
+	 */
+	private boolean parallel = false;
+	private Executor executor = ForkJoinPool.commonPool();
+	
+	/**
+	 * Whether the split clusters are evaluated using all points or only the points of the split cluster
+	 */
+	private SplitMode splitMode = SplitMode.GLOBAL;
+	
+	/**
+	 * The score that is used to decide whether a split is accepted
+	 */
+	private SplitScore splitScore = SplitScore.AVERAGE_DISTANCE;
+	
+	/**
+	 * The number of dimensions of the points (used for the BIC and AIC)
+	 */
+	private static final int DIMENSIONS = 2;
 	
 	/**
 	 * A better solution is assumed if the average distance to all points in the cluster is improved by at least this amount (as percent value)
 	 */
 	private double improvementNeededToAcceptTheNewSolutionInPercent = 0.15;
 	
+	/**
+	 * A strategy to split a new center from one of the current centers.
+	 */
+	@FunctionalInterface
+	public interface SplitStrategy {
+		
+		/**
+		 * Create a new center that is split from one of the current centers.
+		 * 
+		 * @param centers
+		 *        The current centers.
+		 * 
+		 * @param split
+		 *        The center that is split.
+		 * 
+		 * @param random
+		 *        The random number generator of this split attempt (every attempt uses it's own generator, so the attempts can be evaluated in
+		 *        parallel and the results are reproducible).
+		 * 
+		 * @return Returns the new center
+		 */
+		public Vector2D split(List<Vector2D> centers, Vector2D split, Random random);
+	}
+	
+	/**
+	 * The ways to evaluate the split of a cluster.
+	 */
+	public enum SplitMode {
+		/**
+		 * Run a k-means of all points with the current centers and the new center and accept the split if the average distance to all points
+		 * is improved by at least {@link XMeans#getImprovementNeededToAcceptTheNewSolutionInPercent()}. Every split attempt needs O(n * k)
+		 * time per iteration.
+		 */
+		GLOBAL,
+		/**
+		 * Run a 2-means of only the points of the split cluster (with the split center and the new center) and accept the split if the BIC (or
+		 * AIC) of the two clusters is higher than the one of the split cluster (like in the x-means algorithm of Pelleg and Moore). Every split
+		 * attempt needs only O(points in the cluster) time per iteration. The clusters of all points are refined once after a split is accepted.
+		 */
+		LOCAL;
+	}
+	
+	/**
+	 * The scores that can be used to decide whether a split is accepted.
+	 */
+	public enum SplitScore {
+		/**
+		 * Accept a split if the average distance from the centers to the points of their clusters is improved by at least
+		 * {@link XMeans#getImprovementNeededToAcceptTheNewSolutionInPercent()}. This score can only be used with the split mode
+		 * {@link SplitMode#GLOBAL} (the BIC is used for {@link SplitMode#LOCAL}).
+		 */
+		AVERAGE_DISTANCE,
+		/**
+		 * Accept a split if the bayesian information criterion (BIC) of the clusters is improved.
+		 */
+		BIC,
+		/**
+		 * Accept a split if the akaike information criterion (AIC) of the clusters is improved. The AIC penalizes the additional cluster less
+		 * than the BIC, so more splits are accepted.
+		 */
+		AIC;
+	}
+	
 	public XMeans(List<T> points, int kMin, int kMax, List<Vector2D> initialCenters, Function<T, Vector2D> vector2Dconverter) {
 		this.points = points;
 		this.kMin = kMin;
@@ -55,84 +154,232 @@ public class XMeans<T> {
 	 * <ul>
 	 * <li>Starting with a simple k means algorithm with k = kMin</li>
 	 * <li>Split one of the clusters into two and check whether this is a better solution</li>
-	 * <li>Better solutions is assumed if the average distance to all points in the cluster is now at least 15% lower (can be customized)</li>
+	 * <li>Better solutions is assumed if the average distance to all points in the cluster is now at least 15% lower (can be customized) or
+	 * if the BIC or AIC is improved (see {@link SplitScore})</li>
 	 * <li>Repeat until either kMax is reached or all clusters decline to be split</li>
 	 * </ul>
 	 */
 	public Map<Vector2D, Set<T>> findClusters() {
 		//start with simple k means algorithm with k = kMin
-		Map<Vector2D, Set<T>> initialKMeans = findClusters_K_Means(points, initialCenters, kMin);
-		Map<Vector2D, Set<T>> bestResult = initialKMeans;
-		double bestResultAverageDistToAllPoints = calculateAverageDistanceFromCentersToClusterPoints(bestResult);
+		KMeansResult<T> bestResult = findClusters_K_Means(points, initialCenters, kMin, new Random(random.nextLong()));
+		//the average distance is only needed by the average distance heuristic (NaN otherwise)
+		boolean averageDistanceScore = splitScore == SplitScore.AVERAGE_DISTANCE && splitMode == SplitMode.GLOBAL;
+		double bestResultAverageDistToAllPoints = averageDistanceScore ? calculateAverageDistanceFromCentersToClusterPoints(bestResult)
+				: Double.NaN;
 		
 		int k = kMin;
 		boolean clusterSplitted = true;
-		List<Vector2D> centers = new ArrayList<Vector2D>(initialKMeans.keySet());
 		
 		//repeat until kMax is reached or all clusters decline to be split
 		while (k < kMax && clusterSplitted) {
 			clusterSplitted = false;
 			k++;
 			
-			//choose the best split if multiple were split
-			Map<Map<Vector2D, Set<T>>, Double> splitClusters = new HashMap<>();
+			List<Vector2D> centers = bestResult.getCenters();
+			//the points of the clusters are collected once, so a local split attempt doesn't need to search all labels for it's cluster
+			List<List<T>> clusters = splitMode == SplitMode.LOCAL ? bestResult.getClusters() : null;
 			
-			//try to split all centers (one after another)
+			//try to split all centers (the attempts are independent, so they can be evaluated in parallel)
+			List<CompletableFuture<SplitAttempt>> attempts = new ArrayList<CompletableFuture<SplitAttempt>>(centers.size());
 			for (int i = 0; i < centers.size(); i++) {
-				List<Vector2D> splitCenters = new ArrayList<Vector2D>(centers);
-				Vector2D split = centers.get(i);
-				
-				//add a new center that was split from one of the current centers
-				splitCenters.add(splitStrategy.apply(centers, split));
-				
-				//run a k-means with the new centers
-				Map<Vector2D, Set<T>> newKMeansResult = findClusters_K_Means(points, splitCenters, k);
-				double newAverageDistToAllPoints = calculateAverageDistanceFromCentersToClusterPoints(newKMeansResult);
-				
-				//use the new result if the average distance to all points is more than 15% reduced (customizable)
-				if (newAverageDistToAllPoints < bestResultAverageDistToAllPoints * (1 - improvementNeededToAcceptTheNewSolutionInPercent)) {
-					splitClusters.put(newKMeansResult, newAverageDistToAllPoints);
-					clusterSplitted = true;
+				//the seeds are created in the order of the centers, so the results don't depend on the order in which the attempts are executed
+				List<T> clusterPoints = clusters != null ? clusters.get(i) : null;
+				SplitAttempt attempt = new SplitAttempt(bestResult, centers, clusterPoints, i, k, bestResultAverageDistToAllPoints,
+						random.nextLong());
+				if (parallel) {
+					attempts.add(CompletableFuture.supplyAsync(attempt::evaluate, executor));
+				}
+				else {
+					attempts.add(CompletableFuture.completedFuture(attempt.evaluate()));
 				}
 			}
 			
-			if (!splitClusters.isEmpty()) {
-				//choose the best split and update the variables
-				Map<Vector2D, Set<T>> bestSplitCluster = null;
-				double bestSplitClusterScore = Double.POSITIVE_INFINITY;
-				for (Entry<Map<Vector2D, Set<T>>, Double> entry : splitClusters.entrySet()) {
-					if (entry.getValue() < bestSplitClusterScore) {
-						bestSplitCluster = entry.getKey();
-						bestSplitClusterScore = entry.getValue();
-					}
+			//choose the best split (if there are multiple splits with the same gain the one of the first center is used)
+			SplitAttempt bestSplit = null;
+			for (CompletableFuture<SplitAttempt> future : attempts) {
+				SplitAttempt attempt = join(future);
+				if (attempt.gain > 0 && (bestSplit == null || attempt.gain > bestSplit.gain)) {
+					bestSplit = attempt;
 				}
-				
-				if (bestSplitCluster == null) {
-					//should never happen
-					throw new IllegalStateException("no new cluster defined as best split cluster");
+			}
+			
+			if (bestSplit != null) {
+				clusterSplitted = true;
+				if (splitMode == SplitMode.GLOBAL) {
+					bestResult = bestSplit.result;
 				}
+				else {
+					//refine the clusters of all points once, because the new centers can also take points from the neighbouring clusters
+					bestResult = findClusters_K_Means(points, bestSplit.refinementCenters(), k, new Random(random.nextLong()));
+				}
+				if (averageDistanceScore) {
+					bestResultAverageDistToAllPoints = calculateAverageDistanceFromCentersToClusterPoints(bestResult);
+				}
+			}
+		}
+		
+		return bestResult.toHashMap();
+	}
+	
+	/**
+	 * Wait for the result of a split attempt and rethrow it's exceptions.
+	 */
+	private static <R> R join(CompletableFuture<R> future) {
+		try {
+			return future.join();
+		}
+		catch (CompletionException ce) {
+			if (ce.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) ce.getCause();
+			}
+			if (ce.getCause() instanceof Error) {
+				throw (Error) ce.getCause();
+			}
+			throw ce;
+		}
+	}
+	
+	/**
+	 * An attempt to split one of the centers: a k-means with the current centers and the new center that is split from one of them (or a
+	 * 2-means of the points of the split cluster if the split mode is {@link SplitMode#LOCAL}).
+	 */
+	private class SplitAttempt {
+		
+		private final KMeansResult<T> current;
+		private final List<Vector2D> centers;
+		/**
+		 * The points of the split cluster (only needed if the split mode is {@link SplitMode#LOCAL})
+		 */
+		private final List<T> clusterPoints;
+		private final int splitIndex;
+		private final int k;
+		private final double currentAverageDistToAllPoints;
+		private final long seed;
+		
+		private KMeansResult<T> result;
+		/**
+		 * How much the split improves the clustering (the split is only accepted if the gain is positive)
+		 */
+		private double gain = Double.NEGATIVE_INFINITY;
+		
+		public SplitAttempt(KMeansResult<T> current, List<Vector2D> centers, List<T> clusterPoints, int splitIndex, int k,
+				double currentAverageDistToAllPoints, long seed) {
+			this.current = current;
+			this.centers = centers;
+			this.clusterPoints = clusterPoints;
+			this.splitIndex = splitIndex;
+			this.k = k;
+			this.currentAverageDistToAllPoints = currentAverageDistToAllPoints;
+			this.seed = seed;
+		}
+		
+		public SplitAttempt evaluate() {
+			Random attemptRandom = new Random(seed);
+			Vector2D split = centers.get(splitIndex);
+			
+			//add a new center that was split from one of the current centers
+			Vector2D newCenter = randomSplitStrategy.split(centers, split, attemptRandom);
+			
+			if (splitMode == SplitMode.GLOBAL) {
+				List<Vector2D> splitCenters = new ArrayList<Vector2D>(centers);
+				splitCenters.add(newCenter);
 				
-				bestResult = bestSplitCluster;
-				bestResultAverageDistToAllPoints = bestSplitClusterScore;
-				centers = new ArrayList<Vector2D>(bestSplitCluster.keySet());
+				//run a k-means with the new centers
+				result = findClusters_K_Means(points, splitCenters, k, attemptRandom);
+				if (splitScore == SplitScore.AVERAGE_DISTANCE) {
+					double newAverageDistToAllPoints = calculateAverageDistanceFromCentersToClusterPoints(result);
+					//use the new result if the average distance to all points is more than 15% reduced (customizable)
+					gain = currentAverageDistToAllPoints * (1 - improvementNeededToAcceptTheNewSolutionInPercent) - newAverageDistToAllPoints;
+				}
+				else {
+					gain = calculateInformationCriterion(result) - calculateInformationCriterion(current);
+				}
+			}
+			else {
+				if (clusterPoints.size() > 2) {
+					//run a 2-means with only the points of the split cluster and compare the BIC (or AIC) of one and two clusters
+					result = findClusters_K_Means(clusterPoints, Arrays.asList(split, newCenter), 2, attemptRandom);
+					double parentDistortion = current.getDistortion(splitIndex);
+					gain = calculateInformationCriterion(result)
+							- calculateInformationCriterion(clusterPoints.size(), parentDistortion, clusterPoints.size());
+				}
 			}
+			return this;
 		}
 		
-		return bestResult;
+		/**
+		 * The centers for the refinement of all points after a local split: the current centers with the split center replaced by the two new
+		 * centers.
+		 */
+		public List<Vector2D> refinementCenters() {
+			List<Vector2D> refinementCenters = new ArrayList<Vector2D>(centers);
+			refinementCenters.set(splitIndex, result.getCenter(0));
+			refinementCenters.add(result.getCenter(1));
+			return refinementCenters;
+		}
 	}
 	
-	private Map<Vector2D, Set<T>> findClusters_K_Means(List<T> points, List<Vector2D> initialCenters, int k) {
+	private KMeansResult<T> findClusters_K_Means(List<T> points, List<Vector2D> initialCenters, int k, Random random) {
 		KMeans<T> kMeans = new KMeans<>(k, points, initialCenters, vector2Dconverter);
-		return kMeans.findClusters();
+		kMeans.setRandom(random);
+		return kMeans.findClusterResult();
+	}
+	
+	/**
+	 * Calculate the bayesian information criterion (BIC) or the akaike information criterion (AIC) of a clustering (depending on the split
+	 * score), assuming that the clusters are spherical gaussian distributions with the same variance (like in the x-means algorithm of Pelleg
+	 * and Moore). A higher value is a better model of the points.
+	 */
+	private double calculateInformationCriterion(KMeansResult<T> result) {
+		int[] clusterSizes = new int[result.getK()];
+		for (int i = 0; i < clusterSizes.length; i++) {
+			clusterSizes[i] = result.getClusterSize(i);
+		}
+		return calculateInformationCriterion(result.getPoints().size(), result.getDistortion(), clusterSizes);
+	}
+	/**
+	 * Calculate the BIC (or AIC) of a clustering from the number of points, the sum of the squared distances from the points to their centers
+	 * and the number of points in every cluster.
+	 */
+	private double calculateInformationCriterion(int size, double distortion, int... clusterSizes) {
+		int k = clusterSizes.length;
+		if (size <= k) {
+			//the variance can't be estimated
+			return Double.NEGATIVE_INFINITY;
+		}
+		
+		//the variance in every dimension (at least a very small value, so the logarithm can be calculated if all points are equal to their centers)
+		double variance = Math.max(distortion / (DIMENSIONS * (size - k)), Double.MIN_NORMAL);
+		
+		double logLikelihood = -size * DIMENSIONS / 2d * Math.log(2 * Math.PI * variance) - DIMENSIONS * (size - k) / 2d;
+		for (int clusterSize : clusterSizes) {
+			if (clusterSize > 0) {
+				logLikelihood += clusterSize * Math.log(clusterSize / (double) size);
+			}
+		}
+		//the cluster probabilities (k - 1), the centers (k * dimensions) and the variance
+		int parameters = (k - 1) + k * DIMENSIONS + 1;
+		
+		if (splitScore == SplitScore.AIC) {
+			return logLikelihood - parameters;
+		}
+		return logLikelihood - parameters / 2d * Math.log(size);
 	}
 	
-	private double calculateAverageDistanceFromCentersToClusterPoints(Map<Vector2D, Set<T>> classification) {
+	/**
+	 * The average of the average distances from the centers to the points of their clusters (empty clusters are not counted). Needs O(k) time,
+	 * because the distance sums of the clusters are collected by the k-means.
+	 */
+	private double calculateAverageDistanceFromCentersToClusterPoints(KMeansResult<T> result) {
 		double avgDist = 0;
-		for (Vector2D key : classification.keySet()) {
-			avgDist += classification.get(key).stream().map(vector2Dconverter).mapToDouble(v -> v.distance(key)).sum()
-					/ classification.get(key).size();
+		int clusters = 0;
+		for (int i = 0; i < result.getK(); i++) {
+			if (result.getClusterSize(i) > 0) {
+				avgDist += result.getAverageDistance(i);
+				clusters++;
+			}
 		}
-		avgDist /= classification.size();
+		avgDist /= clusters;
 		
 		return avgDist;
 	}
@@ -147,8 +394,80 @@ public class XMeans<T> {
 	public BiFunction<List<Vector2D>, Vector2D, Vector2D> getSplitStrategy() {
 		return splitStrategy;
 	}
+	/**
+	 * Set a split strategy that doesn't use the random number generator of the split attempt.
+	 */
 	public void setSplitStrategy(BiFunction<List<Vector2D>, Vector2D, Vector2D> splitStrategy) {
 		this.splitStrategy = splitStrategy;
+		this.randomSplitStrategy = splitStrategy == null ? null : (centers, split, random) -> splitStrategy.apply(centers, split);
+	}
+	
+	public SplitStrategy getRandomSplitStrategy() {
+		return randomSplitStrategy;
+	}
+	/**
+	 * Set a split strategy that uses the random number generator of the split attempt (so the splits are reproducible, see
+	 * {@link #setRandom(Random)}). The strategy that is returned by {@link #getSplitStrategy()} uses a new random number generator for every split.
+	 */
+	public void setRandomSplitStrategy(SplitStrategy randomSplitStrategy) {
+		this.randomSplitStrategy = randomSplitStrategy;
+		this.splitStrategy = randomSplitStrategy == null ? null : (centers, split) -> randomSplitStrategy.split(centers, split, new Random());
+	}
+	
+	public Random getRandom() {
+		return random;
+	}
+	/**
+	 * Set the random number generator that is used to create the seeds of the split attempts (a seeded generator makes the results
+	 * reproducible, even if the splits are evaluated in parallel)
+	 */
+	public void setRandom(Random random) {
+		this.random = random;
+	}
+	
+	public boolean isParallel() {
+		return parallel;
+	}
+	/**
+	 * Evaluate the splits of the centers in parallel (using the executor)
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+	
+	public Executor getExecutor() {
+		return executor;
+	}
+	/**
+	 * Set the executor that is used to evaluate the splits in parallel (the common fork join pool by default)
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+	
+	public SplitMode getSplitMode() {
+		return splitMode;
+	}
+	/**
+	 * Set whether the split clusters are evaluated using all points (default) or only the points of the split cluster.
+	 * 
+	 * A local split is always evaluated using the BIC (or the AIC if the split score is {@link SplitScore#AIC}), because the average distance of
+	 * the split cluster can't be compared to the one of all points. So the default split score {@link SplitScore#AVERAGE_DISTANCE} is evaluated
+	 * like {@link SplitScore#BIC} in the mode {@link SplitMode#LOCAL}.
+	 */
+	public void setSplitMode(SplitMode splitMode) {
+		this.splitMode = splitMode;
+	}
+	
+	public SplitScore getSplitScore() {
+		return splitScore;
+	}
+	/**
+	 * Set the score that is used to decide whether a split is accepted (the average distance heuristic by default). The average distance
+	 * heuristic is only used in the split mode {@link SplitMode#GLOBAL} (see {@link #setSplitMode(SplitMode)}).
+	 */
+	public void setSplitScore(SplitScore splitScore) {
+		this.splitScore = splitScore;
 	}
 	
 	public double getImprovementNeededToAcceptTheNewSolutionInPercent() {
@@ -0,0 +1,451 @@
+package net.jfabricationgames.linear_algebra;
+
+import java.util.Arrays;
+
+/**
+ * A Matrix2D that stores all entries in a single (flat) double-Array instead of an Array of columns.
+ * 
+ * The entries can be stored row by row ({@link Layout#ROW_MAJOR}) or column by column ({@link Layout#COLUMN_MAJOR}). The position of an entry in
+ * the array is calculated using an offset and the strides of the rows and columns, so a DenseMatrix2D can also be a view on a part of another
+ * DenseMatrix2D (or any double-Array) without copying the entries (see {@link #view(int, int, int, int)}). Changes of the view's entries are
+ * visible in the viewed matrix.
+ * 
+ * A DenseMatrix2D can be used everywhere a Matrix2D is used (e.g. in {@link Gauss}).
+ */
+public class DenseMatrix2D extends Matrix2D {
+	
+	/**
+	 * The order in which the entries are stored in the array.
+	 */
+	public enum Layout {
+		ROW_MAJOR,
+		COLUMN_MAJOR;
+	}
+	
+	protected double[] data;
+	protected int offset;
+	protected int rows;
+	protected int cols;
+	protected int rowStride;
+	protected int colStride;
+	
+	public DenseMatrix2D(int dimensionX, int dimensionY) throws LinearAlgebraException {
+		this(dimensionX, dimensionY, Layout.ROW_MAJOR);
+	}
+	public DenseMatrix2D(int dimensionX, int dimensionY, Layout layout) throws LinearAlgebraException {
+		if (dimensionX <= 0 || dimensionY <= 0) {
+			throw new LinearAlgebraException("The dimensions of a matrix must be greater than 0.");
+		}
+		init(new double[dimensionX * dimensionY], dimensionX, dimensionY, layout);
+	}
+	public DenseMatrix2D(Orientation orientation, double[]... entries) throws LinearAlgebraException {
+		this(orientation, Layout.ROW_MAJOR, entries);
+	}
+	public DenseMatrix2D(Orientation orientation, Layout layout, double[]... entries) throws LinearAlgebraException {
+		if (entries.length == 0 || entries[0].length == 0) {
+			throw new LinearAlgebraException("The dimensions of a matrix must be greater than 0.");
+		}
+		int length = entries[0].length;
+		for (int i = 0; i < entries.length; i++) {
+			if (entries[i].length != length) {
+				throw new LinearAlgebraException("All vectors in the matrix must have the same length.");
+			}
+		}
+		if (orientation == Orientation.ROW) {
+			init(new double[entries.length * length], entries.length, length, layout);
+			for (int i = 0; i < entries.length; i++) {
+				for (int j = 0; j < length; j++) {
+					set(j, i, entries[i][j]);
+				}
+			}
+		}
+		else {
+			init(new double[entries.length * length], length, entries.length, layout);
+			for (int i = 0; i < entries.length; i++) {
+				for (int j = 0; j < length; j++) {
+					set(i, j, entries[i][j]);
+				}
+			}
+		}
+	}
+	public DenseMatrix2D(Orientation orientation, Vector2D... entries) throws LinearAlgebraException {
+		this(orientation, Layout.ROW_MAJOR, toArrays(entries));
+	}
+	public DenseMatrix2D(Orientation orientation, Vector3D... entries) throws LinearAlgebraException {
+		this(orientation, Layout.ROW_MAJOR, toArrays(entries));
+	}
+	/**
+	 * Create a DenseMatrix2D (in row-major layout) that holds a copy of the entries of another matrix.
+	 */
+	public DenseMatrix2D(Matrix2D matrix) {
+		this(matrix, Layout.ROW_MAJOR);
+	}
+	/**
+	 * Create a DenseMatrix2D that holds a copy of the entries of another matrix.
+	 */
+	public DenseMatrix2D(Matrix2D matrix, Layout layout) {
+		int[] dimensions = matrix.getDimensions();
+		init(new double[dimensions[0] * dimensions[1]], dimensions[0], dimensions[1], layout);
+		for (int i = 0; i < cols; i++) {
+			for (int j = 0; j < rows; j++) {
+				set(i, j, matrix.at(i, j));
+			}
+		}
+	}
+	/**
+	 * Create a DenseMatrix2D that is a view on the entries of a double-Array. The array is not copied, so changes of the array are visible in the
+	 * matrix and the other way around.
+	 * 
+	 * @param data
+	 * 		The array that holds the entries.
+	 * 
+	 * @param offset
+	 * 		The index of the entry at (0, 0) in the array.
+	 * 
+	 * @param rows
+	 * 		The number of rows (y dimension) of the matrix.
+	 * 
+	 * @param cols
+	 * 		The number of columns (x dimension) of the matrix.
+	 * 
+	 * @param rowStride
+	 * 		The distance (in the array) between two entries that are next to each other in a column.
+	 * 
+	 * @param colStride
+	 * 		The distance (in the array) between two entries that are next to each other in a row.
+	 * 
+	 * @throws LinearAlgebraException
+	 * 		A {@link LinearAlgebraException} is thrown if the matrix would use entries outside of the array.
+	 */
+	public DenseMatrix2D(double[] data, int offset, int rows, int cols, int rowStride, int colStride) throws LinearAlgebraException {
+		if (rows <= 0 || cols <= 0) {
+			throw new LinearAlgebraException("The dimensions of a matrix must be greater than 0.");
+		}
+		if (offset < 0 || rowStride < 0 || colStride < 0) {
+			throw new LinearAlgebraException("The offset and the strides of a matrix can't be negative.");
+		}
+		if (offset + (rows - 1) * (long) rowStride + (cols - 1) * (long) colStride >= data.length) {
+			throw new LinearAlgebraException("The matrix doesn't fit into the array.");
+		}
+		this.data = data;
+		this.offset = offset;
+		this.rows = rows;
+		this.cols = cols;
+		this.rowStride = rowStride;
+		this.colStride = colStride;
+	}
+	
+	private void init(double[] data, int rows, int cols, Layout layout) {
+		this.data = data;
+		this.offset = 0;
+		this.rows = rows;
+		this.cols = cols;
+		if (layout == Layout.COLUMN_MAJOR) {
+			rowStride = 1;
+			colStride = rows;
+		}
+		else {
+			rowStride = cols;
+			colStride = 1;
+		}
+	}
+	
+	private static double[][] toArrays(Vector2D[] entries) {
+		double[][] arrays = new double[entries.length][];
+		for (int i = 0; i < entries.length; i++) {
+			arrays[i] = entries[i].asArray();
+		}
+		return arrays;
+	}
+	private static double[][] toArrays(Vector3D[] entries) {
+		double[][] arrays = new double[entries.length][];
+		for (int i = 0; i < entries.length; i++) {
+			arrays[i] = entries[i].asArray();
+		}
+		return arrays;
+	}
+	
+	/**
+	 * Clone this matrix. The clone is a compact copy (in the layout of this matrix), also if this matrix is a view.
+	 */
+	@Override
+	public DenseMatrix2D clone() {
+		return new DenseMatrix2D(this, getLayout());
+	}
+	
+	@Override
+	public double at(int x, int y) {
+		return data[index(x, y)];
+	}
+	@Override
+	public void set(int x, int y, double val) {
+		data[index(x, y)] = val;
+	}
+	
+	/**
+	 * The index of the entry at a position in the data array.
+	 */
+	protected int index(int x, int y) {
+		if (x < 0 || x >= cols || y < 0 || y >= rows) {
+			throw new IndexOutOfBoundsException("Position: (" + x + ", " + y + "), Dimensions: (" + cols + ", " + rows + ")");
+		}
+		return offset + y * rowStride + x * colStride;
+	}
+	
+	/**
+	 * Get a view on a part of this matrix. The entries are not copied, so changes of the view are visible in this matrix and the other way
+	 * around.
+	 * 
+	 * @param x
+	 * 		The x dimension of the first entry of the view.
+	 * 
+	 * @param y
+	 * 		The y dimension of the first entry of the view.
+	 * 
+	 * @param rows
+	 * 		The number of rows (y dimension) of the view.
+	 * 
+	 * @param cols
+	 * 		The number of columns (x dimension) of the view.
+	 * 
+	 * @return
+	 * 		The view on this matrix.
+	 */
+	public DenseMatrix2D view(int x, int y, int rows, int cols) throws LinearAlgebraException {
+		if (x < 0 || y < 0 || rows <= 0 || cols <= 0 || x + cols > this.cols || y + rows > this.rows) {
+			throw new LinearAlgebraException("The view is not inside the matrix.");
+		}
+		return new DenseMatrix2D(data, index(x, y), rows, cols, rowStride, colStride);
+	}
+	
+	/**
+	 * Transpose this matrix by changing the dimensions and strides. The entries are not moved, so this is done in constant time.
+	 */
+	@Override
+	protected void transposeInPlace() {
+		int tmp = rows;
+		rows = cols;
+		cols = tmp;
+		tmp = rowStride;
+		rowStride = colStride;
+		colStride = tmp;
+	}
+	
+	@Override
+	public int[] getDimensions() {
+		return new int[] {rows, cols};
+	}
+	
+	@Override
+	protected void swapRows(int i, int j) {
+		int rowI = index(0, i);
+		int rowJ = index(0, j);
+		double tmp;
+		for (int k = 0; k < cols; k++) {
+			tmp = data[rowI];
+			data[rowI] = data[rowJ];
+			data[rowJ] = tmp;
+			rowI += colStride;
+			rowJ += colStride;
+		}
+	}
+	@Override
+	protected void swapColumns(int i, int j) {
+		int colI = index(i, 0);
+		int colJ = index(j, 0);
+		double tmp;
+		for (int k = 0; k < rows; k++) {
+			tmp = data[colI];
+			data[colI] = data[colJ];
+			data[colJ] = tmp;
+			colI += rowStride;
+			colJ += rowStride;
+		}
+	}
+	
+	/**
+	 * Calculate some columns of the product of this matrix and another matrix. If both matrices (and the result) are DenseMatrix2Ds the
+	 * multiplication is done in blocks and in the order that fits the layout of this matrix (walking along the rows for row-major and along the
+	 * columns for column-major matrices).
+	 */
+	@Override
+	protected void multColumns(Matrix2D matrix, Matrix2D result, int from, int to) {
+		if (!(matrix instanceof DenseMatrix2D) || !(result instanceof DenseMatrix2D)) {
+			super.multColumns(matrix, result, from, to);
+			return;
+		}
+		DenseMatrix2D other = (DenseMatrix2D) matrix;
+		DenseMatrix2D res = (DenseMatrix2D) result;
+		//the blocks are copied to (packed) arrays, so the inner loops use the same index for all arrays (which lets the JIT compiler vectorize them)
+		double[][] packed = new double[BLOCK_SIZE][BLOCK_SIZE];
+		double[] sums = new double[BLOCK_SIZE];
+		int n = cols;
+		if (getLayout() == Layout.ROW_MAJOR) {
+			//use a block of the other matrix for all rows of this matrix; the inner loop walks along the rows of the other matrix and the result
+			for (int kk = 0; kk < n; kk += BLOCK_SIZE) {
+				int depth = Math.min(BLOCK_SIZE, n - kk);
+				for (int jj = from; jj < to; jj += BLOCK_SIZE) {
+					int width = Math.min(BLOCK_SIZE, to - jj);
+					for (int k = 0; k < depth; k++) {
+						other.copyRow(kk + k, jj, width, packed[k]);
+					}
+					for (int i = 0; i < rows; i++) {
+						Arrays.fill(sums, 0, width, 0d);
+						int index = offset + i * rowStride + kk * colStride;
+						for (int k = 0; k < depth; k++) {
+							double factor = data[index];
+							double[] otherRow = packed[k];
+							for (int j = 0; j < width; j++) {
+								sums[j] += factor * otherRow[j];
+							}
+							index += colStride;
+						}
+						res.addToRow(i, jj, width, sums);
+					}
+				}
+			}
+		}
+		else {
+			//use a block of this matrix for all columns of the result; the inner loop walks along the columns of this matrix and the result
+			for (int kk = 0; kk < n; kk += BLOCK_SIZE) {
+				int depth = Math.min(BLOCK_SIZE, n - kk);
+				for (int ii = 0; ii < rows; ii += BLOCK_SIZE) {
+					int height = Math.min(BLOCK_SIZE, rows - ii);
+					for (int k = 0; k < depth; k++) {
+						copyColumn(kk + k, ii, height, packed[k]);
+					}
+					for (int j = from; j < to; j++) {
+						Arrays.fill(sums, 0, height, 0d);
+						int index = other.offset + kk * other.rowStride + j * other.colStride;
+						for (int k = 0; k < depth; k++) {
+							double factor = other.data[index];
+							double[] col = packed[k];
+							for (int i = 0; i < height; i++) {
+								sums[i] += col[i] * factor;
+							}
+							index += other.rowStride;
+						}
+						res.addToColumn(j, ii, height, sums);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Copy a part of a row (y) of this matrix, starting at the column (x), to an array.
+	 */
+	private void copyRow(int y, int x, int length, double[] dest) {
+		int index = offset + y * rowStride + x * colStride;
+		for (int i = 0; i < length; i++) {
+			dest[i] = data[index];
+			index += colStride;
+		}
+	}
+	/**
+	 * Copy a part of a column (x) of this matrix, starting at the row (y), to an array.
+	 */
+	private void copyColumn(int x, int y, int length, double[] dest) {
+		int index = offset + y * rowStride + x * colStride;
+		for (int i = 0; i < length; i++) {
+			dest[i] = data[index];
+			index += rowStride;
+		}
+	}
+	/**
+	 * Add the values of an array to a part of a row (y) of this matrix, starting at the column (x).
+	 */
+	private void addToRow(int y, int x, int length, double[] values) {
+		int index = offset + y * rowStride + x * colStride;
+		for (int i = 0; i < length; i++) {
+			data[index] += values[i];
+			index += colStride;
+		}
+	}
+	/**
+	 * Add the values of an array to a part of a column (x) of this matrix, starting at the row (y).
+	 */
+	private void addToColumn(int x, int y, int length, double[] values) {
+		int index = offset + y * rowStride + x * colStride;
+		for (int i = 0; i < length; i++) {
+			data[index] += values[i];
+			index += rowStride;
+		}
+	}
+	
+	@Override
+	public double[] mult(double[] vector) throws LinearAlgebraException {
+		if (vector.length != cols) {
+			throw new LinearAlgebraException("The vector can't be multiplied. It's length (" + vector.length
+					+ ") must be the number of columns of the matrix (" + cols + ").");
+		}
+		double[] result = new double[rows];
+		if (getLayout() == Layout.ROW_MAJOR) {
+			//a scalar product for every row (using four sums, so the additions don't have to wait for each other)
+			int last = cols - cols % 4;
+			for (int i = 0; i < rows; i++) {
+				int index = offset + i * rowStride;
+				double sum0 = 0;
+				double sum1 = 0;
+				double sum2 = 0;
+				double sum3 = 0;
+				int k = 0;
+				for (; k < last; k += 4) {
+					sum0 += data[index] * vector[k];
+					sum1 += data[index + colStride] * vector[k + 1];
+					sum2 += data[index + 2 * colStride] * vector[k + 2];
+					sum3 += data[index + 3 * colStride] * vector[k + 3];
+					index += 4 * colStride;
+				}
+				for (; k < cols; k++) {
+					sum0 += data[index] * vector[k];
+					index += colStride;
+				}
+				result[i] = (sum0 + sum1) + (sum2 + sum3);
+			}
+		}
+		else {
+			//add up the columns (multiplied by the vector entries)
+			for (int k = 0; k < cols; k++) {
+				int index = offset + k * colStride;
+				double factor = vector[k];
+				for (int i = 0; i < rows; i++) {
+					result[i] += data[index] * factor;
+					index += rowStride;
+				}
+			}
+		}
+		return result;
+	}
+	
+	@Override
+	protected Matrix2D newMatrix(int dimensionX, int dimensionY) {
+		return new DenseMatrix2D(dimensionX, dimensionY, getLayout());
+	}
+	
+	/**
+	 * The layout in which the entries are stored (a view that is neither row- nor column-major is handled as row-major).
+	 */
+	public Layout getLayout() {
+		if (rowStride == 1 && colStride != 1) {
+			return Layout.COLUMN_MAJOR;
+		}
+		return Layout.ROW_MAJOR;
+	}
+	
+	/**
+	 * The array that holds the entries of this matrix (not copied).
+	 */
+	public double[] getData() {
+		return data;
+	}
+	public int getOffset() {
+		return offset;
+	}
+	public int getRowStride() {
+		return rowStride;
+	}
+	public int getColStride() {
+		return colStride;
+	}
+}
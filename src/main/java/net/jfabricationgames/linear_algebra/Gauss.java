@@ -102,11 +102,7 @@ public class Gauss {
 	 */
 	private static void swap(Matrix2D m, double[] b, int i, int j) {
 		double tmp;
-		for (int k = 0; k < m.entries.length; k++) {
-			tmp = m.entries[k][i];
-			m.entries[k][i] = m.entries[k][j];
-			m.entries[k][j] = tmp;
-		}
+		m.swapRows(i, j);
 		tmp = b[i];
 		b[i] = b[j];
 		b[j] = tmp;
@@ -114,9 +110,7 @@ public class Gauss {
 	
 	private static void swapCols(Matrix2D m, double[] b, int i, int j) {
 		//swap the cols
-		double[] tmpLine = m.entries[i];
-		m.entries[i] = m.entries[j];
-		m.entries[j] = tmpLine;
+		m.swapColumns(i, j);
 		//also swap the b-vector entries to keep the system correct
 		double tmp = b[i];
 		b[i] = b[j];
@@ -335,7 +329,7 @@ public class Gauss {
 			swapCols(m, b, dimensions[1]-1, dimensions[1]-2);
 			swapCols = true;
 		}
-		Matrix2D altM = new Matrix2D(newDimension[1], newDimension[0]);
+		Matrix2D altM = m.newMatrix(newDimension[1], newDimension[0]);
 		double[] altB = new double[newDimension[1]];
 		//copy some of the entries of m to altM and from b to altB
 		for (int i = 0; i < newDimension[1]; i++) {
@@ -1,7 +1,20 @@
 package net.jfabricationgames.linear_algebra;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 public class Matrix2D {
 	
+	/**
+	 * The size of the blocks in which the matrices are multiplied (a block of 64 * 64 entries has 32 KB, so it fits into the L1 or L2 cache).
+	 */
+	protected static final int BLOCK_SIZE = 64;
+	/**
+	 * The minimum number of multiplications (of single entries) for a parallel matrix multiplication to be used. Smaller matrices are multiplied
+	 * sequentially because the overhead of the parallelization would be higher than the gain.
+	 */
+	public static final long PARALLEL_THRESHOLD = 100L * 100 * 100;
+	
 	protected double[][] entries;
 	
 	public enum Orientation {
@@ -9,6 +22,12 @@ public class Matrix2D {
 		COL;
 	}
 	
+	/**
+	 * Constructor for subclasses that store the entries in another way (see {@link DenseMatrix2D}).
+	 */
+	protected Matrix2D() {
+		
+	}
 	public Matrix2D(Orientation orientation, double[]... entries) {
 		this(entries);
 		if (orientation == Orientation.ROW) {
@@ -73,11 +92,13 @@ public class Matrix2D {
 	public boolean equals(Object obj) {
 		if (obj instanceof Matrix2D) {
 			Matrix2D m = (Matrix2D) obj;
-			if (entries.length == m.entries.length && entries[0].length == m.entries[0].length) {
+			int[] dimensions = getDimensions();
+			int[] otherDimensions = m.getDimensions();
+			if (dimensions[0] == otherDimensions[0] && dimensions[1] == otherDimensions[1]) {
 				boolean equal = true;
-				for (int i = 0; i < entries.length; i++) {
-					for (int j = 0; j < entries[0].length; j++) {
-						equal &= Math.abs(entries[i][j] - m.entries[i][j]) < 1e-8; 
+				for (int i = 0; i < dimensions[1]; i++) {
+					for (int j = 0; j < dimensions[0]; j++) {
+						equal &= Math.abs(at(i, j) - m.at(i, j)) < 1e-8; 
 					}
 				}
 				return equal;				
@@ -89,11 +110,12 @@ public class Matrix2D {
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
-		sb.append("Matrix2D: ");
-		for (int i = 0; i < entries[0].length; i++) {
+		sb.append(getClass().getSimpleName()).append(": ");
+		int[] dimensions = getDimensions();
+		for (int i = 0; i < dimensions[0]; i++) {
 			sb.append('[');
-			for (int j = 0; j < entries.length; j++) {
-				sb.append(String.format(" %.5f ", entries[j][i]));
+			for (int j = 0; j < dimensions[1]; j++) {
+				sb.append(String.format(" %.5f ", at(j, i)));
 			}
 			sb.append("]\n          ");
 		}
@@ -146,15 +168,21 @@ public class Matrix2D {
 	 * 		The matrix that is transposed.
 	 */
 	public static void transpose(Matrix2D matrix) {
-		int[] dimensions = matrix.getDimensions();
+		matrix.transposeInPlace();
+	}
+	/**
+	 * Transpose this matrix (used by {@link #transpose(Matrix2D)}; can be overwritten by subclasses that store the entries in another way).
+	 */
+	protected void transposeInPlace() {
+		int[] dimensions = getDimensions();
 		if (dimensions[0] == dimensions[1]) {
 			//the matrix is quadratic
 			double tmp;
 			for (int i = 0; i < dimensions[0]-1; i++) {
 				for (int j = i+1; j < dimensions[0]; j++) {
-					tmp = matrix.at(j, i);
-					matrix.set(j, i, matrix.at(i, j));
-					matrix.set(i, j, tmp);
+					tmp = at(j, i);
+					set(j, i, at(i, j));
+					set(i, j, tmp);
 				}
 			}
 		}
@@ -163,10 +191,10 @@ public class Matrix2D {
 			double[][] entries = new double[dimensions[0]][dimensions[1]];//change x and y dimension
 			for (int i = 0; i < dimensions[0]; i++) {
 				for (int j = 0; j < dimensions[1]; j++) {
-					entries[i][j] = matrix.at(j, i);
+					entries[i][j] = at(j, i);
 				}
 			}
-			matrix.entries = entries;
+			this.entries = entries;
 		}
 	}
 	
@@ -182,6 +210,139 @@ public class Matrix2D {
 		return t;
 	}
 	
+	/**
+	 * Multiply this matrix with another matrix (this * matrix). The matrices are not changed.
+	 * 
+	 * @param matrix
+	 * 		The matrix that is multiplied (from the right side).
+	 * 
+	 * @return
+	 * 		The result matrix (that has the rows of this matrix and the columns of the other matrix).
+	 * 
+	 * @throws LinearAlgebraException
+	 * 		A {@link LinearAlgebraException} is thrown if the number of columns of this matrix is not the number of rows of the other matrix.
+	 */
+	public Matrix2D mult(Matrix2D matrix) throws LinearAlgebraException {
+		return mult(matrix, false);
+	}
+	/**
+	 * Multiply this matrix with another matrix (this * matrix). The matrices are not changed.
+	 * 
+	 * @param matrix
+	 * 		The matrix that is multiplied (from the right side).
+	 * 
+	 * @param parallel
+	 * 		Calculate the columns of the result in parallel (in the common fork-join pool). Only used if the matrices are big enough (see
+	 * 		{@link #PARALLEL_THRESHOLD}).
+	 * 
+	 * @return
+	 * 		The result matrix (that has the rows of this matrix and the columns of the other matrix).
+	 * 
+	 * @throws LinearAlgebraException
+	 * 		A {@link LinearAlgebraException} is thrown if the number of columns of this matrix is not the number of rows of the other matrix.
+	 */
+	public Matrix2D mult(Matrix2D matrix, boolean parallel) throws LinearAlgebraException {
+		int[] dimensions = getDimensions();
+		int[] otherDimensions = matrix.getDimensions();
+		if (dimensions[1] != otherDimensions[0]) {
+			throw new LinearAlgebraException("The matrices can't be multiplied. The number of columns (" + dimensions[1]
+					+ ") must be the number of rows of the other matrix (" + otherDimensions[0] + ").");
+		}
+		Matrix2D result = newMatrix(dimensions[0], otherDimensions[1]);
+		if (parallel && (long) dimensions[0] * dimensions[1] * otherDimensions[1] >= PARALLEL_THRESHOLD) {
+			ForkJoinPool.commonPool().invoke(new MultiplicationTask(this, matrix, result, 0, otherDimensions[1]));
+		}
+		else {
+			multColumns(matrix, result, 0, otherDimensions[1]);
+		}
+		return result;
+	}
+	
+	/**
+	 * Calculate some columns of the product of this matrix and another matrix. The result matrix has to be filled with zeros in these columns.
+	 * 
+	 * Subclasses can overwrite this method to multiply in the order that fits best to the way they store the entries.
+	 * 
+	 * @param matrix
+	 * 		The matrix that is multiplied (from the right side).
+	 * 
+	 * @param result
+	 * 		The matrix that stores the result.
+	 * 
+	 * @param from
+	 * 		The first column of the result that is calculated.
+	 * 
+	 * @param to
+	 * 		The column after the last column of the result that is calculated.
+	 */
+	protected void multColumns(Matrix2D matrix, Matrix2D result, int from, int to) {
+		int[] dimensions = getDimensions();
+		int rows = dimensions[0];
+		int n = dimensions[1];
+		if (entries != null && matrix.entries != null && result.entries != null) {
+			//the entries are stored in columns: use blocks of columns of this matrix and walk down the columns in the inner loop
+			for (int kk = 0; kk < n; kk += BLOCK_SIZE) {
+				int kMax = Math.min(kk + BLOCK_SIZE, n);
+				for (int ii = 0; ii < rows; ii += BLOCK_SIZE) {
+					int iMax = Math.min(ii + BLOCK_SIZE, rows);
+					for (int j = from; j < to; j++) {
+						double[] resultCol = result.entries[j];
+						double[] otherCol = matrix.entries[j];
+						for (int k = kk; k < kMax; k++) {
+							double[] col = entries[k];
+							double factor = otherCol[k];
+							for (int i = ii; i < iMax; i++) {
+								resultCol[i] += col[i] * factor;
+							}
+						}
+					}
+				}
+			}
+		}
+		else {
+			//the matrices are stored in different ways: use the at and set methods
+			for (int j = from; j < to; j++) {
+				for (int i = 0; i < rows; i++) {
+					double sum = 0;
+					for (int k = 0; k < n; k++) {
+						sum += at(k, i) * matrix.at(j, k);
+					}
+					result.set(j, i, sum);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Multiply this matrix with a vector (this * vector). The matrix and the vector are not changed.
+	 * 
+	 * @param vector
+	 * 		The vector (as array) that is multiplied.
+	 * 
+	 * @return
+	 * 		The result vector (that has the length of the number of rows of this matrix).
+	 * 
+	 * @throws LinearAlgebraException
+	 * 		A {@link LinearAlgebraException} is thrown if the length of the vector is not the number of columns of this matrix.
+	 */
+	public double[] mult(double[] vector) throws LinearAlgebraException {
+		int[] dimensions = getDimensions();
+		if (vector.length != dimensions[1]) {
+			throw new LinearAlgebraException("The vector can't be multiplied. It's length (" + vector.length
+					+ ") must be the number of columns of the matrix (" + dimensions[1] + ").");
+		}
+		double[] result = new double[dimensions[0]];
+		//add up the columns (multiplied by the vector entries), so the column arrays are used in the order they are stored
+		for (int k = 0; k < entries.length; k++) {
+			double[] col = entries[k];
+			double factor = vector[k];
+			for (int i = 0; i < result.length; i++) {
+				result[i] += col[i] * factor;
+			}
+		}
+		return result;
+	}
+	
 	/**
 	 * Generate a unit matrix of size dimension.
 	 * 
@@ -208,4 +369,65 @@ public class Matrix2D {
 	public int[] getDimensions() {
 		return new int[] {entries[0].length, entries.length};
 	}
+	
+	/**
+	 * Create a new (empty) matrix of the same type as this matrix (used by {@link Gauss} to create the alternative systems).
+	 */
+	protected Matrix2D newMatrix(int dimensionX, int dimensionY) throws LinearAlgebraException {
+		return new Matrix2D(dimensionX, dimensionY);
+	}
+	
+	/**
+	 * Swap two lines (y dimension) of this matrix.
+	 */
+	protected void swapRows(int i, int j) {
+		double tmp;
+		for (int k = 0; k < entries.length; k++) {
+			tmp = entries[k][i];
+			entries[k][i] = entries[k][j];
+			entries[k][j] = tmp;
+		}
+	}
+	/**
+	 * Swap two columns (x dimension) of this matrix.
+	 */
+	protected void swapColumns(int i, int j) {
+		double[] tmpLine = entries[i];
+		entries[i] = entries[j];
+		entries[j] = tmpLine;
+	}
+	
+	/**
+	 * Calculates the columns of a matrix product in parallel by splitting the range of columns until the parts are small enough.
+	 */
+	private static class MultiplicationTask extends RecursiveAction {
+		
+		private static final long serialVersionUID = 7367418413451520693L;
+		
+		private final Matrix2D matrix;
+		private final Matrix2D other;
+		private final Matrix2D result;
+		private final int from;
+		private final int to;
+		
+		public MultiplicationTask(Matrix2D matrix, Matrix2D other, Matrix2D result, int from, int to) {
+			this.matrix = matrix;
+			this.other = other;
+			this.result = result;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute() {
+			int[] dimensions = matrix.getDimensions();
+			if (to - from <= BLOCK_SIZE / 4 || (long) dimensions[0] * dimensions[1] * (to - from) < PARALLEL_THRESHOLD / 4) {
+				matrix.multColumns(other, result, from, to);
+			}
+			else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new MultiplicationTask(matrix, other, result, from, middle), new MultiplicationTask(matrix, other, result, middle, to));
+			}
+		}
+	}
 }
\ No newline at end of file
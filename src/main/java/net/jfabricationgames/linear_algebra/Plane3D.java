@@ -1,6 +1,6 @@
 package net.jfabricationgames.linear_algebra;
 
-import net.jfabricationgames.linear_algebra.Gauss.GaussCalculationException;
+import java.util.List;
 
 public class Plane3D {
 	
@@ -8,13 +8,75 @@ public class Plane3D {
 	protected Vector3D direction1;
 	protected Vector3D direction2;
 	
-	public Plane3D(Vector3D start, Vector3D direction1, Vector3D direction2) {
+	//the plane in normal form (normal * x = offset), calculated once in the constructor
+	protected final double normalX;
+	protected final double normalY;
+	protected final double normalZ;
+	protected final double offset;
+	//the normal form with a unit normal vector (so normal * x - offset is the signed distance of a point x)
+	protected final double unitNormalX;
+	protected final double unitNormalY;
+	protected final double unitNormalZ;
+	protected final double unitOffset;
+	//the squared length of the normal vector (used for the tolerance of the intersection tests)
+	protected final double normalLengthSquared;
+	//whether the directions are (almost) linearly dependent, so they don't span a plane
+	protected final boolean degenerate;
+	
+	/**
+	 * Note that the plane's normal vector is calculated from the vectors when the plane is created, so the vectors must not be changed afterwards.
+	 * 
+	 * If the direction vectors are (almost) linearly dependent the plane is degenerate (see {@link #isDegenerate()}).
+	 * 
+	 * @throws LinearAlgebraException
+	 *         A {@link LinearAlgebraException} is thrown if one of the direction vectors is a null-vector.
+	 */
+	public Plane3D(Vector3D start, Vector3D direction1, Vector3D direction2) throws LinearAlgebraException {
+		this(start, direction1, direction2, false);
+	}
+	
+	/**
+	 * Create a plane that may also have null-vectors as directions (e.g. the edges of a triangle with two equal vertices), which makes the plane
+	 * degenerate.
+	 */
+	protected Plane3D(Vector3D start, Vector3D direction1, Vector3D direction2, boolean nullDirectionsAllowed) throws LinearAlgebraException {
 		this.start = start;
 		this.direction1 = direction1;
 		this.direction2 = direction2;
-		if (direction1.equals(Vector3D.NULL_VEC) || direction2.equals(Vector3D.NULL_VEC)) {
+		if (!nullDirectionsAllowed && (direction1.equals(Vector3D.NULL_VEC) || direction2.equals(Vector3D.NULL_VEC))) {
 			throw new LinearAlgebraException("A Plane's direction vector can't be a null-vector.");
 		}
+		normalX = direction1.y * direction2.z - direction1.z * direction2.y;
+		normalY = direction1.z * direction2.x - direction1.x * direction2.z;
+		normalZ = direction1.x * direction2.y - direction1.y * direction2.x;
+		offset = normalX * start.x + normalY * start.y + normalZ * start.z;
+		normalLengthSquared = normalX * normalX + normalY * normalY + normalZ * normalZ;
+		
+		//the unit normal vector is calculated from the directions scaled by their largest components, so the lengths can't overflow or underflow
+		double max1 = direction1.maxAbsComponent();
+		double max2 = direction2.maxAbsComponent();
+		double scale1 = max1 == 0 ? 1 : 1 / max1;
+		double scale2 = max2 == 0 ? 1 : 1 / max2;
+		double d1X = direction1.x * scale1;
+		double d1Y = direction1.y * scale1;
+		double d1Z = direction1.z * scale1;
+		double d2X = direction2.x * scale2;
+		double d2Y = direction2.y * scale2;
+		double d2Z = direction2.z * scale2;
+		double scaledNormalX = d1Y * d2Z - d1Z * d2Y;
+		double scaledNormalY = d1Z * d2X - d1X * d2Z;
+		double scaledNormalZ = d1X * d2Y - d1Y * d2X;
+		//the normal vector is (almost) a null-vector if the directions are linearly dependent (relative to the lengths of the vectors)
+		double scaledNormalLengthSquared = scaledNormalX * scaledNormalX + scaledNormalY * scaledNormalY + scaledNormalZ * scaledNormalZ;
+		double directionLengthsSquared = (d1X * d1X + d1Y * d1Y + d1Z * d1Z) * (d2X * d2X + d2Y * d2Y + d2Z * d2Z);
+		degenerate = scaledNormalLengthSquared <= Vector3D.LINEAR_DEPENDENCE_TOLERANCE * Vector3D.LINEAR_DEPENDENCE_TOLERANCE
+				* directionLengthsSquared;
+		//a degenerate plane has no normal vector, so the distances are NaN
+		double normalLength = degenerate ? Double.NaN : Math.sqrt(scaledNormalLengthSquared);
+		unitNormalX = scaledNormalX / normalLength;
+		unitNormalY = scaledNormalY / normalLength;
+		unitNormalZ = scaledNormalZ / normalLength;
+		unitOffset = unitNormalX * start.x + unitNormalY * start.y + unitNormalZ * start.z;
 	}
 	
 	/**
@@ -31,9 +93,9 @@ public class Plane3D {
 	 *         fails for some reason.
 	 */
 	public Vector3D getIntersectionPoint(Line3D line) throws LinearAlgebraException {
-		//check whether the line is parallel to the plane
-		if (Vector3D.isLinearlyDependentVectors(line.direction, direction1, direction2)) {
-			if (isOnPlane(line.start)) {
+		double t = getIntersectionParameter(line.start.x, line.start.y, line.start.z, line.direction.x, line.direction.y, line.direction.z);
+		if (Double.isNaN(t)) {
+			if (!degenerate && isOnPlane(line.start)) {
 				//line is in the plane
 				throw new LinearAlgebraException("The line is in the plane.");
 			}
@@ -42,17 +104,80 @@ public class Plane3D {
 				return null;
 			}
 		}
-		//solve a gauss system to find the cross-point
-		Matrix2D m = new Matrix2D(Matrix2D.Orientation.COL, direction1, direction2, line.direction.mult(-1));
-		double[] b = line.start.sub(start).asArray();
-		try {
-			Gauss gauss = Gauss.calculateGauss(m, b);
-			Vector3D solution = new Vector3D(gauss.getXVec());
-			return line.start.add(line.direction.mult(solution.z));
+		return new Vector3D(line.start.x + t * line.direction.x, line.start.y + t * line.direction.y, line.start.z + t * line.direction.z);
+	}
+	
+	/**
+	 * Calculate the parameter t of the intersection point (start + t * direction) of a line with this plane, using the normal form of the plane:
+	 * t = (offset - normal * start) / (normal * direction).
+	 * 
+	 * @return The parameter t or NaN if the line is parallel to the plane (or lies in the plane) or the plane is degenerate.
+	 */
+	private double getIntersectionParameter(double startX, double startY, double startZ, double directionX, double directionY,
+			double directionZ) {
+		if (degenerate) {
+			return Double.NaN;
 		}
-		catch (GaussCalculationException gce) {
-			throw new LinearAlgebraException("The cross-point could not be calculated.", gce);
+		double denominator = normalX * directionX + normalY * directionY + normalZ * directionZ;
+		//the line is parallel if the direction is (almost) orthogonal to the normal vector (relative to the lengths of the vectors)
+		double squaredLengths = normalLengthSquared * (directionX * directionX + directionY * directionY + directionZ * directionZ);
+		if (denominator * denominator <= Vector3D.LINEAR_DEPENDENCE_TOLERANCE * Vector3D.LINEAR_DEPENDENCE_TOLERANCE * squaredLengths) {
+			return Double.NaN;
 		}
+		return (offset - (normalX * startX + normalY * startY + normalZ * startZ)) / denominator;
+	}
+	
+	/**
+	 * Calculate the parameters t of the intersection points (start + t * direction) of many lines with this plane at once. No objects are created.
+	 * 
+	 * @param starts
+	 *        The start points of the lines.
+	 * 
+	 * @param directions
+	 *        The directions of the lines (must have the same size as the start points).
+	 * 
+	 * @param dest
+	 *        An array that holds the parameters (if it's null or too small a new array is created).
+	 * 
+	 * @return The array of parameters (the parameter of the line i is at index i). The parameter is NaN if the line is parallel to the plane or
+	 *         lies in the plane.
+	 * 
+	 * @throws LinearAlgebraException
+	 *         A {@link LinearAlgebraException} is thrown if the buffers have different sizes.
+	 */
+	public double[] getIntersectionParameters(Vector3DBuffer starts, Vector3DBuffer directions, double[] dest) throws LinearAlgebraException {
+		if (starts.size != directions.size) {
+			throw new LinearAlgebraException("The buffers must have the same size (" + starts.size + " != " + directions.size + ").");
+		}
+		if (dest == null || dest.length < starts.size) {
+			dest = new double[starts.size];
+		}
+		for (int i = 0; i < starts.size; i++) {
+			dest[i] = getIntersectionParameter(starts.xs[i], starts.ys[i], starts.zs[i], directions.xs[i], directions.ys[i], directions.zs[i]);
+		}
+		return dest;
+	}
+	/**
+	 * Calculate the parameters t of the intersection points (start + t * direction) of many lines with this plane at once.
+	 * 
+	 * @param lines
+	 *        The lines that may intersect this plane.
+	 * 
+	 * @param dest
+	 *        An array that holds the parameters (if it's null or too small a new array is created).
+	 * 
+	 * @return The array of parameters (the parameter of the line i is at index i). The parameter is NaN if the line is parallel to the plane or
+	 *         lies in the plane.
+	 */
+	public double[] getIntersectionParameters(List<? extends Line3D> lines, double[] dest) {
+		if (dest == null || dest.length < lines.size()) {
+			dest = new double[lines.size()];
+		}
+		int i = 0;
+		for (Line3D line : lines) {
+			dest[i++] = getIntersectionParameter(line.start.x, line.start.y, line.start.z, line.direction.x, line.direction.y, line.direction.z);
+		}
+		return dest;
 	}
 	
 	/**
@@ -70,14 +195,20 @@ public class Plane3D {
 	 *         fails for some reason.
 	 */
 	public Vector3D getIntersectionPointLineSegment(LineSegment3D line) throws LinearAlgebraException {
-		Vector3D intersectionPoint = getIntersectionPoint(line);
-		
-		if (intersectionPoint != null && line.isPointOnLine(intersectionPoint)) {
-			return intersectionPoint;
+		double t = getIntersectionParameter(line.start.x, line.start.y, line.start.z, line.direction.x, line.direction.y, line.direction.z);
+		if (Double.isNaN(t)) {
+			if (!degenerate && isOnPlane(line.start)) {
+				//line is in the plane
+				throw new LinearAlgebraException("The line is in the plane.");
+			}
+			//the line is parallel to the plane
+			return null;
 		}
-		else {
+		//the intersection point is only on the line segment if it's between start and start + direction
+		if (t < 0 || t > 1) {
 			return null;
 		}
+		return new Vector3D(line.start.x + t * line.direction.x, line.start.y + t * line.direction.y, line.start.z + t * line.direction.z);
 	}
 	
 	/**
@@ -89,12 +220,68 @@ public class Plane3D {
 	 * @return The distance to the point.
 	 */
 	public double getDistance(Vector3D point) {
-		//create a line from the point with the normal vector as direction
-		Line3D line = new Line3D(point, getNormalVector());
-		//calculate the cross-point of the line and this plane (there must be one)
-		Vector3D intersection = getIntersectionPoint(line);
-		//the distance is the distance between the intersection point and the point
-		return point.distance(intersection);
+		return Math.abs(getSignedDistance(point));
+	}
+	
+	/**
+	 * Calculate the signed distance from this plane to a point. The distance is positive if the point is on the side of the plane the normal vector
+	 * points to (see {@link #getNormalVector()}) and negative if it's on the other side.
+	 * 
+	 * @param point
+	 *        The point to which the distance is calculated.
+	 * 
+	 * @return The signed distance to the point.
+	 */
+	public double getSignedDistance(Vector3D point) {
+		return unitNormalX * point.x + unitNormalY * point.y + unitNormalZ * point.z - unitOffset;
+	}
+	
+	/**
+	 * Calculate the signed distances (like {@link #getSignedDistance(Vector3D)}) from this plane to many points at once. No objects are created.
+	 * 
+	 * @param points
+	 *        The coordinates of the points in the order x0, y0, z0, x1, y1, z1, ... (so the length must be a multiple of 3).
+	 * 
+	 * @param dest
+	 *        An array that holds the distances (if it's null or too small a new array is created).
+	 * 
+	 * @return The array of signed distances (the distance of the point i is at index i).
+	 * 
+	 * @throws LinearAlgebraException
+	 *         A {@link LinearAlgebraException} is thrown if the length of the points array is not a multiple of 3.
+	 */
+	public double[] getSignedDistances(double[] points, double[] dest) throws LinearAlgebraException {
+		if (points.length % 3 != 0) {
+			throw new LinearAlgebraException("The length of the points array must be a multiple of 3 (but was " + points.length + ").");
+		}
+		int size = points.length / 3;
+		if (dest == null || dest.length < size) {
+			dest = new double[size];
+		}
+		for (int i = 0; i < size; i++) {
+			dest[i] = unitNormalX * points[3 * i] + unitNormalY * points[3 * i + 1] + unitNormalZ * points[3 * i + 2] - unitOffset;
+		}
+		return dest;
+	}
+	/**
+	 * Calculate the signed distances (like {@link #getSignedDistance(Vector3D)}) from this plane to all points of a buffer. No objects are created.
+	 * 
+	 * @param points
+	 *        The points to which the distances are calculated.
+	 * 
+	 * @param dest
+	 *        An array that holds the distances (if it's null or too small a new array is created).
+	 * 
+	 * @return The array of signed distances (the distance of the point i is at index i).
+	 */
+	public double[] getSignedDistances(Vector3DBuffer points, double[] dest) {
+		if (dest == null || dest.length < points.size) {
+			dest = new double[points.size];
+		}
+		for (int i = 0; i < points.size; i++) {
+			dest[i] = unitNormalX * points.xs[i] + unitNormalY * points.ys[i] + unitNormalZ * points.zs[i] - unitOffset;
+		}
+		return dest;
 	}
 	
 	/**
@@ -201,6 +388,14 @@ public class Plane3D {
 	 * @return The normal vector.
 	 */
 	public Vector3D getNormalVector() {
-		return direction1.cross(direction2);
+		return new Vector3D(normalX, normalY, normalZ);
+	}
+	
+	/**
+	 * Whether the direction vectors are (almost) linearly dependent (or a null-vector), so they don't span a plane. A degenerate plane has no
+	 * intersection points (all intersection parameters are NaN) and the distances to points are NaN.
+	 */
+	public boolean isDegenerate() {
+		return degenerate;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package net.jfabricationgames.linear_algebra;
+
+import java.util.Collection;
+
+/**
+ * A rotation around the origin by a fixed angle.
+ * 
+ * The sine and cosine of the angle are calculated only once, so rotating many vectors by the same angle costs only some multiplications and
+ * additions per vector (instead of the trigonometric functions that are needed by {@link Vector2D#rotate(double)}).
+ */
+public class Rotation2D {
+	
+	protected final double sin;
+	protected final double cos;
+	
+	/**
+	 * Create a rotation by an angle (in degrees).
+	 * 
+	 * @param degrees
+	 * 		The angle of the rotation (counterclockwise like in {@link Vector2D#rotate(double)}).
+	 */
+	public Rotation2D(double degrees) {
+		this(Math.sin(degrees * Math.PI / 180), Math.cos(degrees * Math.PI / 180));
+	}
+	private Rotation2D(double sin, double cos) {
+		this.sin = sin;
+		this.cos = cos;
+	}
+	
+	/**
+	 * Create a rotation by an angle (as radiant).
+	 */
+	public static Rotation2D fromRadians(double radians) {
+		return new Rotation2D(Math.sin(radians), Math.cos(radians));
+	}
+	/**
+	 * Create a rotation from the (precomputed) sine and cosine of the angle.
+	 */
+	public static Rotation2D fromSinCos(double sin, double cos) {
+		return new Rotation2D(sin, cos);
+	}
+	
+	@Override
+	public String toString() {
+		return "Rotation2D[degrees: " + getDegrees() + "]";
+	}
+	
+	/**
+	 * Get the rotation in the opposite direction.
+	 */
+	public Rotation2D inverse() {
+		return new Rotation2D(-sin, cos);
+	}
+	
+	/**
+	 * Rotate a vector resulting in a new Vector that is returned.
+	 */
+	public Vector2D rotate(Vector2D vec) {
+		return vec.rotate(this);
+	}
+	/**
+	 * Rotate a vector and store the result in a destination vector (without creating a new Vector).
+	 * 
+	 * @return
+	 * 		The destination vector.
+	 */
+	public Vector2D rotate(Vector2D vec, Vector2D dest) {
+		return vec.rotate(this, dest);
+	}
+	
+	/**
+	 * Rotate all vectors of a collection. The vectors are changed.
+	 * 
+	 * @param vectors
+	 * 		The vectors that are rotated.
+	 */
+	public void rotateAll(Collection<Vector2D> vectors) {
+		for (Vector2D vec : vectors) {
+			vec.rotate(this, vec);
+		}
+	}
+	/**
+	 * Rotate all points of a buffer. The buffer is changed.
+	 * 
+	 * @param buffer
+	 * 		The buffer that is rotated.
+	 * 
+	 * @return
+	 * 		The rotated buffer.
+	 */
+	public Vector2DBuffer rotateAll(Vector2DBuffer buffer) {
+		return buffer.rotate(this);
+	}
+	
+	/**
+	 * Get the angle of this rotation (in degree, from -180° to 180°).
+	 */
+	public double getDegrees() {
+		return Math.atan2(sin, cos) * 180 / Math.PI;
+	}
+	
+	public double getSin() {
+		return sin;
+	}
+	public double getCos() {
+		return cos;
+	}
+}
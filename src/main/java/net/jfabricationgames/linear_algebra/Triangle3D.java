@@ -1,20 +1,51 @@
 package net.jfabricationgames.linear_algebra;
 
+import java.util.List;
+
 public class Triangle3D extends Plane3D {
 	
 	private Vector3D[] vertices;
 	
+	//the first vertex and the edges to the other vertices, calculated once for the intersection tests
+	protected final double vertexX;
+	protected final double vertexY;
+	protected final double vertexZ;
+	protected final double edge1X;
+	protected final double edge1Y;
+	protected final double edge1Z;
+	protected final double edge2X;
+	protected final double edge2Y;
+	protected final double edge2Z;
+	protected final double edgeLengthsSquared;
+	
+	/**
+	 * Note that the edges of the triangle are calculated from the vertices when the triangle is created, so the vertices must not be changed
+	 * afterwards.
+	 * 
+	 * A triangle with (almost) no area (e.g. with all vertices on one line or with equal vertices) can be created, but it's degenerate (see
+	 * {@link #isDegenerate()}) and is never hit by a line.
+	 */
 	public Triangle3D(Vector3D vertex1, Vector3D vertex2, Vector3D vertex3) {
-		super(vertex1, vertex2, vertex3);
+		super(vertex1, vertex2.sub(vertex1), vertex3.sub(vertex1), true);
 		vertices = new Vector3D[3];
 		vertices[0] = vertex1;
 		vertices[1] = vertex2;
 		vertices[2] = vertex3;
+		
+		vertexX = vertex1.x;
+		vertexY = vertex1.y;
+		vertexZ = vertex1.z;
+		edge1X = vertex2.x - vertex1.x;
+		edge1Y = vertex2.y - vertex1.y;
+		edge1Z = vertex2.z - vertex1.z;
+		edge2X = vertex3.x - vertex1.x;
+		edge2Y = vertex3.y - vertex1.y;
+		edge2Z = vertex3.z - vertex1.z;
+		edgeLengthsSquared = (edge1X * edge1X + edge1Y * edge1Y + edge1Z * edge1Z) * (edge2X * edge2X + edge2Y * edge2Y + edge2Z * edge2Z);
 	}
 	
 	/**
-	 * Check whether the line segment intersects the triangle by projecting the 3D triangle to a 2D triangle by ignoring the z-axis. Note that this
-	 * will only work if the triangle is NOT in x-z or y-z area.
+	 * Check whether the line segment intersects the triangle (like {@link #intersects(Line3D)}).
 	 * 
 	 * @param lineSegment
 	 *        The line segment that may intersect this triangle.
@@ -22,12 +53,11 @@ public class Triangle3D extends Plane3D {
 	 * @return Returns true if the line segment intersects this triangle.
 	 */
 	public boolean intersectsUnchecked(LineSegment3D lineSegment) {
-		return getIntersectionPointUnchecked(lineSegment) != null;
+		return intersects(lineSegment);
 	}
 	
 	/**
-	 * Calculate the intersection point between the line and this triangle (if any). Checking whether the line intersects is done by projecting the 3D
-	 * triangle to a 2D triangle by ignoring the z-axis. Note that this will only work if the triangle is NOT in x-z or y-z area.
+	 * Calculate the intersection point between the line segment and this triangle (like {@link #getTriangleIntersectionPoint(Line3D)}).
 	 * 
 	 * @param lineSegment
 	 *        The line segment that may intersect this triangle.
@@ -35,18 +65,185 @@ public class Triangle3D extends Plane3D {
 	 * @return Returns the intersection point or null, if there is no intersection point.
 	 */
 	public Vector3D getIntersectionPointUnchecked(LineSegment3D lineSegment) {
-		Vector3D intersectionPoint = getIntersectionPointLineSegment(lineSegment);
+		return getTriangleIntersectionPoint(lineSegment);
+	}
+	
+	/**
+	 * Check whether a ray (or a line segment) intersects this triangle.
+	 * 
+	 * @param line
+	 *        The ray that may intersect this triangle (only the points start + t * direction with t >= 0 are tested). If it's a
+	 *        {@link LineSegment3D} only the points between start and start + direction are tested.
+	 * 
+	 * @return Returns true if the line intersects this triangle.
+	 */
+	public boolean intersects(Line3D line) {
+		return !Double.isNaN(getIntersectionParameter(line, null));
+	}
+	
+	/**
+	 * Calculate the intersection point between a ray (or a line segment) and this triangle (if any).
+	 * 
+	 * @param line
+	 *        The ray that may intersect this triangle (only the points start + t * direction with t >= 0 are tested). If it's a
+	 *        {@link LineSegment3D} only the points between start and start + direction are tested.
+	 * 
+	 * @return Returns the intersection point or null, if there is no intersection point (or the line is parallel to the triangle).
+	 */
+	public Vector3D getTriangleIntersectionPoint(Line3D line) {
+		double t = getIntersectionParameter(line, null);
+		if (Double.isNaN(t)) {
+			return null;
+		}
+		return new Vector3D(line.start.x + t * line.direction.x, line.start.y + t * line.direction.y, line.start.z + t * line.direction.z);
+	}
+	
+	/**
+	 * Calculate the parameter t of the intersection point (start + t * direction) of a ray (or a line segment) with this triangle, using the
+	 * Möller–Trumbore algorithm. The test works for triangles in any orientation and doesn't create any objects.
+	 * 
+	 * @param line
+	 *        The ray that may intersect this triangle (only the parameters t >= 0 are valid). If it's a {@link LineSegment3D} only the parameters
+	 *        in [0, 1] are valid.
+	 * 
+	 * @param barycentric
+	 *        An array of (at least) length 3, that holds the barycentric coordinates (w0, w1, w2) of the intersection point, so the intersection
+	 *        point is w0 * vertex1 + w1 * vertex2 + w2 * vertex3 (or null if the coordinates are not needed). The array is only changed if there is
+	 *        an intersection point.
+	 * 
+	 * @return Returns the parameter t or NaN if there is no intersection point (or the line is parallel to the triangle or the triangle is
+	 *         degenerate).
+	 */
+	public double getIntersectionParameter(Line3D line, double[] barycentric) {
+		double tMax = line instanceof LineSegment3D ? 1 : Double.POSITIVE_INFINITY;
+		return getIntersectionParameter(line.start.x, line.start.y, line.start.z, line.direction.x, line.direction.y, line.direction.z, 0, tMax,
+				barycentric, 0);
+	}
+	/**
+	 * Calculate the parameter t of the intersection point (start + t * direction) of a line with this triangle, using the Möller–Trumbore algorithm.
+	 * 
+	 * @param tMin
+	 *        The minimum valid parameter t (e.g. 0 for a ray or a line segment).
+	 * 
+	 * @param tMax
+	 *        The maximum valid parameter t (e.g. 1 for a line segment).
+	 * 
+	 * @param barycentric
+	 *        An array that holds the barycentric coordinates (w0, w1, w2) of the intersection point at the index offset (or null).
+	 * 
+	 * @return Returns the parameter t or NaN if there is no intersection point in [tMin, tMax].
+	 */
+	double getIntersectionParameter(double startX, double startY, double startZ, double directionX, double directionY, double directionZ,
+			double tMin, double tMax, double[] barycentric, int offset) {
+		if (degenerate) {
+			return Double.NaN;
+		}
+		//p = direction x edge2
+		double pX = directionY * edge2Z - directionZ * edge2Y;
+		double pY = directionZ * edge2X - directionX * edge2Z;
+		double pZ = directionX * edge2Y - directionY * edge2X;
+		//the determinant is (almost) 0 if the line is parallel to the triangle (relative to the lengths of the vectors)
+		double determinant = edge1X * pX + edge1Y * pY + edge1Z * pZ;
+		double directionLengthSquared = directionX * directionX + directionY * directionY + directionZ * directionZ;
+		if (determinant * determinant <= Vector3D.LINEAR_DEPENDENCE_TOLERANCE * Vector3D.LINEAR_DEPENDENCE_TOLERANCE * edgeLengthsSquared
+				* directionLengthSquared) {
+			return Double.NaN;
+		}
+		double inverseDeterminant = 1 / determinant;
 		
-		if (intersectionPoint != null) {
-			//check whether the intersection point is inside the triangle by projecting on the x-y-axis and checking the 2d area
-			Triangle2D triangle2d = new Triangle2D(new Vector2D(vertices[0].x, vertices[0].y), new Vector2D(vertices[1].x, vertices[1].y),
-					new Vector2D(vertices[2].x, vertices[2].y));
-			
-			if (triangle2d.isPointInArea(new Vector2D(intersectionPoint.x, intersectionPoint.y))) {
-				return intersectionPoint;
-			}
+		//s = start - vertex1
+		double sX = startX - vertexX;
+		double sY = startY - vertexY;
+		double sZ = startZ - vertexZ;
+		double u = (sX * pX + sY * pY + sZ * pZ) * inverseDeterminant;
+		if (u < 0 || u > 1) {
+			return Double.NaN;
+		}
+		
+		//q = s x edge1
+		double qX = sY * edge1Z - sZ * edge1Y;
+		double qY = sZ * edge1X - sX * edge1Z;
+		double qZ = sX * edge1Y - sY * edge1X;
+		double v = (directionX * qX + directionY * qY + directionZ * qZ) * inverseDeterminant;
+		if (v < 0 || u + v > 1) {
+			return Double.NaN;
 		}
 		
-		return null;
+		double t = (edge2X * qX + edge2Y * qY + edge2Z * qZ) * inverseDeterminant;
+		if (t < tMin || t > tMax) {
+			return Double.NaN;
+		}
+		if (barycentric != null) {
+			barycentric[offset] = 1 - u - v;
+			barycentric[offset + 1] = u;
+			barycentric[offset + 2] = v;
+		}
+		return t;
+	}
+	
+	/**
+	 * Calculate the parameters t of the intersection points (start + t * direction) of one ray (or line segment) with many triangles at once
+	 * (like {@link #getIntersectionParameter(Line3D, double[])}). No objects are created.
+	 * 
+	 * @param line
+	 *        The ray that may intersect the triangles (only the parameters t >= 0 are valid). If it's a {@link LineSegment3D} only the parameters
+	 *        in [0, 1] are valid.
+	 * 
+	 * @param triangles
+	 *        The triangles that are tested.
+	 * 
+	 * @param dest
+	 *        An array that holds the parameters (if it's null or too small a new array is created).
+	 * 
+	 * @param barycentrics
+	 *        An array of (at least) three times the number of triangles, that holds the barycentric coordinates of the intersection point with the
+	 *        triangle i at the indices 3 * i to 3 * i + 2 (or null if the coordinates are not needed).
+	 * 
+	 * @return The array of parameters (the parameter of the triangle i is at index i). The parameter is NaN if the line doesn't intersect the
+	 *         triangle.
+	 */
+	public static double[] getIntersectionParameters(Line3D line, List<? extends Triangle3D> triangles, double[] dest, double[] barycentrics) {
+		if (dest == null || dest.length < triangles.size()) {
+			dest = new double[triangles.size()];
+		}
+		double tMax = line instanceof LineSegment3D ? 1 : Double.POSITIVE_INFINITY;
+		int i = 0;
+		for (Triangle3D triangle : triangles) {
+			dest[i] = triangle.getIntersectionParameter(line.start.x, line.start.y, line.start.z, line.direction.x, line.direction.y,
+					line.direction.z, 0, tMax, barycentrics, 3 * i);
+			i++;
+		}
+		return dest;
+	}
+	
+	/**
+	 * Find the first triangle that is hit by a ray (the intersection point with the smallest parameter t >= 0).
+	 * 
+	 * @param ray
+	 *        The ray that may intersect the triangles. Only the parameters t >= 0 are valid (and t <= 1 if it's a {@link LineSegment3D}).
+	 * 
+	 * @param triangles
+	 *        The triangles that are tested.
+	 * 
+	 * @param barycentric
+	 *        An array of (at least) length 3, that holds the barycentric coordinates of the nearest intersection point (or null).
+	 * 
+	 * @return Returns the index of the first triangle that is hit or -1 if no triangle is hit.
+	 */
+	public static int getNearestIntersection(Line3D ray, List<? extends Triangle3D> triangles, double[] barycentric) {
+		double tMax = ray instanceof LineSegment3D ? 1 : Double.POSITIVE_INFINITY;
+		int nearest = -1;
+		int i = 0;
+		for (Triangle3D triangle : triangles) {
+			//only search for intersections that are nearer than the nearest one found so far
+			double t = triangle.getIntersectionParameter(ray.start.x, ray.start.y, ray.start.z, ray.direction.x, ray.direction.y, ray.direction.z, 0,
+					tMax, barycentric, 0);
+			if (!Double.isNaN(t)) {
+				nearest = i;
+				tMax = t;
+			}
+			i++;
+		}
+		return nearest;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,810 @@
+package net.jfabricationgames.linear_algebra;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A mesh of triangles that uses a bounding volume hierarchy (BVH) to find the triangles that are hit by a line, so not every triangle has to be
+ * tested.
+ * 
+ * The hierarchy is built once when the mesh is created, using the surface area heuristic (SAH) on a fixed number of bins per axis to decide where
+ * the triangles are split. The nodes of the hierarchy are stored in primitive arrays (in depth-first order, so the left child of a node is the next
+ * node), which makes the traversal fast and cache friendly.
+ * 
+ * A {@link Line3D} is treated as a ray (only intersection points with t >= 0 are found) and a {@link LineSegment3D} only hits the triangles between
+ * it's start and end point (0 <= t <= 1), like in {@link Triangle3D#getNearestIntersection(Line3D, List, double[])}.
+ * 
+ * Note that the triangles must not be changed after the mesh is created.
+ */
+public class TriangleMesh3D {
+	
+	/**
+	 * The minimum number of triangles in a node for the child nodes to be built in parallel (in the common fork-join pool). Smaller nodes are built
+	 * sequentially because the overhead of the parallelization would be higher than the gain.
+	 */
+	public static final int PARALLEL_THRESHOLD = 4096;
+	/**
+	 * The maximum number of triangles in a leaf.
+	 */
+	public static final int MAX_LEAF_SIZE = 8;
+	/**
+	 * The maximum depth of the nodes that are split using the surface area heuristic. Deeper nodes are split at the median of the centroids, so the
+	 * depth of the hierarchy is limited to about MAX_SAH_DEPTH + log2(triangles), even if the surface area heuristic only splits off a few
+	 * triangles on every level.
+	 */
+	public static final int MAX_SAH_DEPTH = 32;
+	
+	/**
+	 * The number of bins (per axis) in which the triangles are sorted (by their centroids) to find the best split
+	 */
+	private static final int BINS = 12;
+	/**
+	 * The cost of traversing a node relative to the cost of testing a triangle (used by the surface area heuristic)
+	 */
+	private static final double TRAVERSAL_COST = 1;
+	
+	//the triangles in the order of the list that was used to create the mesh
+	private final Triangle3D[] inputTriangles;
+	//the triangles in the order of the leaves
+	private final Triangle3D[] triangles;
+	//the indices of the triangles in the list that was used to create the mesh
+	private final int[] triangleIndices;
+	
+	//the flattened hierarchy (the bounds are stored as minX, minY, minZ, maxX, maxY, maxZ for every node)
+	private double[] nodeBounds;
+	//the index of the right child node for inner nodes or the index of the first triangle for leaves
+	private int[] nodeOffsets;
+	//the number of triangles in a leaf or 0 for inner nodes
+	private int[] nodeCounts;
+	//the axis on which the triangles of an inner node were split
+	private byte[] nodeAxes;
+	private int nodeCount;
+	private int leafCount;
+	private int depth;
+	
+	private final long buildTimeNanos;
+	
+	private boolean queryStatisticsEnabled;
+	private final LongAdder queries = new LongAdder();
+	private final LongAdder queryTimeNanos = new LongAdder();
+	private final LongAdder visitedNodes = new LongAdder();
+	private final LongAdder triangleTests = new LongAdder();
+	
+	/**
+	 * A hit of a line with a triangle of the mesh.
+	 */
+	public static class Hit {
+		
+		private final int triangleIndex;
+		private final Triangle3D triangle;
+		private final double t;
+		private final double[] barycentric;
+		
+		private Hit(int triangleIndex, Triangle3D triangle, double t, double[] barycentric) {
+			this.triangleIndex = triangleIndex;
+			this.triangle = triangle;
+			this.t = t;
+			this.barycentric = barycentric;
+		}
+		
+		/**
+		 * The index of the triangle in the list that was used to create the mesh.
+		 */
+		public int getTriangleIndex() {
+			return triangleIndex;
+		}
+		
+		public Triangle3D getTriangle() {
+			return triangle;
+		}
+		
+		/**
+		 * The parameter t of the intersection point (start + t * direction of the line).
+		 */
+		public double getT() {
+			return t;
+		}
+		
+		/**
+		 * The barycentric coordinates (w0, w1, w2) of the intersection point in the triangle (see
+		 * {@link Triangle3D#getIntersectionParameter(Line3D, double[])}).
+		 */
+		public double[] getBarycentric() {
+			return barycentric.clone();
+		}
+		
+		@Override
+		public String toString() {
+			return "Hit [triangleIndex=" + triangleIndex + ", t=" + t + "]";
+		}
+	}
+	
+	/**
+	 * Statistics of the hierarchy and of the queries (a snapshot that is not changed by later queries).
+	 */
+	public static class Statistics {
+		
+		private final int triangleCount;
+		private final int nodeCount;
+		private final int leafCount;
+		private final int depth;
+		private final long buildTimeNanos;
+		private final long queries;
+		private final long queryTimeNanos;
+		private final long visitedNodes;
+		private final long triangleTests;
+		
+		private Statistics(int triangleCount, int nodeCount, int leafCount, int depth, long buildTimeNanos, long queries, long queryTimeNanos,
+				long visitedNodes, long triangleTests) {
+			this.triangleCount = triangleCount;
+			this.nodeCount = nodeCount;
+			this.leafCount = leafCount;
+			this.depth = depth;
+			this.buildTimeNanos = buildTimeNanos;
+			this.queries = queries;
+			this.queryTimeNanos = queryTimeNanos;
+			this.visitedNodes = visitedNodes;
+			this.triangleTests = triangleTests;
+		}
+		
+		public int getTriangleCount() {
+			return triangleCount;
+		}
+		
+		public int getNodeCount() {
+			return nodeCount;
+		}
+		
+		public int getLeafCount() {
+			return leafCount;
+		}
+		
+		/**
+		 * The number of nodes on the longest path from the root to a leaf (0 for an empty mesh).
+		 */
+		public int getDepth() {
+			return depth;
+		}
+		
+		public long getBuildTimeNanos() {
+			return buildTimeNanos;
+		}
+		
+		/**
+		 * The number of queries since the query statistics were enabled (or reset).
+		 */
+		public long getQueries() {
+			return queries;
+		}
+		
+		public long getQueryTimeNanos() {
+			return queryTimeNanos;
+		}
+		
+		public long getVisitedNodes() {
+			return visitedNodes;
+		}
+		
+		public long getTriangleTests() {
+			return triangleTests;
+		}
+		
+		/**
+		 * The average number of triangles that were tested per query (or 0 if there were no queries).
+		 */
+		public double getAverageTriangleTests() {
+			return queries == 0 ? 0 : (double) triangleTests / queries;
+		}
+		
+		@Override
+		public String toString() {
+			return "Statistics [triangleCount=" + triangleCount + ", nodeCount=" + nodeCount + ", leafCount=" + leafCount + ", depth=" + depth
+					+ ", buildTimeNanos=" + buildTimeNanos + ", queries=" + queries + ", queryTimeNanos=" + queryTimeNanos + ", visitedNodes="
+					+ visitedNodes + ", triangleTests=" + triangleTests + "]";
+		}
+	}
+	
+	/**
+	 * Create the mesh and build the hierarchy (in parallel if there are enough triangles).
+	 */
+	public TriangleMesh3D(List<? extends Triangle3D> triangles) {
+		this(triangles, true);
+	}
+	/**
+	 * Create the mesh and build the hierarchy.
+	 * 
+	 * @param triangles
+	 *        The triangles of the mesh.
+	 * 
+	 * @param parallel
+	 *        Build the child nodes of big nodes in parallel (in the common fork-join pool). Only used if there are enough triangles (see
+	 *        {@link #PARALLEL_THRESHOLD}).
+	 */
+	public TriangleMesh3D(List<? extends Triangle3D> triangles, boolean parallel) {
+		long start = System.nanoTime();
+		int size = triangles.size();
+		inputTriangles = triangles.toArray(new Triangle3D[size]);
+		this.triangles = new Triangle3D[size];
+		triangleIndices = new int[size];
+		
+		//the bounds and the centroids of all triangles (as x, y, z)
+		double[] bounds = new double[6 * size];
+		double[] centroids = new double[3 * size];
+		for (int index = 0; index < size; index++) {
+			Triangle3D triangle = inputTriangles[index];
+			double[] vertices = new double[] {triangle.vertexX, triangle.vertexY, triangle.vertexZ, triangle.vertexX + triangle.edge1X,
+					triangle.vertexY + triangle.edge1Y, triangle.vertexZ + triangle.edge1Z, triangle.vertexX + triangle.edge2X,
+					triangle.vertexY + triangle.edge2Y, triangle.vertexZ + triangle.edge2Z};
+			for (int axis = 0; axis < 3; axis++) {
+				bounds[6 * index + axis] = Math.min(vertices[axis], Math.min(vertices[3 + axis], vertices[6 + axis]));
+				bounds[6 * index + 3 + axis] = Math.max(vertices[axis], Math.max(vertices[3 + axis], vertices[6 + axis]));
+				centroids[3 * index + axis] = (vertices[axis] + vertices[3 + axis] + vertices[6 + axis]) / 3;
+			}
+			triangleIndices[index] = index;
+		}
+		
+		if (size > 0) {
+			BuildTask root = new BuildTask(bounds, centroids, triangleIndices, 0, size, 1, parallel);
+			Node rootNode = parallel && size >= PARALLEL_THRESHOLD ? ForkJoinPool.commonPool().invoke(root) : root.compute();
+			
+			//flatten the hierarchy in depth-first order
+			int maxNodes = 2 * size - 1;
+			nodeBounds = new double[6 * maxNodes];
+			nodeOffsets = new int[maxNodes];
+			nodeCounts = new int[maxNodes];
+			nodeAxes = new byte[maxNodes];
+			flatten(rootNode);
+		}
+		else {
+			nodeBounds = new double[0];
+			nodeOffsets = new int[0];
+			nodeCounts = new int[0];
+			nodeAxes = new byte[0];
+		}
+		//the leaves reference the triangles in the order of the (partitioned) indices
+		for (int i = 0; i < size; i++) {
+			this.triangles[i] = inputTriangles[triangleIndices[i]];
+		}
+		buildTimeNanos = System.nanoTime() - start;
+	}
+	
+	/**
+	 * A node of the hierarchy while it's built (before it's flattened into the arrays).
+	 */
+	private static class Node {
+		
+		private final double[] bounds;
+		private final int from;
+		private final int to;
+		private final int depth;
+		private final int axis;
+		private final Node left;
+		private final Node right;
+		//the number of nodes in the sub-tree of this node (including this node)
+		private final int nodes;
+		
+		public Node(double[] bounds, int from, int to, int depth, int axis, Node left, Node right) {
+			this.bounds = bounds;
+			this.from = from;
+			this.to = to;
+			this.depth = depth;
+			this.axis = axis;
+			this.left = left;
+			this.right = right;
+			nodes = left == null ? 1 : 1 + left.nodes + right.nodes;
+		}
+		
+		public boolean isLeaf() {
+			return left == null;
+		}
+	}
+	
+	/**
+	 * Builds the node for a range of triangles by splitting them with the surface area heuristic (or at the median if the heuristic can't split
+	 * the triangles or the node is deeper than {@link TriangleMesh3D#MAX_SAH_DEPTH}). The child nodes of big nodes are built in parallel.
+	 */
+	private static class BuildTask extends RecursiveTask<Node> {
+		
+		private static final long serialVersionUID = -1811592633478412006L;
+		
+		private final double[] triangleBounds;
+		private final double[] centroids;
+		//the indices of the triangles, that are partitioned in place (every task only changes it's own range)
+		private final int[] indices;
+		private final int from;
+		private final int to;
+		private final int depth;
+		private final boolean parallel;
+		
+		public BuildTask(double[] triangleBounds, double[] centroids, int[] indices, int from, int to, int depth, boolean parallel) {
+			this.triangleBounds = triangleBounds;
+			this.centroids = centroids;
+			this.indices = indices;
+			this.from = from;
+			this.to = to;
+			this.depth = depth;
+			this.parallel = parallel;
+		}
+		
+		@Override
+		protected Node compute() {
+			int count = to - from;
+			double[] bounds = new double[] {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+					Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+			double[] centroidBounds = bounds.clone();
+			for (int i = from; i < to; i++) {
+				int triangle = indices[i];
+				for (int axis = 0; axis < 3; axis++) {
+					bounds[axis] = Math.min(bounds[axis], triangleBounds[6 * triangle + axis]);
+					bounds[3 + axis] = Math.max(bounds[3 + axis], triangleBounds[6 * triangle + 3 + axis]);
+					centroidBounds[axis] = Math.min(centroidBounds[axis], centroids[3 * triangle + axis]);
+					centroidBounds[3 + axis] = Math.max(centroidBounds[3 + axis], centroids[3 * triangle + axis]);
+				}
+			}
+			if (count == 1) {
+				return new Node(bounds, from, to, depth, 0, null, null);
+			}
+			if (depth > MAX_SAH_DEPTH) {
+				//limit the depth of the hierarchy (the surface area heuristic may only split off a few triangles on every level)
+				return count <= MAX_LEAF_SIZE ? new Node(bounds, from, to, depth, 0, null, null) : splitAtMedian(bounds, centroidBounds);
+			}
+			
+			//find the best split of the bins on all axes
+			int bestAxis = -1;
+			int bestSplit = -1;
+			double bestCost = Double.POSITIVE_INFINITY;
+			int[] binCounts = new int[BINS];
+			double[] binBounds = new double[6 * BINS];
+			double[] rightAreas = new double[BINS];
+			int[] rightCounts = new int[BINS];
+			for (int axis = 0; axis < 3; axis++) {
+				double extent = centroidBounds[3 + axis] - centroidBounds[axis];
+				if (extent <= 0) {
+					//all centroids are on the same position on this axis, so the triangles can't be split here
+					continue;
+				}
+				double scale = BINS / extent;
+				Arrays.fill(binCounts, 0);
+				for (int bin = 0; bin < BINS; bin++) {
+					resetBounds(binBounds, bin);
+				}
+				for (int i = from; i < to; i++) {
+					int triangle = indices[i];
+					int bin = getBin(centroids[3 * triangle + axis], centroidBounds[axis], scale);
+					binCounts[bin]++;
+					for (int a = 0; a < 3; a++) {
+						binBounds[6 * bin + a] = Math.min(binBounds[6 * bin + a], triangleBounds[6 * triangle + a]);
+						binBounds[6 * bin + 3 + a] = Math.max(binBounds[6 * bin + 3 + a], triangleBounds[6 * triangle + 3 + a]);
+					}
+				}
+				
+				//sweep from the right to get the areas and counts of all right sides, then from the left to calculate the costs
+				double[] sweep = new double[6];
+				resetBounds(sweep, 0);
+				int sweepCount = 0;
+				for (int bin = BINS - 1; bin > 0; bin--) {
+					sweepCount += binCounts[bin];
+					grow(sweep, binBounds, bin);
+					rightCounts[bin] = sweepCount;
+					rightAreas[bin] = getSurfaceArea(sweep);
+				}
+				resetBounds(sweep, 0);
+				sweepCount = 0;
+				for (int split = 1; split < BINS; split++) {
+					sweepCount += binCounts[split - 1];
+					grow(sweep, binBounds, split - 1);
+					if (sweepCount == 0 || rightCounts[split] == 0) {
+						continue;
+					}
+					//the cost without the constant traversal cost and without dividing by the area of the node (because they are equal for all splits)
+					double cost = getSurfaceArea(sweep) * sweepCount + rightAreas[split] * rightCounts[split];
+					if (cost < bestCost) {
+						bestCost = cost;
+						bestAxis = axis;
+						bestSplit = split;
+					}
+				}
+			}
+			
+			//create a leaf if testing all triangles is cheaper than the split (and the leaf is not too big)
+			double leafCost = (count - TRAVERSAL_COST) * getSurfaceArea(bounds);
+			if (count <= MAX_LEAF_SIZE && (bestAxis == -1 || bestCost >= leafCost)) {
+				return new Node(bounds, from, to, depth, 0, null, null);
+			}
+			if (bestAxis == -1) {
+				//all centroids are on the same position, so the bins can't separate the triangles
+				return splitAtMedian(bounds, centroidBounds);
+			}
+			
+			//partition the triangles (the triangles in the bins left of the split to the start of the range)
+			double scale = BINS / (centroidBounds[3 + bestAxis] - centroidBounds[bestAxis]);
+			int middle = from;
+			for (int i = from; i < to; i++) {
+				int triangle = indices[i];
+				if (getBin(centroids[3 * triangle + bestAxis], centroidBounds[bestAxis], scale) < bestSplit) {
+					indices[i] = indices[middle];
+					indices[middle] = triangle;
+					middle++;
+				}
+			}
+			
+			return split(bounds, middle, bestAxis);
+		}
+		
+		/**
+		 * Split the triangles into two halves of the same size at the median of the centroids on the axis with the largest extent (the order of
+		 * triangles with equal centroids is arbitrary).
+		 */
+		private Node splitAtMedian(double[] bounds, double[] centroidBounds) {
+			int axis = 0;
+			for (int a = 1; a < 3; a++) {
+				if (centroidBounds[3 + a] - centroidBounds[a] > centroidBounds[3 + axis] - centroidBounds[axis]) {
+					axis = a;
+				}
+			}
+			int middle = (from + to) >>> 1;
+			select(middle, axis);
+			return split(bounds, middle, axis);
+		}
+		
+		/**
+		 * Partition the indices (using quickselect), so the triangle at the index k is the one that would be there if the range was sorted by the
+		 * centroids on the axis, with no bigger centroid before it and no smaller centroid after it.
+		 */
+		private void select(int k, int axis) {
+			int left = from;
+			int right = to - 1;
+			while (left < right) {
+				//use the median of the first, middle and last centroid as pivot
+				int middle = (left + right) >>> 1;
+				double a = centroids[3 * indices[left] + axis];
+				double b = centroids[3 * indices[middle] + axis];
+				double c = centroids[3 * indices[right] + axis];
+				double pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+				
+				int i = left;
+				int j = right;
+				while (i <= j) {
+					while (centroids[3 * indices[i] + axis] < pivot) {
+						i++;
+					}
+					while (centroids[3 * indices[j] + axis] > pivot) {
+						j--;
+					}
+					if (i <= j) {
+						int tmp = indices[i];
+						indices[i] = indices[j];
+						indices[j] = tmp;
+						i++;
+						j--;
+					}
+				}
+				//continue in the part that contains k (the indices between j and i are equal to the pivot)
+				if (k <= j) {
+					right = j;
+				}
+				else if (k >= i) {
+					left = i;
+				}
+				else {
+					return;
+				}
+			}
+		}
+		
+		/**
+		 * Build the child nodes of the triangles in [from, middle) and [middle, to).
+		 */
+		private Node split(double[] bounds, int middle, int axis) {
+			int count = to - from;
+			BuildTask leftTask = new BuildTask(triangleBounds, centroids, indices, from, middle, depth + 1, parallel);
+			BuildTask rightTask = new BuildTask(triangleBounds, centroids, indices, middle, to, depth + 1, parallel);
+			Node left;
+			Node right;
+			if (parallel && count >= PARALLEL_THRESHOLD) {
+				leftTask.fork();
+				right = rightTask.compute();
+				left = leftTask.join();
+			}
+			else {
+				left = leftTask.compute();
+				right = rightTask.compute();
+			}
+			return new Node(bounds, from, to, depth, axis, left, right);
+		}
+		
+		private static int getBin(double centroid, double min, double scale) {
+			return Math.min(BINS - 1, (int) ((centroid - min) * scale));
+		}
+		
+		private static void resetBounds(double[] bounds, int index) {
+			for (int axis = 0; axis < 3; axis++) {
+				bounds[6 * index + axis] = Double.POSITIVE_INFINITY;
+				bounds[6 * index + 3 + axis] = Double.NEGATIVE_INFINITY;
+			}
+		}
+		
+		private static void grow(double[] bounds, double[] other, int index) {
+			for (int axis = 0; axis < 3; axis++) {
+				bounds[axis] = Math.min(bounds[axis], other[6 * index + axis]);
+				bounds[3 + axis] = Math.max(bounds[3 + axis], other[6 * index + 3 + axis]);
+			}
+		}
+		
+		private static double getSurfaceArea(double[] bounds) {
+			double dx = bounds[3] - bounds[0];
+			double dy = bounds[4] - bounds[1];
+			double dz = bounds[5] - bounds[2];
+			if (dx < 0 || dy < 0 || dz < 0) {
+				//empty bounds
+				return 0;
+			}
+			return 2 * (dx * dy + dy * dz + dz * dx);
+		}
+	}
+	
+	/**
+	 * Store the nodes of the hierarchy in the arrays (in depth-first order, using a stack instead of a recursion).
+	 */
+	private void flatten(Node root) {
+		Deque<Node> stack = new ArrayDeque<Node>();
+		stack.push(root);
+		while (!stack.isEmpty()) {
+			Node node = stack.pop();
+			int index = nodeCount++;
+			depth = Math.max(depth, node.depth);
+			System.arraycopy(node.bounds, 0, nodeBounds, 6 * index, 6);
+			if (node.isLeaf()) {
+				nodeOffsets[index] = node.from;
+				nodeCounts[index] = node.to - node.from;
+				leafCount++;
+			}
+			else {
+				nodeAxes[index] = (byte) node.axis;
+				//the left child is the next node and the right child follows after all nodes of the left sub-tree
+				nodeOffsets[index] = index + 1 + node.left.nodes;
+				stack.push(node.right);
+				stack.push(node.left);
+			}
+		}
+	}
+	
+	/**
+	 * Find the first triangle that is hit by the line (the hit with the smallest parameter t).
+	 * 
+	 * @param line
+	 *        The line (treated as ray) or line segment that may hit the triangles.
+	 * 
+	 * @return Returns the first hit or null if no triangle is hit.
+	 */
+	public Hit getFirstHit(Line3D line) {
+		List<Hit> hits = new ArrayList<Hit>(1);
+		query(line, Query.FIRST, hits);
+		return hits.isEmpty() ? null : hits.get(0);
+	}
+	
+	/**
+	 * Check whether the line hits any triangle of the mesh. This is faster than searching for the first hit, because the search stops at the first
+	 * triangle that is found.
+	 * 
+	 * @param line
+	 *        The line (treated as ray) or line segment that may hit the triangles.
+	 * 
+	 * @return Returns true if any triangle is hit.
+	 */
+	public boolean intersects(Line3D line) {
+		return query(line, Query.ANY, null) != -1;
+	}
+	
+	/**
+	 * Find all triangles that are hit by the line.
+	 * 
+	 * Every triangle that is hit is reported, so a line that hits a shared edge or vertex of adjacent triangles has one hit for each of these
+	 * triangles (with the same parameter t). The hits are not combined, because different triangles can also be hit at the same point (e.g.
+	 * overlapping triangles).
+	 * 
+	 * @param line
+	 *        The line (treated as ray) or line segment that may hit the triangles.
+	 * 
+	 * @return Returns a list of all hits, sorted by the parameter t.
+	 */
+	public List<Hit> getAllHits(Line3D line) {
+		List<Hit> hits = new ArrayList<Hit>();
+		query(line, Query.ALL, hits);
+		Collections.sort(hits, (h1, h2) -> Double.compare(h1.t, h2.t));
+		return hits;
+	}
+	
+	private enum Query {
+		FIRST, ANY, ALL;
+	}
+	
+	/**
+	 * Traverse the hierarchy and test the triangles in all leaves whose bounds are hit by the line.
+	 * 
+	 * @return Returns the index of the last triangle that was hit (in the order of the leaves) or -1 if no triangle was hit
+	 */
+	private int query(Line3D line, Query query, List<Hit> hits) {
+		long start = queryStatisticsEnabled ? System.nanoTime() : 0;
+		int visited = 0;
+		int tested = 0;
+		
+		double startX = line.start.x;
+		double startY = line.start.y;
+		double startZ = line.start.z;
+		double directionX = line.direction.x;
+		double directionY = line.direction.y;
+		double directionZ = line.direction.z;
+		//a division by 0 leads to an infinite value, which works for the slab test
+		double inverseX = 1 / directionX;
+		double inverseY = 1 / directionY;
+		double inverseZ = 1 / directionZ;
+		double tMax = line instanceof LineSegment3D ? 1 : Double.POSITIVE_INFINITY;
+		
+		double[] barycentric = new double[3];
+		int hit = -1;
+		int[] stack = new int[depth + 1];
+		int stackSize = 0;
+		if (nodeCount > 0) {
+			stack[stackSize++] = 0;
+		}
+		while (stackSize > 0) {
+			int node = stack[--stackSize];
+			visited++;
+			if (!intersectsBounds(node, startX, startY, startZ, inverseX, inverseY, inverseZ, tMax)) {
+				continue;
+			}
+			
+			if (nodeCounts[node] > 0) {
+				for (int i = nodeOffsets[node]; i < nodeOffsets[node] + nodeCounts[node]; i++) {
+					tested++;
+					double t = triangles[i].getIntersectionParameter(startX, startY, startZ, directionX, directionY, directionZ, 0, tMax, barycentric,
+							0);
+					if (!Double.isNaN(t)) {
+						hit = i;
+						if (query == Query.ALL) {
+							hits.add(new Hit(triangleIndices[i], triangles[i], t, barycentric.clone()));
+						}
+						else if (query == Query.FIRST) {
+							//only search for hits that are nearer than this one
+							tMax = t;
+							hits.clear();
+							hits.add(new Hit(triangleIndices[i], triangles[i], t, barycentric.clone()));
+						}
+						else {
+							//any hit is enough
+							stackSize = 0;
+							break;
+						}
+					}
+				}
+			}
+			else {
+				//visit the child that is nearer to the start of the line first (the nearer child is pushed last)
+				int left = node + 1;
+				int right = nodeOffsets[node];
+				double direction = nodeAxes[node] == 0 ? directionX : nodeAxes[node] == 1 ? directionY : directionZ;
+				if (direction < 0) {
+					stack[stackSize++] = left;
+					stack[stackSize++] = right;
+				}
+				else {
+					stack[stackSize++] = right;
+					stack[stackSize++] = left;
+				}
+			}
+		}
+		
+		if (queryStatisticsEnabled) {
+			queries.increment();
+			visitedNodes.add(visited);
+			triangleTests.add(tested);
+			queryTimeNanos.add(System.nanoTime() - start);
+		}
+		return hit;
+	}
+	
+	/**
+	 * Check whether the line hits the bounds of a node (between the parameters 0 and tMax), using the slab test.
+	 */
+	private boolean intersectsBounds(int node, double startX, double startY, double startZ, double inverseX, double inverseY, double inverseZ,
+			double tMax) {
+		int offset = 6 * node;
+		double tEnter = 0;
+		double tExit = tMax;
+		
+		double t1 = (nodeBounds[offset] - startX) * inverseX;
+		double t2 = (nodeBounds[offset + 3] - startX) * inverseX;
+		//NaN values (if the start is on the border and the direction is parallel) fail all comparisons, so they don't limit the range
+		if (t1 > t2) {
+			double tmp = t1;
+			t1 = t2;
+			t2 = tmp;
+		}
+		if (t1 > tEnter) {
+			tEnter = t1;
+		}
+		if (t2 < tExit) {
+			tExit = t2;
+		}
+		
+		t1 = (nodeBounds[offset + 1] - startY) * inverseY;
+		t2 = (nodeBounds[offset + 4] - startY) * inverseY;
+		if (t1 > t2) {
+			double tmp = t1;
+			t1 = t2;
+			t2 = tmp;
+		}
+		if (t1 > tEnter) {
+			tEnter = t1;
+		}
+		if (t2 < tExit) {
+			tExit = t2;
+		}
+		
+		t1 = (nodeBounds[offset + 2] - startZ) * inverseZ;
+		t2 = (nodeBounds[offset + 5] - startZ) * inverseZ;
+		if (t1 > t2) {
+			double tmp = t1;
+			t1 = t2;
+			t2 = tmp;
+		}
+		if (t1 > tEnter) {
+			tEnter = t1;
+		}
+		if (t2 < tExit) {
+			tExit = t2;
+		}
+		
+		return tEnter <= tExit;
+	}
+	
+	/**
+	 * The triangle at an index of the list that was used to create the mesh.
+	 */
+	public Triangle3D getTriangle(int index) {
+		return inputTriangles[index];
+	}
+	
+	/**
+	 * The number of triangles in the mesh.
+	 */
+	public int size() {
+		return triangles.length;
+	}
+	
+	/**
+	 * The statistics of the hierarchy and of the queries (the query statistics are only collected if they are enabled).
+	 */
+	public Statistics getStatistics() {
+		return new Statistics(triangles.length, nodeCount, leafCount, depth, buildTimeNanos, queries.sum(), queryTimeNanos.sum(), visitedNodes.sum(),
+				triangleTests.sum());
+	}
+	
+	/**
+	 * Reset the query statistics (the number of queries, the query time and the numbers of visited nodes and tested triangles).
+	 */
+	public void resetQueryStatistics() {
+		queries.reset();
+		queryTimeNanos.reset();
+		visitedNodes.reset();
+		triangleTests.reset();
+	}
+	
+	public boolean isQueryStatisticsEnabled() {
+		return queryStatisticsEnabled;
+	}
+	/**
+	 * Enable or disable collecting the query statistics (disabled by default, because measuring the time of every query has some overhead).
+	 */
+	public void setQueryStatisticsEnabled(boolean queryStatisticsEnabled) {
+		this.queryStatisticsEnabled = queryStatisticsEnabled;
+	}
+}
@@ -105,10 +105,17 @@ public class Vector2D implements Cloneable {
 	 * 		The length of this vector in the given norm.
 	 */
 	public double length(int norm) {
-		if (norm == Integer.MAX_VALUE) {
-			return Math.max(x, y);
+		//the most common norms are calculated without Math.pow
+		switch (norm) {
+			case 1:
+				return Math.abs(x) + Math.abs(y);
+			case 2:
+				return length();
+			case Integer.MAX_VALUE:
+				return Math.max(Math.abs(x), Math.abs(y));
+			default:
+				return Math.pow(Math.pow(Math.abs(x), norm) + Math.pow(Math.abs(y), norm), 1.0/norm);
 		}
-		return Math.pow(Math.pow(x, norm) + Math.pow(y, norm), 1.0/norm);
 	}
 	
 	/**
@@ -121,7 +128,77 @@ public class Vector2D implements Cloneable {
 	 *		The new created vector.
 	 */
 	public Vector2D rotate(double degrees) {
-		return new Vector2D(getAngle() + degrees).setLength(length());
+		return rotate(degrees, new Vector2D());
+	}
+	/**
+	 * Rotate the Vector an angle (in degrees) and store the result in a destination vector (without creating a new Vector).
+	 * 
+	 * @param degrees
+	 * 		The angle to return the vector.
+	 * 
+	 * @param dest
+	 * 		The vector that holds the result (can be this vector).
+	 * 
+	 * @return
+	 * 		The destination vector.
+	 */
+	public Vector2D rotate(double degrees, Vector2D dest) {
+		double cos = Math.cos(degrees * Math.PI / 180);
+		double sin = Math.sin(degrees * Math.PI / 180);
+		dest.move(cos * x - sin * y, sin * x + cos * y);
+		return dest;
+	}
+	/**
+	 * Rotate this Vector an angle (in degrees) changing this vector.
+	 * 
+	 * @param degrees
+	 * 		The angle to return the vector.
+	 * 
+	 * @return
+	 * 		This vector.
+	 */
+	public Vector2D rotateInPlace(double degrees) {
+		return rotate(degrees, this);
+	}
+	/**
+	 * Rotate the Vector by a (precomputed) rotation resulting in a new Vector that is returned.
+	 * 
+	 * @param rotation
+	 * 		The rotation (holding the sine and cosine of the angle).
+	 * 
+	 * @return
+	 *		The new created vector.
+	 */
+	public Vector2D rotate(Rotation2D rotation) {
+		return rotate(rotation, new Vector2D());
+	}
+	/**
+	 * Rotate the Vector by a (precomputed) rotation and store the result in a destination vector (without creating a new Vector).
+	 * 
+	 * @param rotation
+	 * 		The rotation (holding the sine and cosine of the angle).
+	 * 
+	 * @param dest
+	 * 		The vector that holds the result (can be this vector).
+	 * 
+	 * @return
+	 * 		The destination vector.
+	 */
+	public Vector2D rotate(Rotation2D rotation, Vector2D dest) {
+		dest.move(rotation.cos * x - rotation.sin * y, rotation.sin * x + rotation.cos * y);
+		return dest;
+	}
+	/**
+	 * Rotate this Vector by a (precomputed) rotation changing this vector.
+	 * 
+	 * @param rotation
+	 * 		The rotation (holding the sine and cosine of the angle).
+	 * 
+	 * @return
+	 * 		This vector.
+	 */
+	public Vector2D rotateInPlace(Rotation2D rotation) {
+		return rotate(rotation, this);
 	}
 	
 	/**
@@ -136,6 +213,21 @@ public class Vector2D implements Cloneable {
 	public Vector2D project(Vector2D vec) {
 		return mult(scalar(vec) / Math.pow(length(), 2));
 	}
+	/**
+	 * Project the vector given as parameter on this vector and store the result in a destination vector (without creating a new Vector).
+	 * 
+	 * @param vec
+	 * 		The vector that is to be projected on this vector.
+	 * 
+	 * @param dest
+	 * 		The vector that holds the result (can be this vector or the parameter vector).
+	 * 
+	 * @return
+	 * 		The destination vector.
+	 */
+	public Vector2D project(Vector2D vec, Vector2D dest) {
+		return mult(scalar(vec) / (x * x + y * y), dest);
+	}
 	
 	/**
 	 * Add another Vector2D to this vector resulting in a new Vector that is returned.
@@ -149,6 +241,34 @@ public class Vector2D implements Cloneable {
 	public Vector2D add(Vector2D vec) {
 		return new Vector2D(x + vec.x, y + vec.y);
 	}
+	/**
+	 * Add another Vector2D to this vector and store the result in a destination vector (without creating a new Vector).
+	 * 
+	 * @param vec
+	 * 		The vector added to this vector.
+	 * 
+	 * @param dest
+	 * 		The vector that holds the result (can be this vector or the parameter vector).
+	 * 
+	 * @return
+	 * 		The destination vector.
+	 */
+	public Vector2D add(Vector2D vec, Vector2D dest) {
+		dest.move(x + vec.x, y + vec.y);
+		return dest;
+	}
+	/**
+	 * Add another Vector2D to this vector changing this vector.
+	 * 
+	 * @param vec
+	 * 		The vector added to this vector.
+	 * 
+	 * @return
+	 * 		This vector.
+	 */
+	public Vector2D addInPlace(Vector2D vec) {
+		return add(vec, this);
+	}
 	/**
 	 * Subtract another Vector3D from this vector resulting in a new Vector that is returned.
 	 * 
@@ -161,6 +281,34 @@ public class Vector2D implements Cloneable {
 	public Vector2D sub(Vector2D vec) {
 		return new Vector2D(x - vec.x, y - vec.y);
 	}
+	/**
+	 * Subtract another Vector2D from this vector and store the result in a destination vector (without creating a new Vector).
+	 * 
+	 * @param vec
+	 * 		The vector subtracted from this vector.
+	 * 
+	 * @param dest
+	 * 		The vector that holds the result (can be this vector or the parameter vector).
+	 * 
+	 * @return
+	 * 		The destination vector.
+	 */
+	public Vector2D sub(Vector2D vec, Vector2D dest) {
+		dest.move(x - vec.x, y - vec.y);
+		return dest;
+	}
+	/**
+	 * Subtract another Vector2D from this vector changing this vector.
+	 * 
+	 * @param vec
+	 * 		The vector subtracted from this vector.
+	 * 
+	 * @return
+	 * 		This vector.
+	 */
+	public Vector2D subInPlace(Vector2D vec) {
+		return sub(vec, this);
+	}
 	/**
 	 * Multiply this vector with a scalar resulting in a new Vector that is returned.
 	 * 
@@ -173,6 +321,34 @@ public class Vector2D implements Cloneable {
 	public Vector2D mult(double scalar) {
 		return new Vector2D(x * scalar, y * scalar);
 	}
+	/**
+	 * Multiply this vector with a scalar and store the result in a destination vector (without creating a new Vector).
+	 * 
+	 * @param scalar
+	 * 		The scalar to multiply this vector with.
+	 * 
+	 * @param dest
+	 * 		The vector that holds the result (can be this vector).
+	 * 
+	 * @return
+	 * 		The destination vector.
+	 */
+	public Vector2D mult(double scalar, Vector2D dest) {
+		dest.move(x * scalar, y * scalar);
+		return dest;
+	}
+	/**
+	 * Multiply this vector with a scalar changing this vector.
+	 * 
+	 * @param scalar
+	 * 		The scalar to multiply this vector with.
+	 * 
+	 * @return
+	 * 		This vector.
+	 */
+	public Vector2D multInPlace(double scalar) {
+		return mult(scalar, this);
+	}
 	
 	/**
 	 * Check whether this vector is linearly dependent to the parameter vector.
@@ -237,6 +413,35 @@ public class Vector2D implements Cloneable {
 		double len = length();
 		return new Vector2D(x * length / len, y * length / len);
 	}
+	/**
+	 * Set a vector with the same direction but a different length as this vector as the destination vector (without creating a new Vector).
+	 * 
+	 * @param length
+	 * 		The length of the new vector.
+	 * 
+	 * @param dest
+	 * 		The vector that holds the result (can be this vector).
+	 * 
+	 * @return
+	 * 		The destination vector.
+	 */
+	public Vector2D setLength(double length, Vector2D dest) {
+		double len = length();
+		dest.move(x * length / len, y * length / len);
+		return dest;
+	}
+	/**
+	 * Change the length of this vector (keeping the direction).
+	 * 
+	 * @param length
+	 * 		The new length of this vector.
+	 * 
+	 * @return
+	 * 		This vector.
+	 */
+	public Vector2D setLengthInPlace(double length) {
+		return setLength(length, this);
+	}
 	
 	/**
 	 * Get the distance of this point's position vector to another point's position vector.
@@ -250,6 +455,19 @@ public class Vector2D implements Cloneable {
 	public double distance(Vector2D p) {
 		return Math.sqrt((this.x - p.x) * (this.x - p.x) + (this.y - p.y) * (this.y - p.y));
 	}
+	/**
+	 * Get the squared distance of this point's position vector to another point's position vector.
+	 * Comparing squared distances gives the same result as comparing distances, but doesn't need a square root.
+	 * 
+	 * @param p
+	 * 		The second point's position vector.
+	 * 
+	 * @return
+	 * 		The squared distance between the points.
+	 */
+	public double distanceSquared(Vector2D p) {
+		return (this.x - p.x) * (this.x - p.x) + (this.y - p.y) * (this.y - p.y);
+	}
 	
 	/**
 	 * Change this vector to the new coordinates.
@@ -258,6 +476,13 @@ public class Vector2D implements Cloneable {
 		this.x = x;
 		this.y = y;
 	}
+	/**
+	 * Change this vector to the coordinates of another vector.
+	 */
+	public void move(Vector2D vec) {
+		this.x = vec.x;
+		this.y = vec.y;
+	}
 	
 	/**
 	 * Move a point's position vector in a direction (by a vector) and a distance.
@@ -278,6 +503,45 @@ public class Vector2D implements Cloneable {
 		double coef = distance / d;
 		return new Vector2D(x + dx * coef, y + dy * coef);
 	}
+	/**
+	 * Move a point's position vector in a direction (by a vector) and a distance and store the result in a destination vector (without creating a
+	 * new Vector).
+	 * 
+	 * @param p
+	 * 		The direction vector.
+	 * 
+	 * @param distance
+	 * 		The distance to move the new vector
+	 * 
+	 * @param dest
+	 * 		The vector that holds the result (can be this vector or the direction vector).
+	 * 
+	 * @return
+	 * 		The destination vector.
+	 */
+	public Vector2D moveTo(Vector2D p, double distance, Vector2D dest) {
+		double d = distance(p);
+		double dx = p.x - x;
+		double dy = p.y - y;
+		double coef = distance / d;
+		dest.move(x + dx * coef, y + dy * coef);
+		return dest;
+	}
+	/**
+	 * Move this point's position vector in a direction (by a vector) and a distance changing this vector.
+	 * 
+	 * @param p
+	 * 		The direction vector.
+	 * 
+	 * @param distance
+	 * 		The distance to move this vector
+	 * 
+	 * @return
+	 * 		This vector.
+	 */
+	public Vector2D moveToInPlace(Vector2D p, double distance) {
+		return moveTo(p, distance, this);
+	}
 	
 	/**
 	 * Get the angle of this vector.
@@ -323,6 +587,22 @@ public class Vector2D implements Cloneable {
 	public Vector2D vectorTo(Vector2D vec) {
 		return new Vector2D(vec.x - x, vec.y - y);
 	}
+	/**
+	 * Get the vector from this point to another and store it in a destination vector (without creating a new Vector).
+	 * 
+	 * @param vec
+	 * 		The point to which the vector is calculated.
+	 * 
+	 * @param dest
+	 * 		The vector that holds the result (can be this vector or the parameter vector).
+	 * 
+	 * @return
+	 * 		The destination vector.
+	 */
+	public Vector2D vectorTo(Vector2D vec, Vector2D dest) {
+		dest.move(vec.x - x, vec.y - y);
+		return dest;
+	}
 	
 	/**
 	 * Checks whether a point (by its position vector) is in a given range of this point.
@@ -337,7 +617,33 @@ public class Vector2D implements Cloneable {
 	 * 		True if the point is in the range of this point (distance <= range).
 	 */
 	public boolean isInRange(Vector2D p, double range) {
-		return p != this && distance(p) <= range;
+		if (p == this || range < 0) {
+			return false;
+		}
+		double distanceSquared = distanceSquared(p);
+		double rangeSquared = range * range;
+		if (Math.abs(distanceSquared - rangeSquared) > 1e-12 * rangeSquared) {
+			//the squared values can be compared without a square root
+			return distanceSquared < rangeSquared;
+		}
+		//too close to decide on the squared values (rounding errors) -> compare the distance itself
+		return Math.sqrt(distanceSquared) <= range;
+	}
+	/**
+	 * Checks whether a point (by its position vector) is in a given range of this point, using the squared range.
+	 * If the same range is checked for many points the squared range can be calculated only once.
+	 * 
+	 * @param p
+	 * 		The point that is checked.
+	 * 
+	 * @param rangeSquared
+	 * 		The squared range used for the check.
+	 * 
+	 * @return
+	 * 		True if the point is in the range of this point (distance^2 <= range^2).
+	 */
+	public boolean isInRangeSquared(Vector2D p, double rangeSquared) {
+		return p != this && distanceSquared(p) <= rangeSquared;
 	}
 	
 	public double getX() {
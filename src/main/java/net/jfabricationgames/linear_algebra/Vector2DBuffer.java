@@ -0,0 +1,342 @@
+package net.jfabricationgames.linear_algebra;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A growable list of 2D points that stores the coordinates in primitive arrays (one for x and one for y) instead of Vector2D objects.
+ * 
+ * The bulk operations work on all points in the buffer at once and don't create any objects, which makes them much faster than a loop over a
+ * List&lt;Vector2D&gt; for large numbers of points.
+ */
+public class Vector2DBuffer {
+	
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	protected double[] xs;
+	protected double[] ys;
+	protected int size;
+	
+	public Vector2DBuffer() {
+		this(DEFAULT_CAPACITY);
+	}
+	public Vector2DBuffer(int capacity) {
+		if (capacity < 0) {
+			throw new LinearAlgebraException("The capacity of a buffer can't be negative.");
+		}
+		xs = new double[capacity];
+		ys = new double[capacity];
+	}
+	/**
+	 * Create a buffer that holds the coordinates of all the given points.
+	 */
+	public Vector2DBuffer(List<Vector2D> points) {
+		this(points.size());
+		for (Vector2D point : points) {
+			append(point.x, point.y);
+		}
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Vector2DBuffer[size: ").append(size).append(" points: ");
+		for (int i = 0; i < size; i++) {
+			sb.append('(').append(xs[i]).append(", ").append(ys[i]).append(')');
+		}
+		sb.append(']');
+		return sb.toString();
+	}
+	
+	/**
+	 * Convert the buffer to a list of (new created) Vector2D objects.
+	 */
+	public List<Vector2D> toList() {
+		List<Vector2D> points = new ArrayList<Vector2D>(size);
+		for (int i = 0; i < size; i++) {
+			points.add(new Vector2D(xs[i], ys[i]));
+		}
+		return points;
+	}
+	
+	/**
+	 * The number of points in this buffer.
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Remove all points from this buffer (the capacity is kept).
+	 */
+	public void clear() {
+		size = 0;
+	}
+	
+	/**
+	 * Make sure the buffer can hold at least the given number of points without growing.
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity > xs.length) {
+			int newCapacity = Math.max(capacity, xs.length * 2);
+			xs = Arrays.copyOf(xs, newCapacity);
+			ys = Arrays.copyOf(ys, newCapacity);
+		}
+	}
+	
+	/**
+	 * Add a point to the end of this buffer.
+	 */
+	public void append(double x, double y) {
+		ensureCapacity(size + 1);
+		xs[size] = x;
+		ys[size] = y;
+		size++;
+	}
+	/**
+	 * Add a point to the end of this buffer.
+	 */
+	public void append(Vector2D point) {
+		append(point.x, point.y);
+	}
+	
+	public double getX(int index) {
+		checkIndex(index);
+		return xs[index];
+	}
+	public double getY(int index) {
+		checkIndex(index);
+		return ys[index];
+	}
+	/**
+	 * Get the point at the index as a new Vector2D.
+	 */
+	public Vector2D get(int index) {
+		return get(index, new Vector2D());
+	}
+	/**
+	 * Get the point at the index by storing it's coordinates in the destination vector (without creating a new Vector).
+	 * 
+	 * @return
+	 * 		The destination vector.
+	 */
+	public Vector2D get(int index, Vector2D dest) {
+		checkIndex(index);
+		dest.move(xs[index], ys[index]);
+		return dest;
+	}
+	
+	/**
+	 * Change the point at the index to the new coordinates.
+	 */
+	public void set(int index, double x, double y) {
+		checkIndex(index);
+		xs[index] = x;
+		ys[index] = y;
+	}
+	/**
+	 * Change the point at the index to the coordinates of the vector.
+	 */
+	public void set(int index, Vector2D point) {
+		set(index, point.x, point.y);
+	}
+	
+	/**
+	 * Add the points of another buffer to the points of this buffer (point by point). This buffer is changed.
+	 * 
+	 * @param buffer
+	 * 		The buffer that is added to this buffer (must have the same size).
+	 * 
+	 * @return
+	 * 		This buffer.
+	 */
+	public Vector2DBuffer add(Vector2DBuffer buffer) {
+		if (buffer.size != size) {
+			throw new LinearAlgebraException("The buffers must have the same size (" + size + " != " + buffer.size + ").");
+		}
+		for (int i = 0; i < size; i++) {
+			xs[i] += buffer.xs[i];
+			ys[i] += buffer.ys[i];
+		}
+		return this;
+	}
+	
+	/**
+	 * Move all points of this buffer by a vector. This buffer is changed.
+	 * 
+	 * @return
+	 * 		This buffer.
+	 */
+	public Vector2DBuffer translate(double dx, double dy) {
+		for (int i = 0; i < size; i++) {
+			xs[i] += dx;
+			ys[i] += dy;
+		}
+		return this;
+	}
+	/**
+	 * Move all points of this buffer by a vector. This buffer is changed.
+	 * 
+	 * @return
+	 * 		This buffer.
+	 */
+	public Vector2DBuffer translate(Vector2D vec) {
+		return translate(vec.x, vec.y);
+	}
+	
+	/**
+	 * Multiply all points of this buffer with a scalar. This buffer is changed.
+	 * 
+	 * @return
+	 * 		This buffer.
+	 */
+	public Vector2DBuffer scale(double scalar) {
+		for (int i = 0; i < size; i++) {
+			xs[i] *= scalar;
+			ys[i] *= scalar;
+		}
+		return this;
+	}
+	
+	/**
+	 * Rotate all points of this buffer an angle (in degrees) around the origin (like {@link Vector2D#rotate(double)}). This buffer is changed.
+	 * 
+	 * @return
+	 * 		This buffer.
+	 */
+	public Vector2DBuffer rotate(double degrees) {
+		return rotate(new Rotation2D(degrees));
+	}
+	/**
+	 * Rotate all points of this buffer by a (precomputed) rotation around the origin. This buffer is changed.
+	 * 
+	 * @return
+	 * 		This buffer.
+	 */
+	public Vector2DBuffer rotate(Rotation2D rotation) {
+		double cos = rotation.cos;
+		double sin = rotation.sin;
+		for (int i = 0; i < size; i++) {
+			double x = xs[i];
+			double y = ys[i];
+			xs[i] = cos * x - sin * y;
+			ys[i] = sin * x + cos * y;
+		}
+		return this;
+	}
+	
+	/**
+	 * Calculate the distances of all points in this buffer to a point.
+	 * 
+	 * @param p
+	 * 		The point to which the distances are calculated.
+	 * 
+	 * @param dest
+	 * 		An array that holds the distances (if it's null or too small a new array is created).
+	 * 
+	 * @return
+	 * 		The array of distances (the distance of the point i is at index i).
+	 */
+	public double[] distances(Vector2D p, double[] dest) {
+		if (dest == null || dest.length < size) {
+			dest = new double[size];
+		}
+		for (int i = 0; i < size; i++) {
+			double dx = xs[i] - p.x;
+			double dy = ys[i] - p.y;
+			dest[i] = Math.sqrt(dx * dx + dy * dy);
+		}
+		return dest;
+	}
+	
+	/**
+	 * Calculate the squared distances of all points in this buffer to a point (without calculating a square root for every point).
+	 * 
+	 * @param p
+	 * 		The point to which the distances are calculated.
+	 * 
+	 * @param dest
+	 * 		An array that holds the squared distances (if it's null or too small a new array is created).
+	 * 
+	 * @return
+	 * 		The array of squared distances (the squared distance of the point i is at index i).
+	 */
+	public double[] distancesSquared(Vector2D p, double[] dest) {
+		if (dest == null || dest.length < size) {
+			dest = new double[size];
+		}
+		for (int i = 0; i < size; i++) {
+			double dx = xs[i] - p.x;
+			double dy = ys[i] - p.y;
+			dest[i] = dx * dx + dy * dy;
+		}
+		return dest;
+	}
+	
+	/**
+	 * Find the point in this buffer that is nearest to a point.
+	 * 
+	 * @param p
+	 * 		The point for which the nearest point is searched.
+	 * 
+	 * @return
+	 * 		The index of the nearest point or -1 if the buffer is empty.
+	 */
+	public int nearest(Vector2D p) {
+		return nearest(p.x, p.y);
+	}
+	/**
+	 * Find the point in this buffer that is nearest to a point.
+	 * 
+	 * @return
+	 * 		The index of the nearest point or -1 if the buffer is empty.
+	 */
+	public int nearest(double x, double y) {
+		int nearest = -1;
+		double nearestDistanceSquared = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < size; i++) {
+			double dx = xs[i] - x;
+			double dy = ys[i] - y;
+			//compare the squared distances to not calculate a square root for every point
+			double distanceSquared = dx * dx + dy * dy;
+			if (distanceSquared < nearestDistanceSquared) {
+				nearest = i;
+				nearestDistanceSquared = distanceSquared;
+			}
+		}
+		return nearest;
+	}
+	
+	/**
+	 * Get the bounding box of all points in this buffer.
+	 * 
+	 * @return
+	 * 		A Vector2D-Array with the minimum (index 0) and the maximum (index 1) coordinates.
+	 * 
+	 * @throws LinearAlgebraException
+	 * 		A {@link LinearAlgebraException} is thrown if the buffer is empty.
+	 */
+	public Vector2D[] getBounds() throws LinearAlgebraException {
+		if (size == 0) {
+			throw new LinearAlgebraException("An empty buffer has no bounds.");
+		}
+		double minX = xs[0];
+		double minY = ys[0];
+		double maxX = xs[0];
+		double maxY = ys[0];
+		for (int i = 1; i < size; i++) {
+			minX = Math.min(minX, xs[i]);
+			minY = Math.min(minY, ys[i]);
+			maxX = Math.max(maxX, xs[i]);
+			maxY = Math.max(maxY, ys[i]);
+		}
+		return new Vector2D[] {new Vector2D(minX, minY), new Vector2D(maxX, maxY)};
+	}
+	
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+}
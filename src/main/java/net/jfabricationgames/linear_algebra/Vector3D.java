@@ -1,7 +1,5 @@
 package net.jfabricationgames.linear_algebra;
 
-import net.jfabricationgames.linear_algebra.Gauss.GaussCalculationException;
-
 public class Vector3D {
 	
 	public double x;
@@ -11,6 +9,11 @@ public class Vector3D {
 	public static final Vector3D NAN_VEC = new Vector3D(Double.NaN, Double.NaN, Double.NaN);
 	public static final Vector3D NULL_VEC = new Vector3D(0, 0, 0);
 	
+	/**
+	 * The default tolerance for three vectors to be linearly dependent (relative to the product of their lengths)
+	 */
+	public static final double LINEAR_DEPENDENCE_TOLERANCE = 1e-10;
+	
 	public enum Axis {
 		X, Y, Z;
 	}
@@ -65,6 +68,7 @@ public class Vector3D {
 	private Vector3D(Vector3D clone) {
 		this.x = clone.x;
 		this.y = clone.y;
+		this.z = clone.z;
 	}
 	
 	@Override
@@ -111,7 +115,7 @@ public class Vector3D {
 	 * The (euclidean) length of the Vector.
 	 */
 	public double length() {
-		return Math.sqrt(Math.pow(x, 2) + Math.pow(y, 2) + Math.pow(z, 2));
+		return Math.sqrt(x * x + y * y + z * z);
 	}
 	/**
 	 * The length of this vector in a given norm.
@@ -122,10 +126,7 @@ public class Vector3D {
 	 * @return The length of this vector in the given norm.
 	 */
 	public double length(int norm) {
-		if (norm == Integer.MAX_VALUE) {
-			return Math.max(Math.max(x, y), z);
-		}
-		return Math.pow(Math.pow(x, norm) + Math.pow(y, norm) + Math.pow(z, norm), 1.0 / norm);
+		return norm(x, y, z, norm);
 	}
 	
 	/**
@@ -153,6 +154,51 @@ public class Vector3D {
 				return null;
 		}
 	}
+	/**
+	 * Rotate this vector an angle (in degrees) around an axis and store the result in a destination vector (without creating a new Vector).
+	 * 
+	 * @param degrees
+	 *        The angle to return the vector.
+	 * 
+	 * @param axis
+	 *        The axis around which the vector is rotated.
+	 * 
+	 * @param dest
+	 *        The vector that holds the result (can be this vector).
+	 * 
+	 * @return The destination vector.
+	 */
+	public Vector3D rotate(double degrees, Axis axis, Vector3D dest) {
+		double cos = Math.cos(degrees * Math.PI / 180);
+		double sin = Math.sin(degrees * Math.PI / 180);
+		switch (axis) {
+			case X:
+				dest.move(x, cos * y - sin * z, sin * y + cos * z);
+				return dest;
+			case Y:
+				dest.move(cos * x + sin * z, y, -sin * x + cos * z);
+				return dest;
+			case Z:
+				dest.move(cos * x - sin * y, sin * x + cos * y, z);
+				return dest;
+			default:
+				return null;
+		}
+	}
+	/**
+	 * Rotate this vector an angle (in degrees) around an axis changing this vector.
+	 * 
+	 * @param degrees
+	 *        The angle to return the vector.
+	 * 
+	 * @param axis
+	 *        The axis around which the vector is rotated.
+	 * 
+	 * @return This vector.
+	 */
+	public Vector3D rotateInPlace(double degrees, Axis axis) {
+		return rotate(degrees, axis, this);
+	}
 	
 	/**
 	 * Project the vector given as parameter on this vector.
@@ -165,6 +211,20 @@ public class Vector3D {
 	public Vector3D project(Vector3D vec) {
 		return mult(scalar(vec) / Math.pow(length(), 2));
 	}
+	/**
+	 * Project the vector given as parameter on this vector and store the result in a destination vector (without creating a new Vector).
+	 * 
+	 * @param vec
+	 *        The vector that is to be projected on this vector.
+	 * 
+	 * @param dest
+	 *        The vector that holds the result (can be this vector or the parameter vector).
+	 * 
+	 * @return The destination vector.
+	 */
+	public Vector3D project(Vector3D vec, Vector3D dest) {
+		return mult(scalar(vec) / (x * x + y * y + z * z), dest);
+	}
 	
 	/**
 	 * Add another Vector3D to this vector resulting in a new Vector that is returned.
@@ -177,6 +237,32 @@ public class Vector3D {
 	public Vector3D add(Vector3D vec) {
 		return new Vector3D(x + vec.x, y + vec.y, z + vec.z);
 	}
+	/**
+	 * Add another Vector3D to this vector and store the result in a destination vector (without creating a new Vector).
+	 * 
+	 * @param vec
+	 *        The vector added to this vector.
+	 * 
+	 * @param dest
+	 *        The vector that holds the result (can be this vector or the parameter vector).
+	 * 
+	 * @return The destination vector.
+	 */
+	public Vector3D add(Vector3D vec, Vector3D dest) {
+		dest.move(x + vec.x, y + vec.y, z + vec.z);
+		return dest;
+	}
+	/**
+	 * Add another Vector3D to this vector changing this vector.
+	 * 
+	 * @param vec
+	 *        The vector added to this vector.
+	 * 
+	 * @return This vector.
+	 */
+	public Vector3D addInPlace(Vector3D vec) {
+		return add(vec, this);
+	}
 	/**
 	 * Subtract another Vector3D from this vector resulting in a new Vector that is returned.
 	 * 
@@ -188,6 +274,32 @@ public class Vector3D {
 	public Vector3D sub(Vector3D vec) {
 		return new Vector3D(x - vec.x, y - vec.y, z - vec.z);
 	}
+	/**
+	 * Subtract another Vector3D from this vector and store the result in a destination vector (without creating a new Vector).
+	 * 
+	 * @param vec
+	 *        The vector subtracted from this vector.
+	 * 
+	 * @param dest
+	 *        The vector that holds the result (can be this vector or the parameter vector).
+	 * 
+	 * @return The destination vector.
+	 */
+	public Vector3D sub(Vector3D vec, Vector3D dest) {
+		dest.move(x - vec.x, y - vec.y, z - vec.z);
+		return dest;
+	}
+	/**
+	 * Subtract another Vector3D from this vector changing this vector.
+	 * 
+	 * @param vec
+	 *        The vector subtracted from this vector.
+	 * 
+	 * @return This vector.
+	 */
+	public Vector3D subInPlace(Vector3D vec) {
+		return sub(vec, this);
+	}
 	/**
 	 * Multiply this vector with a scalar resulting in a new Vector that is returned.
 	 * 
@@ -199,6 +311,32 @@ public class Vector3D {
 	public Vector3D mult(double scalar) {
 		return new Vector3D(x * scalar, y * scalar, z * scalar);
 	}
+	/**
+	 * Multiply this vector with a scalar and store the result in a destination vector (without creating a new Vector).
+	 * 
+	 * @param scalar
+	 *        The scalar to multiply this vector with.
+	 * 
+	 * @param dest
+	 *        The vector that holds the result (can be this vector).
+	 * 
+	 * @return The destination vector.
+	 */
+	public Vector3D mult(double scalar, Vector3D dest) {
+		dest.move(x * scalar, y * scalar, z * scalar);
+		return dest;
+	}
+	/**
+	 * Multiply this vector with a scalar changing this vector.
+	 * 
+	 * @param scalar
+	 *        The scalar to multiply this vector with.
+	 * 
+	 * @return This vector.
+	 */
+	public Vector3D multInPlace(double scalar) {
+		return mult(scalar, this);
+	}
 	
 	/**
 	 * Check whether this vector is linearly dependent to the parameter vector.
@@ -234,21 +372,59 @@ public class Vector3D {
 			return vectors[0].isLinearlyDependent(vectors[1]);
 		}
 		else {
-			//three vectors -> generate a gauss system
-			Matrix2D m = new Matrix2D(Matrix2D.Orientation.COL, vectors);
-			double[] b = {0, 0, 0};
-			Gauss gauss = Gauss.calculateGauss(m, b);
-			try {
-				double[] x = gauss.getXVec();
-				//there must be at least one solution (the trivial solution)
-				//if it's the trivial solution they are not linearly dependent
-				return !(Math.abs(x[0]) < 1e-5 && Math.abs(x[1]) < 1e-5 && Math.abs(x[2]) < 1e-5);
-			}
-			catch (GaussCalculationException gce) {
-				//can't be calculated because of multiple solutions -> they are linearly dependent
-				return true;
-			}
+			return isLinearlyDependentVectors(vectors[0], vectors[1], vectors[2], LINEAR_DEPENDENCE_TOLERANCE);
+		}
+	}
+	/**
+	 * Check whether three vectors are linearly dependent, using the scalar triple product (the determinant of the matrix of the vectors), which
+	 * is 0 if the vectors are linearly dependent. No objects are created.
+	 * 
+	 * @param a
+	 *        The first vector.
+	 * 
+	 * @param b
+	 *        The second vector.
+	 * 
+	 * @param c
+	 *        The third vector.
+	 * 
+	 * @param tolerance
+	 *        The maximum absolute value of the triple product relative to the product of the lengths of the vectors (which is the sine of the
+	 *        angle between a and the plane of b and c times the sine of the angle between b and c).
+	 * 
+	 * @return True if the vectors are linearly dependent. False otherwise.
+	 */
+	public static boolean isLinearlyDependentVectors(Vector3D a, Vector3D b, Vector3D c, double tolerance) {
+		double maxA = a.maxAbsComponent();
+		double maxB = b.maxAbsComponent();
+		double maxC = c.maxAbsComponent();
+		if (maxA == 0 || maxB == 0 || maxC == 0) {
+			//a null vector is linearly dependent to all other vectors
+			return true;
 		}
+		//scale the vectors by their largest components, so the products of the (squared) lengths can't overflow or underflow
+		double ax = a.x / maxA;
+		double ay = a.y / maxA;
+		double az = a.z / maxA;
+		double bx = b.x / maxB;
+		double by = b.y / maxB;
+		double bz = b.z / maxB;
+		double cx = c.x / maxC;
+		double cy = c.y / maxC;
+		double cz = c.z / maxC;
+		
+		//a * (b x c)
+		double tripleProduct = ax * (by * cz - bz * cy) + ay * (bz * cx - bx * cz) + az * (bx * cy - by * cx);
+		//compare the squared values (so no square roots are needed to calculate the lengths)
+		double squaredLengths = (ax * ax + ay * ay + az * az) * (bx * bx + by * by + bz * bz) * (cx * cx + cy * cy + cz * cz);
+		return tripleProduct * tripleProduct <= tolerance * tolerance * squaredLengths;
+	}
+	
+	/**
+	 * The largest absolute value of the components (used to scale the vector before products of lengths are calculated).
+	 */
+	double maxAbsComponent() {
+		return Math.max(Math.abs(x), Math.max(Math.abs(y), Math.abs(z)));
 	}
 	
 	/**
@@ -274,6 +450,33 @@ public class Vector3D {
 	public Vector3D cross(Vector3D vec) {
 		return new Vector3D(y * vec.z - z * vec.y, z * vec.x - x * vec.z, x * vec.y - y * vec.x);
 	}
+	/**
+	 * Calculate the cross product of this vector with another vector (resulting vector = this X parameter vector) and store the result in a
+	 * destination vector (without creating a new Vector).
+	 * 
+	 * @param vec
+	 *        The second vector for the cross product calculation.
+	 * 
+	 * @param dest
+	 *        The vector that holds the result (can be this vector or the parameter vector).
+	 * 
+	 * @return The destination vector.
+	 */
+	public Vector3D cross(Vector3D vec, Vector3D dest) {
+		dest.move(y * vec.z - z * vec.y, z * vec.x - x * vec.z, x * vec.y - y * vec.x);
+		return dest;
+	}
+	/**
+	 * Calculate the cross product of this vector with another vector (this = this X parameter vector) changing this vector.
+	 * 
+	 * @param vec
+	 *        The second vector for the cross product calculation.
+	 * 
+	 * @return This vector.
+	 */
+	public Vector3D crossInPlace(Vector3D vec) {
+		return cross(vec, this);
+	}
 	
 	/**
 	 * Create a new vector with the same direction but a different length as this vector.
@@ -287,6 +490,33 @@ public class Vector3D {
 		double len = length();
 		return new Vector3D(x * length / len, y * length / len, z * length / len);
 	}
+	/**
+	 * Set a vector with the same direction but a different length as this vector as the destination vector (without creating a new Vector).
+	 * 
+	 * @param length
+	 *        The length of the new vector.
+	 * 
+	 * @param dest
+	 *        The vector that holds the result (can be this vector).
+	 * 
+	 * @return The destination vector.
+	 */
+	public Vector3D setLength(double length, Vector3D dest) {
+		double len = length();
+		dest.move(x * length / len, y * length / len, z * length / len);
+		return dest;
+	}
+	/**
+	 * Change the length of this vector (keeping the direction).
+	 * 
+	 * @param length
+	 *        The new length of this vector.
+	 * 
+	 * @return This vector.
+	 */
+	public Vector3D setLengthInPlace(double length) {
+		return setLength(length, this);
+	}
 	
 	/**
 	 * Get the distance of this point's position vector to another point's position vector.
@@ -311,8 +541,36 @@ public class Vector3D {
 	 * @return The distance between the points in the given norm.
 	 */
 	public double distance(Vector3D p, int norm) {
-		return Math.pow((Math.pow(Math.abs(this.x - p.x), norm) + Math.pow(Math.abs(this.y - p.y), norm) + Math.pow(Math.abs(this.z - p.z), norm)),
-				1d / norm);
+		return norm(this.x - p.x, this.y - p.y, this.z - p.z, norm);
+	}
+	/**
+	 * Get the squared distance of this point's position vector to another point's position vector. Comparing squared distances gives the same
+	 * result as comparing distances, but doesn't need a square root.
+	 * 
+	 * @param p
+	 *        The second point's position vector.
+	 * 
+	 * @return The squared distance between the points.
+	 */
+	public double distanceSquared(Vector3D p) {
+		return (this.x - p.x) * (this.x - p.x) + (this.y - p.y) * (this.y - p.y) + (this.z - p.z) * (this.z - p.z);
+	}
+	
+	/**
+	 * Calculate the length of the vector (x, y, z) in a given norm.
+	 */
+	private static double norm(double x, double y, double z, int norm) {
+		//the most common norms are calculated without Math.pow
+		switch (norm) {
+			case 1:
+				return Math.abs(x) + Math.abs(y) + Math.abs(z);
+			case 2:
+				return Math.sqrt(x * x + y * y + z * z);
+			case Integer.MAX_VALUE:
+				return Math.max(Math.max(Math.abs(x), Math.abs(y)), Math.abs(z));
+			default:
+				return Math.pow(Math.pow(Math.abs(x), norm) + Math.pow(Math.abs(y), norm) + Math.pow(Math.abs(z), norm), 1d / norm);
+		}
 	}
 	
 	/**
@@ -323,6 +581,14 @@ public class Vector3D {
 		this.y = y;
 		this.z = z;
 	}
+	/**
+	 * Change this vector to the coordinates of another vector.
+	 */
+	public void move(Vector3D vec) {
+		this.x = vec.x;
+		this.y = vec.y;
+		this.z = vec.z;
+	}
 	
 	/**
 	 * Move a point's position vector in a direction (by a vector) and a distance.
@@ -343,6 +609,44 @@ public class Vector3D {
 		double coef = distance / d;
 		return new Vector3D(x + dx * coef, y + dy * coef, z + dz * coef);
 	}
+	/**
+	 * Move a point's position vector in a direction (by a vector) and a distance and store the result in a destination vector (without creating a
+	 * new Vector).
+	 * 
+	 * @param p
+	 *        The direction vector.
+	 * 
+	 * @param distance
+	 *        The distance to move the new vector
+	 * 
+	 * @param dest
+	 *        The vector that holds the result (can be this vector or the direction vector).
+	 * 
+	 * @return The destination vector.
+	 */
+	public Vector3D moveTo(Vector3D p, double distance, Vector3D dest) {
+		double d = distance(p);
+		double dx = p.x - x;
+		double dy = p.y - y;
+		double dz = p.z - z;
+		double coef = distance / d;
+		dest.move(x + dx * coef, y + dy * coef, z + dz * coef);
+		return dest;
+	}
+	/**
+	 * Move this point's position vector in a direction (by a vector) and a distance changing this vector.
+	 * 
+	 * @param p
+	 *        The direction vector.
+	 * 
+	 * @param distance
+	 *        The distance to move this vector
+	 * 
+	 * @return This vector.
+	 */
+	public Vector3D moveToInPlace(Vector3D p, double distance) {
+		return moveTo(p, distance, this);
+	}
 	
 	/**
 	 * Get the angle difference of this vector to another vector.
@@ -371,6 +675,21 @@ public class Vector3D {
 	public Vector3D vectorTo(Vector3D vec) {
 		return new Vector3D(vec.x - x, vec.y - y, vec.z - z);
 	}
+	/**
+	 * Get the vector from this point to another and store it in a destination vector (without creating a new Vector).
+	 * 
+	 * @param vec
+	 *        The point to which the vector is calculated.
+	 * 
+	 * @param dest
+	 *        The vector that holds the result (can be this vector or the parameter vector).
+	 * 
+	 * @return The destination vector.
+	 */
+	public Vector3D vectorTo(Vector3D vec, Vector3D dest) {
+		dest.move(vec.x - x, vec.y - y, vec.z - z);
+		return dest;
+	}
 	
 	/**
 	 * Checks whether a point (by its position vector) is in a given range of this point.
@@ -384,6 +703,31 @@ public class Vector3D {
 	 * @return True if the point is in the range of this point (distance <= range).
 	 */
 	public boolean isInRange(Vector3D p, double range) {
-		return p != this && distance(p) <= range;
+		if (p == this || range < 0) {
+			return false;
+		}
+		double distanceSquared = distanceSquared(p);
+		double rangeSquared = range * range;
+		if (Math.abs(distanceSquared - rangeSquared) > 1e-12 * rangeSquared) {
+			//the squared values can be compared without a square root
+			return distanceSquared < rangeSquared;
+		}
+		//too close to decide on the squared values (rounding errors) -> compare the distance itself
+		return Math.sqrt(distanceSquared) <= range;
+	}
+	/**
+	 * Checks whether a point (by its position vector) is in a given range of this point, using the squared range. If the same range is checked for
+	 * many points the squared range can be calculated only once.
+	 * 
+	 * @param p
+	 *        The point that is checked.
+	 * 
+	 * @param rangeSquared
+	 *        The squared range used for the check.
+	 * 
+	 * @return True if the point is in the range of this point (distance^2 <= range^2).
+	 */
+	public boolean isInRangeSquared(Vector3D p, double rangeSquared) {
+		return p != this && distanceSquared(p) <= rangeSquared;
 	}
 }
\ No newline at end of file
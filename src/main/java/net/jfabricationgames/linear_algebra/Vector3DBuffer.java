@@ -0,0 +1,402 @@
+package net.jfabricationgames.linear_algebra;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A growable list of 3D points (or vectors) that stores the coordinates in primitive arrays (one for each axis) instead of Vector3D objects.
+ * 
+ * The bulk operations work on all points in the buffer at once and don't create any objects, which makes them much faster than a loop over a
+ * List&lt;Vector3D&gt; for large numbers of points.
+ */
+public class Vector3DBuffer {
+	
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	protected double[] xs;
+	protected double[] ys;
+	protected double[] zs;
+	protected int size;
+	
+	public Vector3DBuffer() {
+		this(DEFAULT_CAPACITY);
+	}
+	public Vector3DBuffer(int capacity) {
+		if (capacity < 0) {
+			throw new LinearAlgebraException("The capacity of a buffer can't be negative.");
+		}
+		xs = new double[capacity];
+		ys = new double[capacity];
+		zs = new double[capacity];
+	}
+	/**
+	 * Create a buffer that holds the coordinates of all the given points.
+	 */
+	public Vector3DBuffer(List<Vector3D> points) {
+		this(points.size());
+		for (Vector3D point : points) {
+			append(point.x, point.y, point.z);
+		}
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Vector3DBuffer[size: ").append(size).append(" points: ");
+		for (int i = 0; i < size; i++) {
+			sb.append('(').append(xs[i]).append(", ").append(ys[i]).append(", ").append(zs[i]).append(')');
+		}
+		sb.append(']');
+		return sb.toString();
+	}
+	
+	/**
+	 * Convert the buffer to a list of (new created) Vector3D objects.
+	 */
+	public List<Vector3D> toList() {
+		List<Vector3D> points = new ArrayList<Vector3D>(size);
+		for (int i = 0; i < size; i++) {
+			points.add(new Vector3D(xs[i], ys[i], zs[i]));
+		}
+		return points;
+	}
+	
+	/**
+	 * The number of points in this buffer.
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Remove all points from this buffer (the capacity is kept).
+	 */
+	public void clear() {
+		size = 0;
+	}
+	
+	/**
+	 * Make sure the buffer can hold at least the given number of points without growing.
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity > xs.length) {
+			int newCapacity = Math.max(capacity, xs.length * 2);
+			xs = Arrays.copyOf(xs, newCapacity);
+			ys = Arrays.copyOf(ys, newCapacity);
+			zs = Arrays.copyOf(zs, newCapacity);
+		}
+	}
+	
+	/**
+	 * Add a point to the end of this buffer.
+	 */
+	public void append(double x, double y, double z) {
+		ensureCapacity(size + 1);
+		xs[size] = x;
+		ys[size] = y;
+		zs[size] = z;
+		size++;
+	}
+	/**
+	 * Add a point to the end of this buffer.
+	 */
+	public void append(Vector3D point) {
+		append(point.x, point.y, point.z);
+	}
+	
+	public double getX(int index) {
+		checkIndex(index);
+		return xs[index];
+	}
+	public double getY(int index) {
+		checkIndex(index);
+		return ys[index];
+	}
+	public double getZ(int index) {
+		checkIndex(index);
+		return zs[index];
+	}
+	/**
+	 * Get the point at the index as a new Vector3D.
+	 */
+	public Vector3D get(int index) {
+		return get(index, new Vector3D());
+	}
+	/**
+	 * Get the point at the index by storing it's coordinates in the destination vector (without creating a new Vector).
+	 * 
+	 * @return The destination vector.
+	 */
+	public Vector3D get(int index, Vector3D dest) {
+		checkIndex(index);
+		dest.move(xs[index], ys[index], zs[index]);
+		return dest;
+	}
+	
+	/**
+	 * Change the point at the index to the new coordinates.
+	 */
+	public void set(int index, double x, double y, double z) {
+		checkIndex(index);
+		xs[index] = x;
+		ys[index] = y;
+		zs[index] = z;
+	}
+	/**
+	 * Change the point at the index to the coordinates of the vector.
+	 */
+	public void set(int index, Vector3D point) {
+		set(index, point.x, point.y, point.z);
+	}
+	
+	/**
+	 * Add the points of another buffer to the points of this buffer (point by point). This buffer is changed.
+	 * 
+	 * @param buffer
+	 *        The buffer that is added to this buffer (must have the same size).
+	 * 
+	 * @return This buffer.
+	 */
+	public Vector3DBuffer add(Vector3DBuffer buffer) {
+		checkSameSize(buffer);
+		for (int i = 0; i < size; i++) {
+			xs[i] += buffer.xs[i];
+			ys[i] += buffer.ys[i];
+			zs[i] += buffer.zs[i];
+		}
+		return this;
+	}
+	
+	/**
+	 * Move all points of this buffer by a vector. This buffer is changed.
+	 * 
+	 * @return This buffer.
+	 */
+	public Vector3DBuffer translate(Vector3D vec) {
+		for (int i = 0; i < size; i++) {
+			xs[i] += vec.x;
+			ys[i] += vec.y;
+			zs[i] += vec.z;
+		}
+		return this;
+	}
+	
+	/**
+	 * Multiply all points of this buffer with a scalar. This buffer is changed.
+	 * 
+	 * @return This buffer.
+	 */
+	public Vector3DBuffer scale(double scalar) {
+		for (int i = 0; i < size; i++) {
+			xs[i] *= scalar;
+			ys[i] *= scalar;
+			zs[i] *= scalar;
+		}
+		return this;
+	}
+	
+	/**
+	 * Change the length of all vectors in this buffer to 1 (keeping the directions). Null-vectors are not changed. This buffer is changed.
+	 * 
+	 * @return This buffer.
+	 */
+	public Vector3DBuffer normalize() {
+		for (int i = 0; i < size; i++) {
+			double lengthSquared = xs[i] * xs[i] + ys[i] * ys[i] + zs[i] * zs[i];
+			if (lengthSquared > 0) {
+				double inverseLength = 1 / Math.sqrt(lengthSquared);
+				xs[i] *= inverseLength;
+				ys[i] *= inverseLength;
+				zs[i] *= inverseLength;
+			}
+		}
+		return this;
+	}
+	
+	/**
+	 * Calculate the scalar products of all vectors in this buffer with a vector.
+	 * 
+	 * @param vec
+	 *        The vector to calculate the scalars with.
+	 * 
+	 * @param dest
+	 *        An array that holds the scalars (if it's null or too small a new array is created).
+	 * 
+	 * @return The array of scalars (the scalar of the vector i is at index i).
+	 */
+	public double[] scalars(Vector3D vec, double[] dest) {
+		dest = checkDestination(dest);
+		for (int i = 0; i < size; i++) {
+			dest[i] = xs[i] * vec.x + ys[i] * vec.y + zs[i] * vec.z;
+		}
+		return dest;
+	}
+	/**
+	 * Calculate the scalar products of all vectors in this buffer with the vectors of another buffer (vector by vector).
+	 * 
+	 * @param buffer
+	 *        The buffer with the second vectors (must have the same size).
+	 * 
+	 * @param dest
+	 *        An array that holds the scalars (if it's null or too small a new array is created).
+	 * 
+	 * @return The array of scalars (the scalar of the vectors i is at index i).
+	 */
+	public double[] scalars(Vector3DBuffer buffer, double[] dest) {
+		checkSameSize(buffer);
+		dest = checkDestination(dest);
+		for (int i = 0; i < size; i++) {
+			dest[i] = xs[i] * buffer.xs[i] + ys[i] * buffer.ys[i] + zs[i] * buffer.zs[i];
+		}
+		return dest;
+	}
+	
+	/**
+	 * Calculate the cross products of all vectors in this buffer with a vector (vector i = vector i X parameter vector). This buffer is changed.
+	 * 
+	 * @param vec
+	 *        The second vector for the cross product calculations.
+	 * 
+	 * @return This buffer.
+	 */
+	public Vector3DBuffer cross(Vector3D vec) {
+		for (int i = 0; i < size; i++) {
+			double x = xs[i];
+			double y = ys[i];
+			double z = zs[i];
+			xs[i] = y * vec.z - z * vec.y;
+			ys[i] = z * vec.x - x * vec.z;
+			zs[i] = x * vec.y - y * vec.x;
+		}
+		return this;
+	}
+	/**
+	 * Calculate the cross products of all vectors in this buffer with the vectors of another buffer (vector i = vector i X parameter vector i).
+	 * This buffer is changed.
+	 * 
+	 * @param buffer
+	 *        The buffer with the second vectors (must have the same size).
+	 * 
+	 * @return This buffer.
+	 */
+	public Vector3DBuffer cross(Vector3DBuffer buffer) {
+		checkSameSize(buffer);
+		for (int i = 0; i < size; i++) {
+			double x = xs[i];
+			double y = ys[i];
+			double z = zs[i];
+			xs[i] = y * buffer.zs[i] - z * buffer.ys[i];
+			ys[i] = z * buffer.xs[i] - x * buffer.zs[i];
+			zs[i] = x * buffer.ys[i] - y * buffer.xs[i];
+		}
+		return this;
+	}
+	
+	/**
+	 * Calculate the distances of all points in this buffer to a point.
+	 * 
+	 * @param p
+	 *        The point to which the distances are calculated.
+	 * 
+	 * @param dest
+	 *        An array that holds the distances (if it's null or too small a new array is created).
+	 * 
+	 * @return The array of distances (the distance of the point i is at index i).
+	 */
+	public double[] distances(Vector3D p, double[] dest) {
+		dest = checkDestination(dest);
+		for (int i = 0; i < size; i++) {
+			double dx = xs[i] - p.x;
+			double dy = ys[i] - p.y;
+			double dz = zs[i] - p.z;
+			dest[i] = Math.sqrt(dx * dx + dy * dy + dz * dz);
+		}
+		return dest;
+	}
+	
+	/**
+	 * Calculate the squared distances of all points in this buffer to a point (without calculating a square root for every point).
+	 * 
+	 * @param p
+	 *        The point to which the distances are calculated.
+	 * 
+	 * @param dest
+	 *        An array that holds the squared distances (if it's null or too small a new array is created).
+	 * 
+	 * @return The array of squared distances (the squared distance of the point i is at index i).
+	 */
+	public double[] distancesSquared(Vector3D p, double[] dest) {
+		dest = checkDestination(dest);
+		for (int i = 0; i < size; i++) {
+			double dx = xs[i] - p.x;
+			double dy = ys[i] - p.y;
+			double dz = zs[i] - p.z;
+			dest[i] = dx * dx + dy * dy + dz * dz;
+		}
+		return dest;
+	}
+	
+	/**
+	 * Calculate the distances of all points in this buffer to a plane (like {@link Plane3D#getDistance(Vector3D)}).
+	 * 
+	 * @param plane
+	 *        The plane to which the distances are calculated.
+	 * 
+	 * @param dest
+	 *        An array that holds the distances (if it's null or too small a new array is created).
+	 * 
+	 * @return The array of distances (the distance of the point i is at index i).
+	 */
+	public double[] planeDistances(Plane3D plane, double[] dest) {
+		dest = plane.getSignedDistances(this, dest);
+		for (int i = 0; i < size; i++) {
+			dest[i] = Math.abs(dest[i]);
+		}
+		return dest;
+	}
+	
+	/**
+	 * Find the point in this buffer that is nearest to a point.
+	 * 
+	 * @param p
+	 *        The point for which the nearest point is searched.
+	 * 
+	 * @return The index of the nearest point or -1 if the buffer is empty.
+	 */
+	public int nearest(Vector3D p) {
+		int nearest = -1;
+		double nearestDistanceSquared = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < size; i++) {
+			double dx = xs[i] - p.x;
+			double dy = ys[i] - p.y;
+			double dz = zs[i] - p.z;
+			//compare the squared distances to not calculate a square root for every point
+			double distanceSquared = dx * dx + dy * dy + dz * dz;
+			if (distanceSquared < nearestDistanceSquared) {
+				nearest = i;
+				nearestDistanceSquared = distanceSquared;
+			}
+		}
+		return nearest;
+	}
+	
+	private double[] checkDestination(double[] dest) {
+		if (dest == null || dest.length < size) {
+			return new double[size];
+		}
+		return dest;
+	}
+	
+	private void checkSameSize(Vector3DBuffer buffer) {
+		if (buffer.size != size) {
+			throw new LinearAlgebraException("The buffers must have the same size (" + size + " != " + buffer.size + ").");
+		}
+	}
+	
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+}
@@ -0,0 +1,217 @@
+package net.jfabricationgames.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import net.jfabricationgames.linear_algebra.Vector2D;
+
+class IncrementalKMeansTest {
+	
+	private static final Vector2D[] CLUSTER_CENTERS = new Vector2D[] {new Vector2D(10, 10), new Vector2D(50, 10), new Vector2D(30, 60)};
+	private static final List<Vector2D> INITIAL_CENTERS = Arrays.asList(new Vector2D(0, 0), new Vector2D(60, 0), new Vector2D(30, 50));
+	
+	/**
+	 * A point with a position that can be changed (to test moving points).
+	 */
+	private static class MovingPoint {
+		
+		private Vector2D position;
+		
+		public MovingPoint(Vector2D position) {
+			this.position = position;
+		}
+	}
+	
+	@Test
+	public void testAddPoints() {
+		IncrementalKMeans<Vector2D> kMeans = new IncrementalKMeans<>(Arrays.asList(new Vector2D(0, 0), new Vector2D(10, 0)), v -> v);
+		Vector2D point = new Vector2D(1, 3);
+		Vector2D point2 = new Vector2D(9, 0);
+		
+		kMeans.addPoint(new Vector2D(1, 1));
+		kMeans.addPoint(point);
+		kMeans.addPoint(point2);
+		
+		assertEquals(3, kMeans.size());
+		assertEquals(Arrays.asList(new Vector2D(1, 2), new Vector2D(9, 0)), kMeans.getCenters());
+		assertEquals(0, kMeans.getLabel(point));
+		assertEquals(1, kMeans.getLabel(point2));
+	}
+	
+	@Test
+	public void testRemovePoint() {
+		IncrementalKMeans<Vector2D> kMeans = new IncrementalKMeans<>(Arrays.asList(new Vector2D(0, 0), new Vector2D(10, 0)), v -> v);
+		Vector2D removed = new Vector2D(1, 1);
+		Vector2D point = new Vector2D(1, 3);
+		Vector2D point2 = new Vector2D(9, 0);
+		kMeans.addPoint(removed);
+		kMeans.addPoint(point);
+		kMeans.addPoint(point2);
+		
+		//an equal point is not removed (the points are identified by their identity)
+		assertFalse(kMeans.removePoint(new Vector2D(1, 1)));
+		assertTrue(kMeans.removePoint(removed));
+		assertFalse(kMeans.removePoint(removed));
+		
+		assertEquals(2, kMeans.size());
+		assertEquals(Arrays.asList(new Vector2D(1, 3), new Vector2D(9, 0)), kMeans.getCenters());
+		//the last point was moved to the index of the removed point
+		assertEquals(1, kMeans.getLabel(point2));
+		assertEquals(0, kMeans.getLabel(point));
+	}
+	
+	@Test
+	public void testMovePoint() {
+		IncrementalKMeans<MovingPoint> kMeans = new IncrementalKMeans<>(Arrays.asList(new Vector2D(0, 0), new Vector2D(10, 0)), p -> p.position);
+		MovingPoint point = new MovingPoint(new Vector2D(1, 0));
+		kMeans.addPoint(point);
+		kMeans.addPoint(new MovingPoint(new Vector2D(9, 0)));
+		assertEquals(0, kMeans.getLabel(point));
+		
+		point.position = new Vector2D(11, 0);
+		kMeans.movePoint(point);
+		
+		assertEquals(1, kMeans.getLabel(point));
+		assertEquals(new Vector2D(10, 0), kMeans.getCenters().get(1));
+		assertEquals(0, kMeans.getResult().getClusterSize(0));
+		assertThrows(IllegalArgumentException.class, () -> kMeans.movePoint(new MovingPoint(new Vector2D())));
+	}
+	
+	@Test
+	public void testMoveVectorInPlace() {
+		//a Vector2D that is changed in place has a new hash code, but is still found
+		IncrementalKMeans<Vector2D> kMeans = new IncrementalKMeans<>(Arrays.asList(new Vector2D(0, 0), new Vector2D(10, 0)), v -> v);
+		Vector2D point = new Vector2D(1, 0);
+		kMeans.addPoint(point);
+		kMeans.addPoint(new Vector2D(9, 0));
+		
+		point.addInPlace(new Vector2D(10, 0));
+		kMeans.movePoint(point);
+		
+		assertEquals(1, kMeans.getLabel(point));
+		assertTrue(kMeans.removePoint(point));
+		assertEquals(1, kMeans.size());
+	}
+	
+	@Test
+	public void testEqualPoints() {
+		//different points with equal coordinates can be added (but not the same point twice)
+		IncrementalKMeans<Vector2D> kMeans = new IncrementalKMeans<>(Arrays.asList(new Vector2D(0, 0), new Vector2D(10, 0)), v -> v);
+		kMeans.addPoint(new Vector2D(1, 1));
+		kMeans.addPoint(new Vector2D(1, 1));
+		kMeans.addPoint(new Vector2D(9, 0));
+		
+		assertEquals(3, kMeans.size());
+		assertEquals(2, kMeans.getResult().getClusterSize(0));
+		
+		//a k-means result with equal points can be used too
+		List<Vector2D> points = Arrays.asList(new Vector2D(1, 1), new Vector2D(1, 1), new Vector2D(9, 0), new Vector2D(9, 0));
+		KMeansResult<Vector2D> result = new KMeans<>(2, points, Arrays.asList(new Vector2D(0, 0), new Vector2D(10, 0)), v -> v).findClusterResult();
+		IncrementalKMeans<Vector2D> fromResult = new IncrementalKMeans<>(result, v -> v);
+		assertEquals(4, fromResult.size());
+		assertEquals(result.getCenters(), fromResult.getCenters());
+	}
+	
+	@Test
+	public void testSumsRecalculated() {
+		//adding and removing a far away point many times adds up rounding errors in the cluster sums, which are removed by recalculating them
+		IncrementalKMeans<Vector2D> kMeans = new IncrementalKMeans<>(Arrays.asList(new Vector2D(0, 0), new Vector2D(1e9, 0)), v -> v);
+		kMeans.addPoint(new Vector2D(0.1, 0.3));
+		kMeans.addPoint(new Vector2D(0.2, 0.4));
+		Random random = new Random(42);
+		for (int i = 0; i < 100000; i++) {
+			Vector2D farPoint = new Vector2D(-random.nextDouble() * 1e6, random.nextDouble() * 1e6);
+			kMeans.addPoint(farPoint);
+			kMeans.removePoint(farPoint);
+		}
+		
+		//the far points are nearer to the first center, so the rounding errors are in it's sum
+		assertEquals(new Vector2D(0.15, 0.35), kMeans.getCenters().get(0));
+		assertEquals(0.15, kMeans.getCenters().get(0).x, 1e-12);
+	}
+	
+	@Test
+	public void testSameResultAsKMeans() {
+		List<Vector2D> points = KMeansTest.createClusteredPoints(3000, new Random(42), CLUSTER_CENTERS);
+		IncrementalKMeans<Vector2D> incrementalKMeans = new IncrementalKMeans<>(INITIAL_CENTERS, v -> v);
+		for (Vector2D point : points) {
+			incrementalKMeans.addPoint(point);
+		}
+		KMeansResult<Vector2D> result = incrementalKMeans.getResult();
+		KMeansResult<Vector2D> expected = new KMeans<>(3, points, INITIAL_CENTERS, v -> v).findClusterResult();
+		
+		assertArrayEquals(expected.getLabels(), result.getLabels());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(expected.getCenter(i), result.getCenter(i));
+			assertEquals(1000, result.getClusterSize(i));
+		}
+	}
+	
+	@Test
+	public void testReassignAfterCentersMoved() {
+		//moving a whole cluster moves it's center, so some points of another cluster are nearer to the moved center
+		List<MovingPoint> points = new ArrayList<MovingPoint>();
+		for (Vector2D point : KMeansTest.createClusteredPoints(3000, new Random(42), CLUSTER_CENTERS)) {
+			points.add(new MovingPoint(point));
+		}
+		IncrementalKMeans<MovingPoint> kMeans = new IncrementalKMeans<>(INITIAL_CENTERS, p -> p.position);
+		for (MovingPoint point : points) {
+			kMeans.addPoint(point);
+		}
+		KMeansResult<MovingPoint> result = kMeans.getResult();
+		
+		//move the points of the third cluster into the first cluster in small steps (updating the clusters after every step)
+		List<MovingPoint> movingCluster = result.getCluster(2);
+		for (int step = 0; step < 10; step++) {
+			for (MovingPoint point : movingCluster) {
+				point.position = point.position.add(new Vector2D(-1.6, -4.6));
+				kMeans.movePoint(point);
+			}
+			kMeans.update();
+		}
+		
+		List<Vector2D> vectors = new ArrayList<Vector2D>();
+		for (MovingPoint point : points) {
+			vectors.add(point.position);
+		}
+		KMeansResult<Vector2D> expected = new KMeans<>(3, vectors, kMeans.getResult().getCenters(), v -> v).findClusterResult();
+		KMeansResult<MovingPoint> updated = kMeans.getResult();
+		//the clusters overlap now, so some points changed their cluster
+		assertTrue(updated.getClusterSize(0) != 1000);
+		//the incremental clustering is converged, so a k-means run from it's centers doesn't change anything
+		assertArrayEquals(expected.getLabels(), updated.getLabels());
+		assertEquals(expected.getCenters(), updated.getCenters());
+	}
+	
+	@Test
+	public void testFromResult() {
+		List<Vector2D> points = KMeansTest.createClusteredPoints(300, new Random(42), CLUSTER_CENTERS);
+		KMeansResult<Vector2D> result = new KMeans<>(3, points, INITIAL_CENTERS, v -> v).findClusterResult();
+		
+		IncrementalKMeans<Vector2D> kMeans = new IncrementalKMeans<>(result, v -> v);
+		
+		assertEquals(300, kMeans.size());
+		assertEquals(result.getCenters(), kMeans.getCenters());
+		assertArrayEquals(result.getLabels(), kMeans.getResult().getLabels());
+	}
+	
+	@Test
+	public void testIllegalArguments() {
+		assertThrows(IllegalArgumentException.class, () -> new IncrementalKMeans<Vector2D>(Arrays.asList(new Vector2D()), v -> v));
+		IncrementalKMeans<Vector2D> kMeans = new IncrementalKMeans<>(INITIAL_CENTERS, v -> v);
+		Vector2D point = new Vector2D(1, 1);
+		kMeans.addPoint(point);
+		assertThrows(IllegalArgumentException.class, () -> kMeans.addPoint(point));
+		assertThrows(IllegalArgumentException.class, () -> kMeans.getLabel(new Vector2D(2, 2)));
+	}
+}
@@ -0,0 +1,162 @@
+package net.jfabricationgames.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import net.jfabricationgames.linear_algebra.Vector2D;
+
+class KMeansResultTest {
+	
+	@Test
+	public void testFindClusterResult() {
+		List<Vector2D> points = Arrays.asList(new Vector2D(1, 1), new Vector2D(3, 3), new Vector2D(2, 1), new Vector2D(1, 2), new Vector2D(2, 2));
+		List<Vector2D> initialCenters = Arrays.asList(new Vector2D(2, 1), new Vector2D(3, 4));
+		KMeans<Vector2D> kMeans = new KMeans<>(2, points, initialCenters, v -> v);
+		
+		KMeansResult<Vector2D> result = kMeans.findClusterResult();
+		
+		assertEquals(2, result.getK());
+		assertEquals(new Vector2D(1.5, 1.5), result.getCenter(0));
+		assertEquals(new Vector2D(3, 3), result.getCenter(1));
+		assertEquals(4, result.getClusterSize(0));
+		assertEquals(1, result.getClusterSize(1));
+		assertEquals(1, result.getLabel(1));
+		assertEquals(Arrays.asList(points.get(0), points.get(2), points.get(3), points.get(4)), result.getCluster(0));
+		assertEquals(Arrays.asList(result.getCluster(0), result.getCluster(1)), result.getClusters());
+		assertEquals(Arrays.asList(new Vector2D(1.5, 1.5), new Vector2D(3, 3)), result.getCenters());
+	}
+	
+	@Test
+	public void testStatistics() {
+		List<Vector2D> points = Arrays.asList(new Vector2D(1, 1), new Vector2D(3, 3), new Vector2D(2, 1), new Vector2D(1, 2), new Vector2D(2, 2));
+		List<Vector2D> initialCenters = Arrays.asList(new Vector2D(2, 1), new Vector2D(3, 4));
+		KMeans<Vector2D> kMeans = new KMeans<>(2, points, initialCenters, v -> v);
+		
+		KMeansResult<Vector2D> result = kMeans.findClusterResult();
+		
+		assertTrue(result.hasStatistics());
+		assertEquals(new Vector2D(6, 6), result.getClusterSum(0));
+		assertEquals(3, result.getClusterSumY(1));
+		//all four points have a distance of sqrt(0.5) to the center (1.5, 1.5)
+		assertEquals(2, result.getDistortion(0), 1e-10);
+		assertEquals(0, result.getDistortion(1), 1e-10);
+		assertEquals(2, result.getDistortion(), 1e-10);
+		assertEquals(4 * Math.sqrt(0.5), result.getDistanceSum(0), 1e-10);
+		assertEquals(Math.sqrt(0.5), result.getAverageDistance(0), 1e-10);
+		
+		//a result without statistics
+		KMeansResult<String> withoutStatistics = new KMeansResult<String>(Arrays.asList("a"), new int[] {0}, new double[] {1}, new double[] {1},
+				new int[] {1});
+		assertFalse(withoutStatistics.hasStatistics());
+		assertThrows(IllegalStateException.class, () -> withoutStatistics.getDistortion(0));
+	}
+	
+	@Test
+	public void testStatisticsOfLastAssignment() {
+		List<Vector2D> points = KMeansTest.createClusteredPoints(3000, new Random(42), new Vector2D(10, 10), new Vector2D(50, 10),
+				new Vector2D(30, 60));
+		for (KMeans.Algorithm algorithm : KMeans.Algorithm.values()) {
+			KMeans<Vector2D> kMeans = new KMeans<>(4, points, null, v -> v);
+			kMeans.setAlgorithm(algorithm);
+			kMeans.setRandom(new Random(42));
+			
+			KMeansResult<Vector2D> result = kMeans.findClusterResult();
+			
+			//the statistics that are collected in the last assignment are equal to the ones that are calculated from the labels
+			double[] pointsX = points.stream().mapToDouble(p -> p.x).toArray();
+			double[] pointsY = points.stream().mapToDouble(p -> p.y).toArray();
+			double[] centersX = result.getCenters().stream().mapToDouble(p -> p.x).toArray();
+			double[] centersY = result.getCenters().stream().mapToDouble(p -> p.y).toArray();
+			KMeansResult<Vector2D> expected = KMeansResult.withStatistics(points, pointsX, pointsY, result.getLabels(), centersX, centersY);
+			for (int i = 0; i < 4; i++) {
+				assertEquals(expected.getClusterSize(i), result.getClusterSize(i));
+				assertEquals(expected.getClusterSum(i).x, result.getClusterSum(i).x, 1e-6);
+				assertEquals(expected.getClusterSum(i).y, result.getClusterSum(i).y, 1e-6);
+				assertEquals(expected.getDistortion(i), result.getDistortion(i), 1e-6);
+				assertEquals(expected.getDistanceSum(i), result.getDistanceSum(i), 1e-6);
+			}
+		}
+	}
+	
+	@Test
+	public void testAsMap() {
+		List<String> points = Arrays.asList("a", "b", "c", "d");
+		KMeansResult<String> result = new KMeansResult<String>(points, new int[] {0, 1, 0, 1}, new double[] {1, 1.5}, new double[] {2, 2.5},
+				new int[] {2, 2});
+		
+		Map<Vector2D, Set<String>> map = result.asMap();
+		
+		assertEquals(2, map.size());
+		assertEquals(new HashSet<String>(Arrays.asList("a", "c")), map.get(new Vector2D(1, 2)));
+		assertEquals(new HashSet<String>(Arrays.asList("b", "d")), map.get(new Vector2D(1.5, 2.5)));
+		assertNull(map.get(new Vector2D(1, 1)));
+		assertFalse(map.containsKey("a"));
+		
+		//the keys are found by equal vectors, even if their hash codes are different
+		Vector2D almostCenter = new Vector2D(1 + 1e-10, 2);
+		assertTrue(almostCenter.hashCode() != new Vector2D(1, 2).hashCode());
+		assertTrue(map.containsKey(almostCenter));
+		assertTrue(map.keySet().contains(almostCenter));
+		
+		//the map can't be changed
+		assertThrows(UnsupportedOperationException.class, () -> map.put(new Vector2D(), new HashSet<String>()));
+		assertThrows(UnsupportedOperationException.class, () -> map.get(new Vector2D(1, 2)).add("e"));
+	}
+	
+	@Test
+	public void testAsMap_EqualCenters() {
+		//clusters with equal centers are combined into one entry
+		List<String> points = Arrays.asList("a", "b", "c");
+		KMeansResult<String> result = new KMeansResult<String>(points, new int[] {0, 1, 2}, new double[] {1, 4, 1}, new double[] {1, 4, 1},
+				new int[] {1, 1, 1});
+		
+		Map<Vector2D, Set<String>> map = result.asMap();
+		
+		assertEquals(2, map.size());
+		assertEquals(new HashSet<String>(Arrays.asList("a", "c")), map.get(new Vector2D(1, 1)));
+	}
+	
+	@Test
+	public void testToHashMap() {
+		List<String> points = Arrays.asList("a", "b", "c", "d");
+		KMeansResult<String> result = new KMeansResult<String>(points, new int[] {0, 1, 0, 1}, new double[] {1, 1.5}, new double[] {2, 2.5},
+				new int[] {2, 2});
+		
+		Map<Vector2D, Set<String>> map = result.toHashMap();
+		
+		assertTrue(map instanceof HashMap);
+		assertEquals(result.asMap(), map);
+		//the map is a modifiable copy
+		map.get(new Vector2D(1, 2)).add("e");
+		map.remove(new Vector2D(1.5, 2.5));
+		assertEquals(1, map.size());
+		assertEquals(2, result.asMap().size());
+		assertEquals(2, result.asMap().get(new Vector2D(1, 2)).size());
+	}
+	
+	@Test
+	public void testIllegalArguments() {
+		List<String> points = Arrays.asList("a", "b");
+		assertThrows(IllegalArgumentException.class,
+				() -> new KMeansResult<String>(points, new int[] {0}, new double[] {1}, new double[] {1}, new int[] {1}));
+		assertThrows(IllegalArgumentException.class,
+				() -> new KMeansResult<String>(points, new int[] {0, 0}, new double[] {1}, new double[] {1, 2}, new int[] {2}));
+		assertThrows(IllegalArgumentException.class, () -> new KMeansResult<String>(points, new int[] {0, 0}, new double[] {1}, new double[] {1},
+				new int[] {2}, new double[] {1}, null, new double[] {1}, new double[] {1}));
+		assertThrows(IllegalArgumentException.class, () -> new KMeansResult<String>(points, new int[] {0, 0}, new double[] {1}, new double[] {1},
+				new int[] {2}, new double[] {1}, new double[] {1}, new double[] {1, 2}, new double[] {1}));
+	}
+}
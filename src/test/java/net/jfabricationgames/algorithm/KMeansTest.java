@@ -1,11 +1,18 @@
 package net.jfabricationgames.algorithm;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -62,4 +69,219 @@ class KMeansTest {
 		assertTrue(clusters.get(new Vector2D(5.5, 1)).size() == 2);
 		assertTrue(clusters.get(new Vector2D(1, 7)).size() == 3);
 	}
+	
+	@Test
+	public void testParallel_ManyPoints() {
+		List<Vector2D> points = createClusteredPoints(20000, new Random(42), new Vector2D(10, 10), new Vector2D(50, 10), new Vector2D(30, 60));
+		List<Vector2D> initialCenters = Arrays.asList(new Vector2D(0, 0), new Vector2D(60, 0), new Vector2D(30, 50));
+		
+		KMeans<Vector2D> kMeans = new KMeans<>(3, points, initialCenters, v -> v);
+		Map<Vector2D, Set<Vector2D>> clusters = kMeans.findClusters();
+		
+		KMeans<Vector2D> parallelKMeans = new KMeans<>(3, points, initialCenters, v -> v);
+		parallelKMeans.setParallel(true);
+		parallelKMeans.setForkJoinPool(new ForkJoinPool(4));
+		Map<Vector2D, Set<Vector2D>> parallelClusters = parallelKMeans.findClusters();
+		
+		//the same clusters are found (the centers can differ in the last digits because the sums are added in another order)
+		assertEquals(clusters.size(), parallelClusters.size());
+		for (Map.Entry<Vector2D, Set<Vector2D>> entry : clusters.entrySet()) {
+			Vector2D parallelCenter = parallelClusters.keySet().stream().filter(center -> center.distance(entry.getKey()) < 1e-6).findFirst()
+					.orElseThrow(() -> new AssertionError("center not found: " + entry.getKey()));
+			assertEquals(entry.getValue(), parallelClusters.get(parallelCenter));
+		}
+	}
+	
+	@Test
+	public void testConverterCalledOncePerPoint() {
+		List<Vector2D> points = createClusteredPoints(1000, new Random(42), new Vector2D(10, 10), new Vector2D(50, 10), new Vector2D(30, 60));
+		List<Vector2D> initialCenters = Arrays.asList(new Vector2D(0, 0), new Vector2D(60, 0), new Vector2D(30, 50));
+		AtomicInteger conversions = new AtomicInteger();
+		KMeans<Vector2D> kMeans = new KMeans<>(3, points, initialCenters, v -> {
+			conversions.incrementAndGet();
+			return v;
+		});
+		
+		Map<Vector2D, Set<Vector2D>> clusters = kMeans.findClusters();
+		
+		assertEquals(3, clusters.size());
+		assertEquals(points.size(), conversions.get());
+	}
+	
+	@Test
+	public void testHamerly_SameClustersAsLloyd() {
+		Random random = new Random(42);
+		List<Vector2D> points = createClusteredPoints(20000, random, new Vector2D(10, 10), new Vector2D(50, 10), new Vector2D(30, 60),
+				new Vector2D(35, 30), new Vector2D(5, 50));
+		for (int k : new int[] {2, 5, 12}) {
+			List<Vector2D> initialCenters = new ArrayList<Vector2D>(k);
+			for (int i = 0; i < k; i++) {
+				initialCenters.add(new Vector2D(random.nextDouble() * 60, random.nextDouble() * 60));
+			}
+			
+			KMeansResult<Vector2D> lloyd = new KMeans<>(k, points, initialCenters, v -> v).findClusterResult();
+			
+			KMeans<Vector2D> hamerly = new KMeans<>(k, points, initialCenters, v -> v);
+			hamerly.setAlgorithm(KMeans.Algorithm.HAMERLY);
+			KMeansResult<Vector2D> hamerlyResult = hamerly.findClusterResult();
+			
+			assertArrayEquals(lloyd.getLabels(), hamerlyResult.getLabels());
+			assertEquals(lloyd.getCenters(), hamerlyResult.getCenters());
+			
+			hamerly.setParallel(true);
+			hamerly.setForkJoinPool(new ForkJoinPool(4));
+			assertArrayEquals(lloyd.getLabels(), hamerly.findClusterResult().getLabels());
+		}
+	}
+	
+	@Test
+	public void testHamerly_EqualInitialCenters() {
+		List<Vector2D> points = Arrays.asList(new Vector2D(1, 1), new Vector2D(3, 3), new Vector2D(2, 1), new Vector2D(1, 2), new Vector2D(2, 2),
+				new Vector2D(5, 1), new Vector2D(6, 1), new Vector2D(1, 6), new Vector2D(1, 7), new Vector2D(1, 8));
+		List<Vector2D> initialCenters = Arrays.asList(new Vector2D(2, 1), new Vector2D(2, 1), new Vector2D(4, 1), new Vector2D(1, 4));
+		
+		KMeansResult<Vector2D> lloyd = new KMeans<>(4, points, initialCenters, v -> v).findClusterResult();
+		KMeans<Vector2D> hamerly = new KMeans<>(4, points, initialCenters, v -> v);
+		hamerly.setAlgorithm(KMeans.Algorithm.HAMERLY);
+		
+		assertArrayEquals(lloyd.getLabels(), hamerly.findClusterResult().getLabels());
+		assertEquals(lloyd.asMap(), hamerly.findClusters());
+	}
+	
+	@Test
+	public void testSeeding_FindsSeparatedClusters() {
+		Vector2D[] clusterCenters = new Vector2D[] {new Vector2D(10, 10), new Vector2D(50, 10), new Vector2D(30, 60), new Vector2D(80, 80)};
+		List<Vector2D> points = createClusteredPoints(4000, new Random(42), clusterCenters);
+		for (KMeans.Seeding seeding : new KMeans.Seeding[] {KMeans.Seeding.KMEANS_PLUS_PLUS, KMeans.Seeding.KMEANS_PARALLEL}) {
+			KMeans<Vector2D> kMeans = new KMeans<>(4, points, null, v -> v);
+			kMeans.setSeeding(seeding);
+			kMeans.setRandom(new Random(42));
+			
+			KMeansResult<Vector2D> result = kMeans.findClusterResult();
+			
+			//the seeds are spread over the clusters, so every cluster is found
+			for (Vector2D clusterCenter : clusterCenters) {
+				assertTrue(result.getCenters().stream().anyMatch(center -> center.distance(clusterCenter) < 0.5), seeding + " " + clusterCenter);
+			}
+			for (int i = 0; i < 4; i++) {
+				assertEquals(1000, result.getClusterSize(i));
+			}
+		}
+	}
+	
+	@Test
+	public void testSeeding_Reproducible() {
+		List<Vector2D> points = createClusteredPoints(2000, new Random(42), new Vector2D(10, 10), new Vector2D(50, 10), new Vector2D(30, 60));
+		for (KMeans.Seeding seeding : KMeans.Seeding.values()) {
+			KMeans<Vector2D> kMeans = new KMeans<>(5, points, null, v -> v);
+			kMeans.setSeeding(seeding);
+			kMeans.setRandom(new Random(7));
+			KMeansResult<Vector2D> result = kMeans.findClusterResult();
+			
+			kMeans.setRandom(new Random(7));
+			KMeansResult<Vector2D> result2 = kMeans.findClusterResult();
+			
+			assertArrayEquals(result.getLabels(), result2.getLabels());
+			assertEquals(result.getCenters(), result2.getCenters());
+		}
+	}
+	
+	@Test
+	public void testSeeding_ParallelKMeansParallelEqualsSequential() {
+		//more points than in one chunk, so the k-means|| passes are split into several tasks
+		List<Vector2D> points = createClusteredPoints(20000, new Random(42), new Vector2D(10, 10), new Vector2D(50, 10), new Vector2D(30, 60));
+		KMeans<Vector2D> kMeans = new KMeans<>(5, points, null, v -> v);
+		kMeans.setSeeding(KMeans.Seeding.KMEANS_PARALLEL);
+		kMeans.setRandom(new Random(7));
+		KMeansResult<Vector2D> sequential = kMeans.findClusterResult();
+		
+		kMeans.setParallel(true);
+		kMeans.setForkJoinPool(new ForkJoinPool(4));
+		kMeans.setRandom(new Random(7));
+		KMeansResult<Vector2D> parallel = kMeans.findClusterResult();
+		
+		//the chunks sample with their own random number generators, so the seeding doesn't depend on the execution order
+		assertArrayEquals(sequential.getLabels(), parallel.getLabels());
+		assertEquals(sequential.getCenters(), parallel.getCenters());
+	}
+	
+	@Test
+	public void testSeeding_LessDifferentPointsThanK() {
+		List<Vector2D> points = Arrays.asList(new Vector2D(1, 1), new Vector2D(1, 1), new Vector2D(3, 3), new Vector2D(3, 3));
+		for (KMeans.Seeding seeding : KMeans.Seeding.values()) {
+			KMeans<Vector2D> kMeans = new KMeans<>(3, points, null, v -> v);
+			kMeans.setSeeding(seeding);
+			kMeans.setRandom(new Random(42));
+			
+			KMeansResult<Vector2D> result = kMeans.findClusterResult();
+			
+			assertEquals(3, result.getK());
+			assertEquals(result.getLabel(0), result.getLabel(1));
+			assertEquals(result.getLabel(2), result.getLabel(3));
+		}
+	}
+	
+	@Test
+	public void testMaxIterations() {
+		List<Vector2D> points = createClusteredPoints(3000, new Random(42), new Vector2D(10, 10), new Vector2D(50, 10), new Vector2D(30, 60));
+		List<Vector2D> initialCenters = Arrays.asList(new Vector2D(0, 0), new Vector2D(1, 0), new Vector2D(2, 0));
+		List<Integer> iterations = new ArrayList<Integer>();
+		KMeans<Vector2D> kMeans = new KMeans<>(3, points, initialCenters, v -> v);
+		kMeans.setIterationListener((iteration, inertia, elapsedNanos) -> iterations.add(iteration));
+		
+		KMeansResult<Vector2D> converged = kMeans.findClusterResult();
+		assertTrue(iterations.size() > 2, iterations.toString());
+		
+		iterations.clear();
+		kMeans.setMaxIterations(2);
+		KMeansResult<Vector2D> stopped = kMeans.findClusterResult();
+		
+		assertEquals(Arrays.asList(1, 2), iterations);
+		assertTrue(!converged.getCenters().equals(stopped.getCenters()));
+		//the result holds the centers that were used for the last classification
+		KMeans<Vector2D> oneIteration = new KMeans<>(3, points, stopped.getCenters(), v -> v);
+		oneIteration.setMaxIterations(1);
+		assertArrayEquals(stopped.getLabels(), oneIteration.findClusterResult().getLabels());
+		
+		assertThrows(IllegalArgumentException.class, () -> kMeans.setMaxIterations(0));
+	}
+	
+	@Test
+	public void testIterationListener() {
+		List<Vector2D> points = createClusteredPoints(3000, new Random(42), new Vector2D(10, 10), new Vector2D(50, 10), new Vector2D(30, 60));
+		List<Vector2D> initialCenters = Arrays.asList(new Vector2D(0, 0), new Vector2D(60, 0), new Vector2D(30, 50));
+		List<Double> inertias = new ArrayList<Double>();
+		List<Long> times = new ArrayList<Long>();
+		KMeans<Vector2D> kMeans = new KMeans<>(3, points, initialCenters, v -> v);
+		kMeans.setIterationListener((iteration, inertia, elapsedNanos) -> {
+			assertEquals(inertias.size() + 1, iteration);
+			inertias.add(inertia);
+			times.add(elapsedNanos);
+		});
+		
+		KMeansResult<Vector2D> result = kMeans.findClusterResult();
+		
+		//the inertia never increases and the last inertia belongs to the result
+		for (int i = 1; i < inertias.size(); i++) {
+			assertTrue(inertias.get(i) <= inertias.get(i - 1));
+			assertTrue(times.get(i) >= times.get(i - 1));
+		}
+		double inertia = 0;
+		for (int i = 0; i < points.size(); i++) {
+			inertia += Math.pow(points.get(i).distance(result.getCenter(result.getLabel(i))), 2);
+		}
+		assertEquals(inertia, inertias.get(inertias.size() - 1), 1e-6);
+	}
+	
+	/**
+	 * Create points that are randomly distributed around some centers (in a distance of up to 5).
+	 */
+	public static List<Vector2D> createClusteredPoints(int count, Random random, Vector2D... centers) {
+		List<Vector2D> points = new ArrayList<Vector2D>(count);
+		for (int i = 0; i < count; i++) {
+			Vector2D center = centers[i % centers.length];
+			points.add(center.add(new Vector2D(random.nextDouble() * 360).setLength(random.nextDouble() * 5)));
+		}
+		return points;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package net.jfabricationgames.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import net.jfabricationgames.linear_algebra.Vector2D;
+
+class MiniBatchKMeansTest {
+	
+	private static final Vector2D[] CLUSTER_CENTERS = new Vector2D[] {new Vector2D(10, 10), new Vector2D(50, 10), new Vector2D(30, 60)};
+	private static final List<Vector2D> INITIAL_CENTERS = Arrays.asList(new Vector2D(0, 0), new Vector2D(60, 0), new Vector2D(30, 50));
+	
+	@Test
+	public void testFitIterator() {
+		List<Vector2D> points = KMeansTest.createClusteredPoints(30000, new Random(42), CLUSTER_CENTERS);
+		MiniBatchKMeans<Vector2D> kMeans = new MiniBatchKMeans<>(3, INITIAL_CENTERS, v -> v);
+		kMeans.setBatchSize(500);
+		
+		List<Vector2D> centers = kMeans.fit(points.iterator());
+		
+		//the points are evenly distributed around the cluster centers, so the centers are found
+		assertEquals(3, centers.size());
+		for (int i = 0; i < 3; i++) {
+			assertTrue(centers.get(i).distance(CLUSTER_CENTERS[i]) < 0.5, centers.get(i).toString());
+			assertEquals(10000, kMeans.getCount(i));
+		}
+	}
+	
+	@Test
+	public void testFitSpliterator() {
+		List<Vector2D> points = KMeansTest.createClusteredPoints(30000, new Random(42), CLUSTER_CENTERS);
+		MiniBatchKMeans<Vector2D> kMeans = new MiniBatchKMeans<>(3, INITIAL_CENTERS, v -> v);
+		kMeans.setBatchSize(500);
+		MiniBatchKMeans<Vector2D> kMeans2 = new MiniBatchKMeans<>(3, INITIAL_CENTERS, v -> v);
+		kMeans2.setBatchSize(500);
+		
+		//the same batches are used, so the results are equal
+		assertEquals(kMeans.fit(points.iterator()), kMeans2.fit(points.stream().spliterator()));
+	}
+	
+	@Test
+	public void testInitialCentersFromPoints() {
+		List<Vector2D> points = KMeansTest.createClusteredPoints(30000, new Random(42), CLUSTER_CENTERS);
+		MiniBatchKMeans<Vector2D> kMeans = new MiniBatchKMeans<>(3, v -> v);
+		kMeans.setRandom(new Random(42));
+		kMeans.setBatchSize(2);
+		
+		kMeans.partialFit(points.subList(0, 2));
+		//not enough points to initialize all centers
+		assertTrue(kMeans.getCenters().isEmpty());
+		assertThrows(IllegalStateException.class, () -> kMeans.predict(new Vector2D()));
+		
+		kMeans.fit(points.subList(2, points.size()).iterator());
+		
+		//the initial centers are chosen from the first points (which are taken from the clusters one after another)
+		assertClusterCentersFound(kMeans);
+		//all points were used (including the points that were kept to choose the initial centers)
+		assertEquals(30000, kMeans.getCount(0) + kMeans.getCount(1) + kMeans.getCount(2));
+	}
+	
+	@Test
+	public void testInitialCentersFromRepeatedPoints() {
+		//the stream starts with many equal points, which would all be initial centers if the first k points were used
+		List<Vector2D> points = new ArrayList<Vector2D>(Collections.nCopies(100, new Vector2D(10, 10)));
+		points.addAll(KMeansTest.createClusteredPoints(30000, new Random(42), CLUSTER_CENTERS));
+		MiniBatchKMeans<Vector2D> kMeans = new MiniBatchKMeans<>(3, v -> v);
+		kMeans.setRandom(new Random(42));
+		kMeans.setBatchSize(500);
+		
+		kMeans.fit(points.iterator());
+		
+		assertClusterCentersFound(kMeans);
+	}
+	
+	private static void assertClusterCentersFound(MiniBatchKMeans<Vector2D> kMeans) {
+		//every cluster center has it's own center (the order of the centers depends on the seeding)
+		List<Vector2D> centers = kMeans.getCenters();
+		Set<Integer> found = new HashSet<Integer>();
+		for (Vector2D clusterCenter : CLUSTER_CENTERS) {
+			int label = kMeans.predict(clusterCenter);
+			assertTrue(centers.get(label).distance(clusterCenter) < 0.5, centers.get(label).toString());
+			found.add(label);
+		}
+		assertEquals(3, found.size());
+	}
+	
+	@Test
+	public void testLearningRate() {
+		MiniBatchKMeans<Vector2D> kMeans = new MiniBatchKMeans<>(2, Arrays.asList(new Vector2D(0, 0), new Vector2D(10, 0)), v -> v);
+		//always move the center half the way to the point
+		kMeans.setLearningRate(n -> 0.5);
+		
+		kMeans.partialFit(Arrays.asList(new Vector2D(2, 0), new Vector2D(2, 2)));
+		
+		assertEquals(new Vector2D(1.5, 1), kMeans.getCenters().get(0));
+		assertEquals(new Vector2D(10, 0), kMeans.getCenters().get(1));
+		assertEquals(2, kMeans.getCount(0));
+		assertEquals(0, kMeans.getCount(1));
+	}
+	
+	@Test
+	public void testClassify() {
+		List<Vector2D> points = KMeansTest.createClusteredPoints(3000, new Random(42), CLUSTER_CENTERS);
+		MiniBatchKMeans<Vector2D> kMeans = new MiniBatchKMeans<>(3, INITIAL_CENTERS, v -> v);
+		kMeans.fit(points.iterator());
+		
+		KMeansResult<Vector2D> result = kMeans.classify(points);
+		
+		for (int i = 0; i < 3; i++) {
+			assertEquals(1000, result.getClusterSize(i));
+		}
+		assertEquals(kMeans.getCenters(), result.getCenters());
+	}
+	
+	@Test
+	public void testIllegalArguments() {
+		assertThrows(IllegalArgumentException.class, () -> new MiniBatchKMeans<Vector2D>(1, v -> v));
+		assertThrows(IllegalArgumentException.class, () -> new MiniBatchKMeans<Vector2D>(3, Arrays.asList(new Vector2D()), v -> v));
+		assertThrows(IllegalArgumentException.class, () -> new MiniBatchKMeans<Vector2D>(2, v -> v).setBatchSize(0));
+	}
+}
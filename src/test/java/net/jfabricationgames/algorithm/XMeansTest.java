@@ -5,7 +5,10 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.Test;
 
@@ -51,6 +54,7 @@ class XMeansTest {
 				new Vector2D(5, 1), new Vector2D(6, 1), new Vector2D(1, 6), new Vector2D(1, 7), new Vector2D(1, 8));
 		List<Vector2D> initialCenters = Arrays.asList(new Vector2D(4, 1), new Vector2D(1, 4));
 		XMeans<Vector2D> xMeans = new XMeans<>(points, 2, 4, initialCenters, v -> v);
+		xMeans.setRandom(new Random(42));
 		
 		Map<Vector2D, Set<Vector2D>> clusters = xMeans.findClusters();
 		
@@ -71,6 +75,7 @@ class XMeansTest {
 				new Vector2D(5, 1), new Vector2D(6, 1), new Vector2D(1, 6), new Vector2D(1, 7), new Vector2D(1, 8));
 		List<Vector2D> initialCenters = Arrays.asList(new Vector2D(4, 1), new Vector2D(1, 4));
 		XMeans<Vector2D> xMeans = new XMeans<>(points, 2, 3, initialCenters, v -> v);
+		xMeans.setRandom(new Random(42));
 		
 		Map<Vector2D, Set<Vector2D>> clusters = xMeans.findClusters();
 		
@@ -82,4 +87,127 @@ class XMeansTest {
 		assertTrue(clusters.get(new Vector2D(5.5, 1)).size() == 2);
 		assertTrue(clusters.get(new Vector2D(1, 7)).size() == 3);
 	}
-}
\ No newline at end of file
+	
+	@Test
+	public void testParallel_SameResultAsSequential() {
+		List<Vector2D> points = KMeansTest.createClusteredPoints(5000, new Random(42), new Vector2D(10, 10), new Vector2D(50, 10),
+				new Vector2D(30, 60), new Vector2D(80, 80), new Vector2D(80, 20));
+		List<Vector2D> initialCenters = Arrays.asList(new Vector2D(0, 0), new Vector2D(100, 100));
+		
+		XMeans<Vector2D> xMeans = new XMeans<>(points, 2, 8, initialCenters, v -> v);
+		xMeans.setRandom(new Random(42));
+		Map<Vector2D, Set<Vector2D>> clusters = xMeans.findClusters();
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			XMeans<Vector2D> parallelXMeans = new XMeans<>(points, 2, 8, initialCenters, v -> v);
+			parallelXMeans.setRandom(new Random(42));
+			parallelXMeans.setParallel(true);
+			parallelXMeans.setExecutor(executor);
+			
+			//every split attempt uses it's own seeded random number generator, so the results are equal
+			assertEquals(clusters, parallelXMeans.findClusters());
+			assertEquals(5, clusters.size());
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	public void testReproducible() {
+		List<Vector2D> points = KMeansTest.createClusteredPoints(1000, new Random(42), new Vector2D(10, 10), new Vector2D(50, 10),
+				new Vector2D(30, 60), new Vector2D(80, 80));
+		
+		XMeans<Vector2D> xMeans = new XMeans<>(points, 2, 6, null, v -> v);
+		xMeans.setRandom(new Random(7));
+		Map<Vector2D, Set<Vector2D>> clusters = xMeans.findClusters();
+		xMeans.setRandom(new Random(7));
+		
+		assertEquals(clusters, xMeans.findClusters());
+	}
+	
+	@Test
+	public void testSplitStrategy() {
+		List<Vector2D> points = Arrays.asList(new Vector2D(1, 1), new Vector2D(3, 3), new Vector2D(2, 1), new Vector2D(1, 2), new Vector2D(2, 2),
+				new Vector2D(5, 1), new Vector2D(6, 1), new Vector2D(1, 6), new Vector2D(1, 7), new Vector2D(1, 8));
+		List<Vector2D> initialCenters = Arrays.asList(new Vector2D(4, 1), new Vector2D(1, 4));
+		XMeans<Vector2D> xMeans = new XMeans<>(points, 2, 3, initialCenters, v -> v);
+		//a split strategy without a random number generator
+		xMeans.setSplitStrategy((centers, split) -> split.add(new Vector2D(0, 1)));
+		
+		Map<Vector2D, Set<Vector2D>> clusters = xMeans.findClusters();
+		
+		assertEquals(3, clusters.size());
+		
+		//the strategies can be used in both forms
+		assertEquals(new Vector2D(1, 2), xMeans.getSplitStrategy().apply(initialCenters, new Vector2D(1, 1)));
+		assertEquals(new Vector2D(1, 2), xMeans.getRandomSplitStrategy().split(initialCenters, new Vector2D(1, 1), new Random(42)));
+		xMeans.setRandomSplitStrategy((centers, split, random) -> split.add(new Vector2D(1, 0)));
+		assertEquals(new Vector2D(2, 1), xMeans.getSplitStrategy().apply(initialCenters, new Vector2D(1, 1)));
+		
+		//exceptions of the split strategy are thrown by findClusters (also if the splits are evaluated in parallel)
+		xMeans.setRandomSplitStrategy((centers, split, random) -> {
+			throw new IllegalStateException("split failed");
+		});
+		xMeans.setParallel(true);
+		assertThrows(IllegalStateException.class, () -> xMeans.findClusters());
+	}
+	
+	@Test
+	public void testLocalSplit_FindsNumberOfClusters() {
+		Vector2D[] clusterCenters = new Vector2D[] {new Vector2D(10, 10), new Vector2D(50, 10), new Vector2D(30, 60), new Vector2D(80, 80),
+				new Vector2D(80, 20)};
+		List<Vector2D> points = KMeansTest.createClusteredPoints(5000, new Random(42), clusterCenters);
+		List<Vector2D> initialCenters = Arrays.asList(new Vector2D(0, 0), new Vector2D(100, 100));
+		XMeans<Vector2D> xMeans = new XMeans<>(points, 2, 10, initialCenters, v -> v);
+		xMeans.setSplitMode(XMeans.SplitMode.LOCAL);
+		xMeans.setRandom(new Random(42));
+		
+		Map<Vector2D, Set<Vector2D>> clusters = xMeans.findClusters();
+		
+		//the BIC doesn't improve by splitting the (uniformly distributed) clusters any further
+		assertEquals(5, clusters.size());
+		for (Vector2D clusterCenter : clusterCenters) {
+			Vector2D center = clusters.keySet().stream().filter(c -> c.distance(clusterCenter) < 0.5).findFirst()
+					.orElseThrow(() -> new AssertionError("center not found: " + clusterCenter));
+			assertEquals(1000, clusters.get(center).size());
+		}
+	}
+	
+	@Test
+	public void testLocalSplit_Parallel() {
+		List<Vector2D> points = KMeansTest.createClusteredPoints(3000, new Random(42), new Vector2D(10, 10), new Vector2D(50, 10),
+				new Vector2D(30, 60));
+		XMeans<Vector2D> xMeans = new XMeans<>(points, 2, 5, null, v -> v);
+		xMeans.setSplitMode(XMeans.SplitMode.LOCAL);
+		xMeans.setRandom(new Random(42));
+		Map<Vector2D, Set<Vector2D>> clusters = xMeans.findClusters();
+		
+		xMeans.setRandom(new Random(42));
+		xMeans.setParallel(true);
+		
+		assertEquals(3, clusters.size());
+		assertEquals(clusters, xMeans.findClusters());
+	}
+	
+	@Test
+	public void testSplitScore() {
+		Vector2D[] clusterCenters = new Vector2D[] {new Vector2D(10, 10), new Vector2D(50, 10), new Vector2D(30, 60), new Vector2D(80, 80)};
+		List<Vector2D> points = KMeansTest.createClusteredPoints(2000, new Random(42), clusterCenters);
+		List<Vector2D> initialCenters = Arrays.asList(new Vector2D(0, 0), new Vector2D(100, 100));
+		for (XMeans.SplitMode splitMode : XMeans.SplitMode.values()) {
+			for (XMeans.SplitScore splitScore : new XMeans.SplitScore[] {XMeans.SplitScore.BIC, XMeans.SplitScore.AIC}) {
+				XMeans<Vector2D> xMeans = new XMeans<>(points, 2, 8, initialCenters, v -> v);
+				xMeans.setSplitMode(splitMode);
+				xMeans.setSplitScore(splitScore);
+				xMeans.setRandom(new Random(42));
+				
+				Map<Vector2D, Set<Vector2D>> clusters = xMeans.findClusters();
+				
+				//the clusters are uniformly distributed, so splitting them doesn't improve the information criteria
+				assertEquals(4, clusters.size(), splitMode + " " + splitScore);
+			}
+		}
+	}
+}
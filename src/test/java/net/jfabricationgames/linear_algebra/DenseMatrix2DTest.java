@@ -0,0 +1,230 @@
+package net.jfabricationgames.linear_algebra;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import net.jfabricationgames.linear_algebra.DenseMatrix2D.Layout;
+
+public class DenseMatrix2DTest {
+	
+	public static final double EPSILON = 1e-8;
+	
+	@Test
+	public void testSameEntriesAsMatrix2D() {
+		Matrix2D m = new Matrix2D(Matrix2D.Orientation.ROW, new Vector3D(1, 2, 3), new Vector3D(4, 5, 6));
+		DenseMatrix2D dense = new DenseMatrix2D(Matrix2D.Orientation.ROW, new Vector3D(1, 2, 3), new Vector3D(4, 5, 6));
+		DenseMatrix2D denseCol = new DenseMatrix2D(Matrix2D.Orientation.ROW, Layout.COLUMN_MAJOR, new double[] {1, 2, 3},
+				new double[] {4, 5, 6});
+		
+		assertArrayEquals(m.getDimensions(), dense.getDimensions());
+		assertArrayEquals(m.getDimensions(), denseCol.getDimensions());
+		assertTrue(m.equals(dense));
+		assertTrue(dense.equals(m));
+		assertTrue(dense.equals(denseCol));
+		
+		//row-major: the rows are stored one after another
+		assertArrayEquals(new double[] {1, 2, 3, 4, 5, 6}, dense.getData(), EPSILON);
+		//column-major: the columns are stored one after another
+		assertArrayEquals(new double[] {1, 4, 2, 5, 3, 6}, denseCol.getData(), EPSILON);
+		
+		Matrix2D m2 = new Matrix2D(Matrix2D.Orientation.COL, new Vector2D(1, 2), new Vector2D(3, 4), new Vector2D(5, 6));
+		DenseMatrix2D dense2 = new DenseMatrix2D(Matrix2D.Orientation.COL, new Vector2D(1, 2), new Vector2D(3, 4), new Vector2D(5, 6));
+		assertTrue(m2.equals(dense2));
+		assertEquals(6, dense2.at(2, 1), EPSILON);
+	}
+	
+	@Test
+	public void testCopyConstructor() {
+		Matrix2D m = new Matrix2D(Matrix2D.Orientation.ROW, new Vector3D(1, 2, 3), new Vector3D(4, 5, 6));
+		DenseMatrix2D rowMajor = new DenseMatrix2D(m);
+		DenseMatrix2D colMajor = new DenseMatrix2D(m, Layout.COLUMN_MAJOR);
+		
+		assertTrue(m.equals(rowMajor));
+		assertTrue(m.equals(colMajor));
+		assertEquals(Layout.ROW_MAJOR, rowMajor.getLayout());
+		assertEquals(Layout.COLUMN_MAJOR, colMajor.getLayout());
+		
+		rowMajor.set(0, 0, 42);
+		assertEquals(1, m.at(0, 0), EPSILON);
+	}
+	
+	@Test
+	public void testIntIntConstructor() {
+		DenseMatrix2D m = new DenseMatrix2D(2, 3);
+		DenseMatrix2D m2 = new DenseMatrix2D(4, 3, Layout.COLUMN_MAJOR);
+		
+		assertArrayEquals(new int[] {2, 3}, m.getDimensions());
+		assertArrayEquals(new int[] {4, 3}, m2.getDimensions());
+		assertTrue(new Matrix2D(4, 3).equals(m2));
+		
+		assertThrows(LinearAlgebraException.class, () -> new DenseMatrix2D(0, 3));
+	}
+	
+	@Test
+	public void testAtAndSet() {
+		DenseMatrix2D m = new DenseMatrix2D(2, 3);
+		m.set(2, 1, 42);
+		
+		assertEquals(42, m.at(2, 1), EPSILON);
+		assertEquals(0, m.at(1, 1), EPSILON);
+		
+		assertThrows(IndexOutOfBoundsException.class, () -> m.at(3, 0));
+		assertThrows(IndexOutOfBoundsException.class, () -> m.set(0, 2, 1));
+	}
+	
+	@Test
+	public void testClone() {
+		DenseMatrix2D m = new DenseMatrix2D(Matrix2D.Orientation.ROW, new Vector3D(1, 2, 3), new Vector3D(4, 5, 6), new Vector3D(7, 8, 9));
+		DenseMatrix2D m2 = m.clone();
+		
+		assertNotSame(m.getData(), m2.getData());
+		assertTrue(m.equals(m2));
+		
+		m2.set(1, 2, 42);
+		assertEquals(42, m2.at(1, 2), EPSILON);
+		assertEquals(8, m.at(1, 2), EPSILON);
+		
+		//the clone of a view is a compact matrix
+		DenseMatrix2D view = m.view(1, 1, 2, 2);
+		DenseMatrix2D viewClone = view.clone();
+		assertArrayEquals(new double[] {5, 6, 8, 9}, viewClone.getData(), EPSILON);
+	}
+	
+	@Test
+	public void testTranspose() {
+		DenseMatrix2D m = new DenseMatrix2D(Matrix2D.Orientation.ROW, new Vector3D(1, 2, 3), new Vector3D(4, 5, 6));
+		Matrix2D expected = new Matrix2D(Matrix2D.Orientation.ROW, new Vector3D(1, 2, 3), new Vector3D(4, 5, 6)).transpose();
+		
+		Matrix2D t = m.transpose();
+		assertTrue(expected.equals(t));
+		assertArrayEquals(new int[] {2, 3}, m.getDimensions());
+		
+		double[] data = m.getData();
+		Matrix2D.transpose(m);
+		assertTrue(expected.equals(m));
+		assertArrayEquals(new int[] {3, 2}, m.getDimensions());
+		//the entries are not moved by the transposition
+		assertArrayEquals(new double[] {1, 2, 3, 4, 5, 6}, data, EPSILON);
+		assertEquals(Layout.COLUMN_MAJOR, m.getLayout());
+	}
+	
+	@Test
+	public void testView() {
+		DenseMatrix2D m = new DenseMatrix2D(Matrix2D.Orientation.ROW, new Vector3D(1, 2, 3), new Vector3D(4, 5, 6), new Vector3D(7, 8, 9));
+		DenseMatrix2D view = m.view(1, 0, 2, 2);
+		
+		assertArrayEquals(new int[] {2, 2}, view.getDimensions());
+		assertTrue(new Matrix2D(Matrix2D.Orientation.ROW, new Vector2D(2, 3), new Vector2D(5, 6)).equals(view));
+		
+		//changes are visible in both matrices
+		view.set(0, 1, 42);
+		assertEquals(42, m.at(1, 1), EPSILON);
+		m.set(2, 0, -1);
+		assertEquals(-1, view.at(1, 0), EPSILON);
+		
+		//the view can't access entries outside of it's range
+		assertThrows(IndexOutOfBoundsException.class, () -> view.at(2, 0));
+		assertThrows(LinearAlgebraException.class, () -> m.view(2, 0, 2, 2));
+		
+		//a view on an array with custom strides (every second entry)
+		double[] data = new double[] {1, 0, 2, 0, 3, 0, 4};
+		DenseMatrix2D strided = new DenseMatrix2D(data, 0, 2, 2, 4, 2);
+		assertTrue(new Matrix2D(Matrix2D.Orientation.ROW, new Vector2D(1, 2), new Vector2D(3, 4)).equals(strided));
+		assertThrows(LinearAlgebraException.class, () -> new DenseMatrix2D(data, 1, 2, 2, 4, 2));
+	}
+	
+	@Test
+	public void testSwapRowsAndColumns() {
+		DenseMatrix2D m = new DenseMatrix2D(Matrix2D.Orientation.ROW, new Vector3D(1, 2, 3), new Vector3D(4, 5, 6), new Vector3D(7, 8, 9));
+		Matrix2D m2 = new Matrix2D(Matrix2D.Orientation.ROW, new Vector3D(1, 2, 3), new Vector3D(4, 5, 6), new Vector3D(7, 8, 9));
+		
+		m.swapRows(0, 2);
+		m2.swapRows(0, 2);
+		assertTrue(m2.equals(m));
+		assertEquals(7, m.at(0, 0), EPSILON);
+		
+		m.swapColumns(0, 1);
+		m2.swapColumns(0, 1);
+		assertTrue(m2.equals(m));
+		assertEquals(8, m.at(0, 0), EPSILON);
+	}
+	
+	@Test
+	public void testGauss() {
+		Vector3D[] rows = new Vector3D[] {new Vector3D(1, 3, 5), new Vector3D(3, -3, 9), new Vector3D(-1, 7, 2)};
+		double[] b = new double[] {3, 7, 2};
+		Gauss gauss = Gauss.calculateGauss(new Matrix2D(Matrix2D.Orientation.ROW, rows), b);
+		for (Layout layout : Layout.values()) {
+			Gauss denseGauss = Gauss.calculateGauss(new DenseMatrix2D(Matrix2D.Orientation.ROW, layout, rows[0].asArray(), rows[1].asArray(),
+					rows[2].asArray()), b);
+			
+			assertTrue(gauss.getM().equals(denseGauss.getM()));
+			assertArrayEquals(gauss.getB(), denseGauss.getB(), EPSILON);
+			assertArrayEquals(new double[] {-10d/3, -2d/3, 5d/3}, denseGauss.getSolutions()[0], EPSILON);
+		}
+		
+		//a system where the lines have to be switched
+		Matrix2D m = new Matrix2D(Matrix2D.Orientation.ROW, new Vector3D(1, 2, 3), new Vector3D(1, 2, 5), new Vector3D(3, 4, 6));
+		Gauss denseGauss = Gauss.calculateGauss(new DenseMatrix2D(m), new double[] {10, 3, 9});
+		assertArrayEquals(new double[] {-11d, 63d/4, -7d/2}, denseGauss.getSolutions()[0], EPSILON);
+		
+		//a 4x3 system (solved using an alternative system)
+		Matrix2D m2 = new Matrix2D(Matrix2D.Orientation.COL, new Vector3D(1, 2, 3), new Vector3D(1, 3, 5), new Vector3D(2, 8, 8),
+				new Vector3D(3, 8, 5));
+		Gauss denseGauss2 = Gauss.calculateGauss(new DenseMatrix2D(m2, Layout.COLUMN_MAJOR), new double[] {1, 1, 1});
+		double[][] solutions = denseGauss2.getSolutions();
+		assertArrayEquals(new double[] {2, -1, 0, 0}, solutions[0], EPSILON);
+		assertArrayEquals(new double[] {-11d/3, 10d/3, -4d/3, 1}, solutions[1], EPSILON);
+	}
+	
+	@Test
+	public void testMult() {
+		Random random = new Random(42);
+		Matrix2D m = Matrix2DTest.createRandomMatrix(130, 150, random);
+		Matrix2D m2 = Matrix2DTest.createRandomMatrix(150, 90, random);
+		Matrix2D expected = Matrix2DTest.multNaive(m, m2);
+		
+		for (Layout layout : Layout.values()) {
+			for (Layout layout2 : Layout.values()) {
+				DenseMatrix2D dense = new DenseMatrix2D(m, layout);
+				DenseMatrix2D dense2 = new DenseMatrix2D(m2, layout2);
+				
+				Matrix2D product = dense.mult(dense2);
+				assertTrue(product instanceof DenseMatrix2D);
+				assertTrue(expected.equals(product));
+				assertTrue(expected.equals(dense.mult(dense2, true)));
+			}
+			//mixed types of matrices
+			assertTrue(expected.equals(new DenseMatrix2D(m, layout).mult(m2)));
+			assertTrue(expected.equals(m.mult(new DenseMatrix2D(m2, layout))));
+		}
+		
+		//multiply views
+		DenseMatrix2D dense = new DenseMatrix2D(m);
+		DenseMatrix2D dense2 = new DenseMatrix2D(m2, Layout.COLUMN_MAJOR);
+		DenseMatrix2D view = dense.view(10, 20, 30, 40);
+		DenseMatrix2D view2 = dense2.view(5, 15, 40, 20);
+		Matrix2D expectedView = Matrix2DTest.multNaive(view, view2);
+		assertTrue(expectedView.equals(view.mult(view2)));
+		
+		assertThrows(LinearAlgebraException.class, () -> view.mult(view));
+	}
+	
+	@Test
+	public void testMultVector() {
+		double[] vector = new double[] {1, 2, 3};
+		for (Layout layout : Layout.values()) {
+			DenseMatrix2D m = new DenseMatrix2D(Matrix2D.Orientation.ROW, layout, new double[] {1, 2, 3}, new double[] {4, 5, 6});
+			assertArrayEquals(new double[] {14, 32}, m.mult(vector), EPSILON);
+			assertArrayEquals(new double[] {5, 11}, m.view(1, 0, 2, 2).mult(new double[] {1, 1}), EPSILON);
+			assertThrows(LinearAlgebraException.class, () -> m.mult(new double[] {1, 2}));
+		}
+	}
+}
\ No newline at end of file
@@ -2,8 +2,11 @@ package net.jfabricationgames.linear_algebra;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
 public class Matrix2DTest {
@@ -153,4 +156,76 @@ public class Matrix2DTest {
 		assertArrayEquals(new int[] {3, 1}, m3.getDimensions());
 		assertArrayEquals(new int[] {1, 3}, m4.getDimensions());
 	}
+	
+	@Test
+	public void testMult() {
+		//1 2 3     1 0     4  5
+		//4 5 6  *  0 1  =  10 11
+		//          1 1
+		Matrix2D m = new Matrix2D(Matrix2D.Orientation.ROW, new Vector3D(1, 2, 3), new Vector3D(4, 5, 6));
+		Matrix2D m2 = new Matrix2D(Matrix2D.Orientation.ROW, new Vector2D(1, 0), new Vector2D(0, 1), new Vector2D(1, 1));
+		Matrix2D expected = new Matrix2D(Matrix2D.Orientation.ROW, new Vector2D(4, 5), new Vector2D(10, 11));
+		
+		Matrix2D product = m.mult(m2);
+		assertArrayEquals(new int[] {2, 2}, product.getDimensions());
+		assertTrue(expected.equals(product));
+		
+		//the unit matrix doesn't change the matrix
+		assertTrue(m.equals(m.mult(Matrix2D.getUnitMatrix(3))));
+		assertTrue(m.equals(Matrix2D.getUnitMatrix(2).mult(m)));
+		
+		assertThrows(LinearAlgebraException.class, () -> m.mult(m));
+	}
+	
+	@Test
+	public void testMultBigMatrices() {
+		//bigger than the block size, so the blocks and the parallel calculation are used
+		Random random = new Random(42);
+		Matrix2D m = createRandomMatrix(130, 150, random);
+		Matrix2D m2 = createRandomMatrix(150, 90, random);
+		Matrix2D expected = multNaive(m, m2);
+		
+		assertTrue(expected.equals(m.mult(m2)));
+		assertTrue(expected.equals(m.mult(m2, true)));
+	}
+	
+	@Test
+	public void testMultVector() {
+		Matrix2D m = new Matrix2D(Matrix2D.Orientation.ROW, new Vector3D(1, 2, 3), new Vector3D(4, 5, 6));
+		
+		assertArrayEquals(new double[] {14, 32}, m.mult(new double[] {1, 2, 3}), EPSILON);
+		assertThrows(LinearAlgebraException.class, () -> m.mult(new double[] {1, 2}));
+	}
+	
+	/**
+	 * Create a matrix with the dimensions (rows and columns) that is filled with random values.
+	 */
+	public static Matrix2D createRandomMatrix(int rows, int cols, Random random) {
+		Matrix2D m = new Matrix2D(rows, cols);
+		for (int i = 0; i < cols; i++) {
+			for (int j = 0; j < rows; j++) {
+				m.set(i, j, random.nextDouble() * 2 - 1);
+			}
+		}
+		return m;
+	}
+	
+	/**
+	 * Multiply two matrices without using the multiplication of the matrix (to test it).
+	 */
+	public static Matrix2D multNaive(Matrix2D m, Matrix2D m2) {
+		int[] dimensions = m.getDimensions();
+		int[] dimensions2 = m2.getDimensions();
+		Matrix2D result = new Matrix2D(dimensions[0], dimensions2[1]);
+		for (int i = 0; i < dimensions[0]; i++) {
+			for (int j = 0; j < dimensions2[1]; j++) {
+				double sum = 0;
+				for (int k = 0; k < dimensions[1]; k++) {
+					sum += m.at(k, i) * m2.at(j, k);
+				}
+				result.set(j, i, sum);
+			}
+		}
+		return result;
+	}
 }
\ No newline at end of file
@@ -4,9 +4,13 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 public class Plane3DTest {
@@ -69,6 +73,65 @@ public class Plane3DTest {
 		assertArrayEquals(new double[] {0.5, 0.5, 0.5}, plane.getIntersectionPointLineSegment(line).asArray(), EPSILON);
 		assertArrayEquals(new double[] {1, 1, 0}, plane.getIntersectionPointLineSegment(line2).asArray(), EPSILON);
 		assertNull(plane.getIntersectionPointLineSegment(line3));
+		
+		//the line segment ends before it reaches the plane (the intersection point of the line has the parameter t = 2)
+		LineSegment3D line4 = new LineSegment3D(new Vector3D(0, 0, -2), new Vector3D(0, 0, 1));
+		assertArrayEquals(new double[] {0, 0, 0}, planeXY.getIntersectionPoint(line4).asArray(), EPSILON);
+		assertNull(planeXY.getIntersectionPointLineSegment(line4));
+	}
+	
+	@Test
+	public void testLinearlyDependentDirections() {
+		//linearly dependent directions create a degenerate plane, that has no intersection points
+		Plane3D degenerate = new Plane3D(new Vector3D(0, 0, 0), new Vector3D(1, 2, 3), new Vector3D(2, 4, 6));
+		assertTrue(degenerate.isDegenerate());
+		assertTrue(new Plane3D(new Vector3D(0, 0, 0), new Vector3D(1, 2, 3), new Vector3D(-1, -2, -3)).isDegenerate());
+		assertFalse(new Plane3D(new Vector3D(0, 0, 0), new Vector3D(1, 0, 0), new Vector3D(0, 1, 0)).isDegenerate());
+		Line3D line = new Line3D(new Vector3D(1, 0, 0), new Vector3D(0, 0, 1));
+		assertNull(degenerate.getIntersectionPoint(line));
+		assertNull(degenerate.getIntersectionPointLineSegment(new LineSegment3D(new Vector3D(1, 0, -1), new Vector3D(0, 0, 2))));
+		assertTrue(Double.isNaN(degenerate.getSignedDistance(new Vector3D(1, 1, 1))));
+		assertThrows(LinearAlgebraException.class, () -> new Plane3D(new Vector3D(0, 0, 0), new Vector3D(1, 0, 0), Vector3D.NULL_VEC));
+		
+		//large direction vectors are not linearly dependent just because the products of their lengths overflow
+		Plane3D largePlane = new Plane3D(new Vector3D(0, 0, 1), new Vector3D(1e160, 0, 0), new Vector3D(0, 1e160, 0));
+		assertFalse(largePlane.isDegenerate());
+		assertEquals(1, largePlane.getSignedDistance(new Vector3D(5, 5, 2)), EPSILON);
+		
+		//triangles with three points on one line or with equal points can be created, but are degenerate
+		Triangle3D lineTriangle = new Triangle3D(new Vector3D(0, 0, 0), new Vector3D(1, 1, 1), new Vector3D(3, 3, 3));
+		assertTrue(lineTriangle.isDegenerate());
+		assertTrue(Double.isNaN(lineTriangle.getIntersectionParameter(new Line3D(new Vector3D(1, 1, 0), new Vector3D(0, 0, 1)), null)));
+		Triangle3D pointTriangle = new Triangle3D(new Vector3D(1, 1, 1), new Vector3D(1, 1, 1), new Vector3D(1, 1, 1));
+		assertTrue(pointTriangle.isDegenerate());
+		assertTrue(Double.isNaN(pointTriangle.getIntersectionParameter(new Line3D(new Vector3D(1, 1, 0), new Vector3D(0, 0, 1)), null)));
+	}
+	
+	@Test
+	public void testGetIntersectionParameters() {
+		Plane3D plane = new Plane3D(new Vector3D(1, 1, 0), new Vector3D(1, 1, -1), new Vector3D(2, 0, 1));
+		List<Line3D> lines = Arrays.asList(new Line3D(new Vector3D(0, 0, 0), new Vector3D(1, 1, 1)),
+				new Line3D(new Vector3D(1, 1, 0), new Vector3D(1, 0, 0)), new Line3D(new Vector3D(1, 2, 3), new Vector3D(2, 2, 0)),
+				new Line3D(new Vector3D(5, 1, 2), new Vector3D(2, 2, -2)), new Line3D(new Vector3D(0, 0, 0), new Vector3D(2, 2, -2)));
+		Vector3DBuffer starts = new Vector3DBuffer();
+		Vector3DBuffer directions = new Vector3DBuffer();
+		for (Line3D line : lines) {
+			starts.append(line.getStart());
+			directions.append(line.getDirection());
+		}
+		
+		double[] parameters = plane.getIntersectionParameters(starts, directions, null);
+		
+		assertArrayEquals(new double[] {0.5, 0, -2.25, Double.NaN, Double.NaN}, parameters, EPSILON);
+		assertArrayEquals(parameters, plane.getIntersectionParameters(lines, new double[5]), EPSILON);
+		//the parameters lead to the same points as the single intersections
+		for (int i = 0; i < 3; i++) {
+			Vector3D point = lines.get(i).getStart().add(lines.get(i).getDirection().mult(parameters[i]));
+			assertEquals(plane.getIntersectionPoint(lines.get(i)), point);
+		}
+		
+		directions.append(new Vector3D(1, 0, 0));
+		assertThrows(LinearAlgebraException.class, () -> plane.getIntersectionParameters(starts, directions, null));
 	}
 	
 	@Test
@@ -111,6 +174,30 @@ public class Plane3DTest {
 		assertEquals(3d / 2 * Math.sqrt(14), plane.getDistance(new Vector3D(4, 5, 6)), EPSILON);
 	}
 	
+	@Test
+	public void testGetSignedDistance() {
+		Plane3D planeXZ = new Plane3D(new Vector3D(0, 0, 0), new Vector3D(1, 0, 0), new Vector3D(0, 0, 1));
+		Plane3D plane = new Plane3D(new Vector3D(1, 1, 0), new Vector3D(1, 1, -1), new Vector3D(2, 0, 1));
+		
+		//the normal vector of the xz plane is (0, -1, 0)
+		assertEquals(-3, planeXZ.getSignedDistance(new Vector3D(2, 3, 4)), EPSILON);
+		assertEquals(3, planeXZ.getSignedDistance(new Vector3D(2, -3, 4)), EPSILON);
+		
+		assertEquals(Math.sqrt(14), plane.getSignedDistance(new Vector3D(2, -2, -2)), EPSILON);
+		assertEquals(-3d / 2 * Math.sqrt(14), plane.getSignedDistance(new Vector3D(4, 5, 6)), EPSILON);
+		assertEquals(0, plane.getSignedDistance(new Vector3D(4, 6, -6)), EPSILON);
+		
+		double[] expected = new double[] {Math.sqrt(14), -3d / 2 * Math.sqrt(14), 0};
+		assertArrayEquals(expected, plane.getSignedDistances(new double[] {2, -2, -2, 4, 5, 6, 4, 6, -6}, null), EPSILON);
+		Vector3DBuffer buffer = new Vector3DBuffer();
+		buffer.append(new Vector3D(2, -2, -2));
+		buffer.append(new Vector3D(4, 5, 6));
+		buffer.append(new Vector3D(4, 6, -6));
+		assertArrayEquals(expected, plane.getSignedDistances(buffer, new double[3]), EPSILON);
+		
+		assertThrows(LinearAlgebraException.class, () -> plane.getSignedDistances(new double[] {1, 2, 3, 4}, null));
+	}
+	
 	@Test
 	public void testIsOnPlaneVector3D() {
 		Plane3D planeXY = new Plane3D(new Vector3D(0, 0, 0), new Vector3D(1, 0, 0), new Vector3D(0, 1, 0));
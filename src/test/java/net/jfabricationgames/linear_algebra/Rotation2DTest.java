@@ -0,0 +1,63 @@
+package net.jfabricationgames.linear_algebra;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class Rotation2DTest {
+	
+	public static final double EPSILON = 1e-8;
+	
+	@Test
+	public void testRotate() {
+		Rotation2D rotation = new Rotation2D(90);
+		Vector2D v = new Vector2D(1, 0);
+		Vector2D v2 = new Vector2D(-3, 0);
+		Vector2D dest = new Vector2D();
+		
+		assertEquals(new Vector2D(0, 1), rotation.rotate(v));
+		assertEquals(new Vector2D(0, -3), rotation.rotate(v2));
+		assertEquals(new Vector2D(1, 0), v);//not changed
+		assertSame(dest, rotation.rotate(v2, dest));
+		assertEquals(new Vector2D(0, -3), dest);
+		
+		//same results as the rotation by an angle
+		Rotation2D rotation42 = new Rotation2D(42);
+		assertEquals(v.rotate(42), rotation42.rotate(v));
+		assertEquals(v2.rotate(42), rotation42.rotate(v2));
+	}
+	
+	@Test
+	public void testFactories() {
+		Vector2D v = new Vector2D(3, 4);
+		
+		assertEquals(new Rotation2D(30).rotate(v), Rotation2D.fromRadians(Math.PI / 6).rotate(v));
+		assertEquals(new Rotation2D(30).rotate(v), Rotation2D.fromSinCos(0.5, Math.sqrt(3) / 2).rotate(v));
+		assertEquals(30, Rotation2D.fromSinCos(0.5, Math.sqrt(3) / 2).getDegrees(), EPSILON);
+	}
+	
+	@Test
+	public void testInverse() {
+		Rotation2D rotation = new Rotation2D(42);
+		Vector2D v = new Vector2D(3, 4);
+		
+		assertEquals(v, rotation.inverse().rotate(rotation.rotate(v)));
+		assertEquals(-42, rotation.inverse().getDegrees(), EPSILON);
+	}
+	
+	@Test
+	public void testRotateAll() {
+		List<Vector2D> points = Arrays.asList(new Vector2D(1, 0), new Vector2D(-3, 0), new Vector2D(2, 5));
+		Vector2DBuffer buffer = new Vector2DBuffer(points);
+		Rotation2D rotation = new Rotation2D(90);
+		
+		rotation.rotateAll(points);
+		assertEquals(Arrays.asList(new Vector2D(0, 1), new Vector2D(0, -3), new Vector2D(-5, 2)), points);
+		assertSame(buffer, rotation.rotateAll(buffer));
+		assertEquals(points, buffer.toList());
+	}
+}
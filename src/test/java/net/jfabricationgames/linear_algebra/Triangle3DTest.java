@@ -1,10 +1,14 @@
 package net.jfabricationgames.linear_algebra;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 class Triangle3DTest {
@@ -34,4 +38,58 @@ class Triangle3DTest {
 		assertArrayEquals(new double[] {0.1, 0.1, 0}, triangleXY.getIntersectionPointUnchecked(lineDown).asArray(), EPSILON);
 		assertNull(triangleXY.getIntersectionPointUnchecked(lineUp));
 	}
-}
\ No newline at end of file
+	
+	@Test
+	public void testGetIntersectionParameter() {
+		//a triangle in the x-z area (that can't be projected to the x-y area)
+		Triangle3D triangleXZ = new Triangle3D(new Vector3D(0, 2, 0), new Vector3D(4, 2, 0), new Vector3D(0, 2, 4));
+		
+		Line3D line = new Line3D(new Vector3D(1, 0, 1), new Vector3D(0, 1, 0));
+		LineSegment3D segment = new LineSegment3D(new Vector3D(1, 0, 1), new Vector3D(0, 1, 0));//ends before the triangle
+		LineSegment3D segment2 = new LineSegment3D(new Vector3D(1, 0, 1), new Vector3D(0, 4, 0));
+		Line3D lineOutside = new Line3D(new Vector3D(3, 0, 3), new Vector3D(0, 1, 0));
+		Line3D lineParallel = new Line3D(new Vector3D(1, 2, 1), new Vector3D(1, 0, 0));
+		
+		double[] barycentric = new double[3];
+		assertEquals(2, triangleXZ.getIntersectionParameter(line, barycentric), EPSILON);
+		assertArrayEquals(new double[] {0.5, 0.25, 0.25}, barycentric, EPSILON);
+		assertTrue(Double.isNaN(triangleXZ.getIntersectionParameter(segment, null)));
+		assertEquals(0.5, triangleXZ.getIntersectionParameter(segment2, null), EPSILON);
+		assertTrue(Double.isNaN(triangleXZ.getIntersectionParameter(lineOutside, null)));
+		assertTrue(Double.isNaN(triangleXZ.getIntersectionParameter(lineParallel, null)));
+		
+		//a line is treated as a ray, so it doesn't intersect in the negative direction
+		Line3D lineBackwards = new Line3D(new Vector3D(1, 5, 1), new Vector3D(0, 1, 0));
+		assertTrue(Double.isNaN(triangleXZ.getIntersectionParameter(lineBackwards, null)));
+		assertFalse(triangleXZ.intersects(lineBackwards));
+		assertNull(triangleXZ.getTriangleIntersectionPoint(lineBackwards));
+		assertEquals(3, triangleXZ.getIntersectionParameter(new Line3D(new Vector3D(1, 5, 1), new Vector3D(0, -1, 0)), null), EPSILON);
+		
+		assertArrayEquals(new double[] {1, 2, 1}, triangleXZ.getTriangleIntersectionPoint(line).asArray(), EPSILON);
+		assertTrue(triangleXZ.intersects(segment2));
+		assertFalse(triangleXZ.intersects(segment));
+		assertNull(triangleXZ.getTriangleIntersectionPoint(lineOutside));
+	}
+	
+	@Test
+	public void testIntersectionWithManyTriangles() {
+		List<Triangle3D> triangles = Arrays.asList(//
+				new Triangle3D(new Vector3D(0, 0, 3), new Vector3D(2, 0, 3), new Vector3D(0, 2, 3)), //
+				new Triangle3D(new Vector3D(0, 0, 1), new Vector3D(2, 0, 1), new Vector3D(0, 2, 1)), //
+				new Triangle3D(new Vector3D(5, 5, 2), new Vector3D(6, 5, 2), new Vector3D(5, 6, 2)), //
+				new Triangle3D(new Vector3D(0, 0, -1), new Vector3D(2, 0, -1), new Vector3D(0, 2, -1)));
+		Line3D ray = new Line3D(new Vector3D(0.5, 0.5, 0), new Vector3D(0, 0, 1));
+		
+		double[] barycentrics = new double[12];
+		double[] parameters = Triangle3D.getIntersectionParameters(ray, triangles, null, barycentrics);
+		//the triangle at z = -1 is behind the start of the ray
+		assertArrayEquals(new double[] {3, 1, Double.NaN, Double.NaN}, parameters, EPSILON);
+		assertArrayEquals(new double[] {0.5, 0.25, 0.25}, Arrays.copyOfRange(barycentrics, 3, 6), EPSILON);
+		
+		//the nearest hit is the triangle at z = 1 (the triangle at z = -1 is behind the start of the ray)
+		double[] barycentric = new double[3];
+		assertEquals(1, Triangle3D.getNearestIntersection(ray, triangles, barycentric));
+		assertArrayEquals(new double[] {0.5, 0.25, 0.25}, barycentric, EPSILON);
+		assertEquals(-1, Triangle3D.getNearestIntersection(new LineSegment3D(new Vector3D(0.5, 0.5, 0), new Vector3D(0, 0, 0.5)), triangles, null));
+	}
+}
@@ -0,0 +1,235 @@
+package net.jfabricationgames.linear_algebra;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TriangleMesh3DTest {
+	
+	private static final double EPSILON = 1e-8;
+	
+	private static List<Triangle3D> createRandomTriangles(int count, Random random) {
+		List<Triangle3D> triangles = new ArrayList<Triangle3D>(count);
+		for (int i = 0; i < count; i++) {
+			Vector3D vertex = new Vector3D(random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100);
+			triangles.add(new Triangle3D(vertex, vertex.add(new Vector3D(random.nextDouble() * 5, random.nextDouble() * 5, random.nextDouble() * 5)),
+					vertex.add(new Vector3D(random.nextDouble() * 5, random.nextDouble() * 5, random.nextDouble() * 5))));
+		}
+		return triangles;
+	}
+	
+	private static List<Line3D> createRandomLines(int count, Random random) {
+		List<Line3D> lines = new ArrayList<Line3D>(count);
+		for (int i = 0; i < count; i++) {
+			Vector3D start = new Vector3D(random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100);
+			Vector3D direction = new Vector3D(random.nextDouble() - 0.5, random.nextDouble() - 0.5, random.nextDouble() - 0.5).mult(50);
+			lines.add(i % 2 == 0 ? new Line3D(start, direction) : new LineSegment3D(start, direction));
+		}
+		return lines;
+	}
+	
+	@Test
+	public void testHits() {
+		//two triangles in the x-y area (a square) and one behind them
+		List<Triangle3D> triangles = Arrays.asList(//
+				new Triangle3D(new Vector3D(0, 0, 2), new Vector3D(2, 0, 2), new Vector3D(0, 2, 2)), //
+				new Triangle3D(new Vector3D(2, 0, 2), new Vector3D(2, 2, 2), new Vector3D(0, 2, 2)), //
+				new Triangle3D(new Vector3D(0, 0, 5), new Vector3D(4, 0, 5), new Vector3D(0, 4, 5)));
+		TriangleMesh3D mesh = new TriangleMesh3D(triangles);
+		
+		Line3D ray = new Line3D(new Vector3D(0.5, 0.5, 0), new Vector3D(0, 0, 1));
+		TriangleMesh3D.Hit hit = mesh.getFirstHit(ray);
+		assertNotNull(hit);
+		assertEquals(0, hit.getTriangleIndex());
+		assertEquals(triangles.get(0), hit.getTriangle());
+		assertEquals(2, hit.getT(), EPSILON);
+		assertArrayEquals(new double[] {0.5, 0.25, 0.25}, hit.getBarycentric(), EPSILON);
+		
+		List<TriangleMesh3D.Hit> hits = mesh.getAllHits(ray);
+		assertEquals(2, hits.size());
+		assertEquals(0, hits.get(0).getTriangleIndex());
+		assertEquals(2, hits.get(1).getTriangleIndex());
+		assertEquals(5, hits.get(1).getT(), EPSILON);
+		assertTrue(mesh.intersects(ray));
+		
+		//the line segment ends before the triangles
+		LineSegment3D segment = new LineSegment3D(new Vector3D(1.5, 1.5, 0), new Vector3D(0, 0, 1));
+		assertNull(mesh.getFirstHit(segment));
+		assertFalse(mesh.intersects(segment));
+		assertTrue(mesh.getAllHits(segment).isEmpty());
+		LineSegment3D segment2 = new LineSegment3D(new Vector3D(1.5, 1.5, 0), new Vector3D(0, 0, 3));
+		assertEquals(1, mesh.getFirstHit(segment2).getTriangleIndex());
+		assertEquals(1, mesh.getAllHits(segment2).size());
+		
+		//the ray points away from the triangles
+		assertNull(mesh.getFirstHit(new Line3D(new Vector3D(0.5, 0.5, 0), new Vector3D(0, 0, -1))));
+		
+		assertEquals(3, mesh.size());
+		assertEquals(triangles.get(2), mesh.getTriangle(2));
+	}
+	
+	@Test
+	public void testSameResultsAsAllTriangles() {
+		Random random = new Random(42);
+		List<Triangle3D> triangles = createRandomTriangles(5000, random);
+		assertSameResultsAsAllTriangles(triangles, createRandomLines(500, random));
+	}
+	
+	@Test
+	public void testEqualCentroids() {
+		//triangles that all have the same centroid can't be separated by the bins of the surface area heuristic
+		Random random = new Random(42);
+		Vector3D centroid = new Vector3D(50, 50, 50);
+		List<Triangle3D> triangles = new ArrayList<Triangle3D>();
+		for (int i = 0; i < 2000; i++) {
+			Vector3D a = new Vector3D(random.nextDouble() - 0.5, random.nextDouble() - 0.5, random.nextDouble() - 0.5).mult(20);
+			Vector3D b = new Vector3D(random.nextDouble() - 0.5, random.nextDouble() - 0.5, random.nextDouble() - 0.5).mult(20);
+			triangles.add(new Triangle3D(centroid.add(a), centroid.add(b), centroid.sub(a).sub(b)));
+		}
+		TriangleMesh3D mesh = new TriangleMesh3D(triangles);
+		
+		//the triangles are split at the median instead of being stored in one leaf
+		TriangleMesh3D.Statistics statistics = mesh.getStatistics();
+		assertTrue(statistics.getLeafCount() >= triangles.size() / TriangleMesh3D.MAX_LEAF_SIZE, statistics.toString());
+		assertTrue(statistics.getDepth() <= 12, statistics.toString());
+		assertSameResultsAsAllTriangles(triangles, createRandomLines(200, random));
+	}
+	
+	@Test
+	public void testDepthLimited() {
+		//the distances between the triangles grow exponentially, so the surface area heuristic only splits off one triangle on every level
+		List<Triangle3D> triangles = new ArrayList<Triangle3D>();
+		for (int i = 0; i < 1000; i++) {
+			double x = Math.pow(2, i);
+			triangles.add(new Triangle3D(new Vector3D(x, 0, 0), new Vector3D(x, 1, 0), new Vector3D(x, 0, 1)));
+		}
+		TriangleMesh3D mesh = new TriangleMesh3D(triangles);
+		
+		TriangleMesh3D.Statistics statistics = mesh.getStatistics();
+		assertTrue(statistics.getDepth() <= TriangleMesh3D.MAX_SAH_DEPTH + 12, statistics.toString());
+		Line3D ray = new Line3D(new Vector3D(-1, 0.2, 0.2), new Vector3D(1, 0, 0));
+		assertEquals(1000, mesh.getAllHits(ray).size());
+		assertEquals(0, mesh.getFirstHit(ray).getTriangleIndex());
+		assertSameResultsAsAllTriangles(triangles, Arrays.asList(ray, new Line3D(new Vector3D(1e10, 0.5, 0.2), new Vector3D(1, 0, 0))));
+	}
+	
+	@Test
+	public void testZeroAreaTriangles() {
+		//triangles without an area (e.g. from a degenerate mesh) can be added to a mesh, but are never hit
+		List<Triangle3D> triangles = new ArrayList<Triangle3D>();
+		triangles.add(new Triangle3D(new Vector3D(0, 0, 0), new Vector3D(2, 0, 0), new Vector3D(0, 2, 0)));
+		triangles.add(new Triangle3D(new Vector3D(0, 0, 1), new Vector3D(1, 1, 1), new Vector3D(2, 2, 1)));
+		triangles.add(new Triangle3D(new Vector3D(0.5, 0.5, 2), new Vector3D(0.5, 0.5, 2), new Vector3D(1, 0, 2)));
+		triangles.add(new Triangle3D(new Vector3D(0.5, 0.5, 3), new Vector3D(0.5, 0.5, 3), new Vector3D(0.5, 0.5, 3)));
+		triangles.add(new Triangle3D(new Vector3D(0, 0, 4), new Vector3D(2, 0, 4), new Vector3D(0, 2, 4)));
+		TriangleMesh3D mesh = new TriangleMesh3D(triangles);
+		
+		//the ray passes through all triangles, but only hits the two triangles that have an area
+		Line3D ray = new Line3D(new Vector3D(0.5, 0.5, -1), new Vector3D(0, 0, 1));
+		List<Integer> hits = new ArrayList<Integer>();
+		for (TriangleMesh3D.Hit hit : mesh.getAllHits(ray)) {
+			hits.add(hit.getTriangleIndex());
+		}
+		Collections.sort(hits);
+		assertEquals(Arrays.asList(0, 4), hits);
+		assertEquals(0, mesh.getFirstHit(ray).getTriangleIndex());
+		//the first hit from above passes the zero-area triangles before hitting the lower triangle
+		assertEquals(0, mesh.getFirstHit(new Line3D(new Vector3D(0.5, 0.5, 3.5), new Vector3D(0, 0, -1))).getTriangleIndex());
+		
+		Random random = new Random(42);
+		List<Triangle3D> randomTriangles = createRandomTriangles(200, random);
+		for (int i = 0; i < 50; i++) {
+			Vector3D vertex = new Vector3D(random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100);
+			Vector3D direction = new Vector3D(random.nextDouble() - 0.5, random.nextDouble() - 0.5, random.nextDouble() - 0.5).mult(10);
+			randomTriangles.add(new Triangle3D(vertex, vertex.add(direction), vertex.add(direction.mult(2))));
+			randomTriangles.add(new Triangle3D(vertex, vertex, vertex));
+		}
+		assertSameResultsAsAllTriangles(randomTriangles, createRandomLines(200, random));
+	}
+	
+	/**
+	 * Check that the hits of a (parallel and sequential built) mesh are the hits that are found by testing all triangles.
+	 */
+	private static void assertSameResultsAsAllTriangles(List<Triangle3D> triangles, List<Line3D> lines) {
+		TriangleMesh3D mesh = new TriangleMesh3D(triangles);
+		TriangleMesh3D sequentialMesh = new TriangleMesh3D(triangles, false);
+		
+		for (Line3D line : lines) {
+			//find the hits by testing all triangles
+			List<Integer> expectedHits = new ArrayList<Integer>();
+			double tMax = line instanceof LineSegment3D ? 1 : Double.POSITIVE_INFINITY;
+			for (int i = 0; i < triangles.size(); i++) {
+				double t = triangles.get(i).getIntersectionParameter(line, null);
+				if (t >= 0 && t <= tMax) {
+					expectedHits.add(i);
+				}
+			}
+			int expectedFirstHit = Triangle3D.getNearestIntersection(line, triangles, null);
+			
+			for (TriangleMesh3D testedMesh : Arrays.asList(mesh, sequentialMesh)) {
+				List<Integer> hits = new ArrayList<Integer>();
+				for (TriangleMesh3D.Hit hit : testedMesh.getAllHits(line)) {
+					hits.add(hit.getTriangleIndex());
+				}
+				Collections.sort(hits);
+				assertEquals(expectedHits, hits);
+				assertEquals(!expectedHits.isEmpty(), testedMesh.intersects(line));
+				TriangleMesh3D.Hit firstHit = testedMesh.getFirstHit(line);
+				assertEquals(expectedFirstHit, firstHit == null ? -1 : firstHit.getTriangleIndex());
+			}
+		}
+	}
+	
+	@Test
+	public void testStatistics() {
+		Random random = new Random(42);
+		TriangleMesh3D mesh = new TriangleMesh3D(createRandomTriangles(1000, random));
+		List<Line3D> lines = createRandomLines(100, random);
+		
+		TriangleMesh3D.Statistics statistics = mesh.getStatistics();
+		assertEquals(1000, statistics.getTriangleCount());
+		assertEquals(2 * statistics.getLeafCount() - 1, statistics.getNodeCount());
+		assertTrue(statistics.getDepth() > 1);
+		assertTrue(statistics.getBuildTimeNanos() > 0);
+		
+		//the query statistics are disabled by default
+		mesh.getFirstHit(lines.get(0));
+		assertEquals(0, mesh.getStatistics().getQueries());
+		
+		mesh.setQueryStatisticsEnabled(true);
+		for (Line3D line : lines) {
+			mesh.getFirstHit(line);
+		}
+		statistics = mesh.getStatistics();
+		assertEquals(100, statistics.getQueries());
+		assertTrue(statistics.getVisitedNodes() >= 100);
+		//the hierarchy avoids testing most of the triangles
+		assertTrue(statistics.getAverageTriangleTests() < 100);
+		
+		mesh.resetQueryStatistics();
+		assertEquals(0, mesh.getStatistics().getQueries());
+		assertEquals(0, mesh.getStatistics().getTriangleTests());
+	}
+	
+	@Test
+	public void testEmptyMesh() {
+		TriangleMesh3D mesh = new TriangleMesh3D(new ArrayList<Triangle3D>());
+		Line3D ray = new Line3D(new Vector3D(0, 0, 0), new Vector3D(0, 0, 1));
+		
+		assertNull(mesh.getFirstHit(ray));
+		assertFalse(mesh.intersects(ray));
+		assertTrue(mesh.getAllHits(ray).isEmpty());
+		assertEquals(0, mesh.getStatistics().getNodeCount());
+	}
+}
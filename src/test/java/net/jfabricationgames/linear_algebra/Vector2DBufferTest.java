@@ -0,0 +1,132 @@
+package net.jfabricationgames.linear_algebra;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class Vector2DBufferTest {
+	
+	public static final double EPSILON = 1e-8;
+	
+	@Test
+	public void testListConversion() {
+		List<Vector2D> points = Arrays.asList(new Vector2D(1, 2), new Vector2D(3, 4), new Vector2D(-5, 6));
+		Vector2DBuffer buffer = new Vector2DBuffer(points);
+		
+		assertEquals(3, buffer.size());
+		assertEquals(points, buffer.toList());
+		assertEquals(new Vector2D(3, 4), buffer.get(1));
+		assertEquals(-5, buffer.getX(2), EPSILON);
+		assertEquals(6, buffer.getY(2), EPSILON);
+	}
+	
+	@Test
+	public void testAppendAndGrow() {
+		Vector2DBuffer buffer = new Vector2DBuffer(1);
+		for (int i = 0; i < 100; i++) {
+			buffer.append(i, -i);
+		}
+		buffer.append(new Vector2D(42, 43));
+		
+		assertEquals(101, buffer.size());
+		assertEquals(new Vector2D(50, -50), buffer.get(50));
+		assertEquals(new Vector2D(42, 43), buffer.get(100));
+		
+		buffer.clear();
+		assertEquals(0, buffer.size());
+		assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(0));
+	}
+	
+	@Test
+	public void testGetAndSet() {
+		Vector2DBuffer buffer = new Vector2DBuffer(Arrays.asList(new Vector2D(1, 2), new Vector2D(3, 4)));
+		Vector2D dest = new Vector2D();
+		
+		assertSame(dest, buffer.get(0, dest));
+		assertEquals(new Vector2D(1, 2), dest);
+		
+		buffer.set(0, 5, 6);
+		buffer.set(1, new Vector2D(7, 8));
+		assertEquals(Arrays.asList(new Vector2D(5, 6), new Vector2D(7, 8)), buffer.toList());
+		assertThrows(IndexOutOfBoundsException.class, () -> buffer.set(2, 0, 0));
+	}
+	
+	@Test
+	public void testAdd() {
+		Vector2DBuffer buffer = new Vector2DBuffer(Arrays.asList(new Vector2D(1, 2), new Vector2D(3, 4)));
+		Vector2DBuffer buffer2 = new Vector2DBuffer(Arrays.asList(new Vector2D(1, 1), new Vector2D(-3, 0.5)));
+		
+		assertSame(buffer, buffer.add(buffer2));
+		assertEquals(Arrays.asList(new Vector2D(2, 3), new Vector2D(0, 4.5)), buffer.toList());
+		assertThrows(LinearAlgebraException.class, () -> buffer.add(new Vector2DBuffer()));
+	}
+	
+	@Test
+	public void testTranslateAndScale() {
+		Vector2DBuffer buffer = new Vector2DBuffer(Arrays.asList(new Vector2D(1, 2), new Vector2D(3, 4)));
+		
+		buffer.translate(new Vector2D(1, -1));
+		assertEquals(Arrays.asList(new Vector2D(2, 1), new Vector2D(4, 3)), buffer.toList());
+		buffer.scale(0.5);
+		assertEquals(Arrays.asList(new Vector2D(1, 0.5), new Vector2D(2, 1.5)), buffer.toList());
+	}
+	
+	@Test
+	public void testRotate() {
+		List<Vector2D> points = Arrays.asList(new Vector2D(1, 0), new Vector2D(-3, 0), new Vector2D(2, 5), new Vector2D(0, 0));
+		Vector2DBuffer buffer = new Vector2DBuffer(points);
+		
+		buffer.rotate(90);
+		assertEquals(Arrays.asList(new Vector2D(0, 1), new Vector2D(0, -3), new Vector2D(-5, 2), new Vector2D(0, 0)), buffer.toList());
+		
+		buffer = new Vector2DBuffer(points);
+		buffer.rotate(42);
+		for (int i = 0; i < points.size(); i++) {
+			assertEquals(points.get(i).rotate(42), buffer.get(i));
+		}
+	}
+	
+	@Test
+	public void testDistances() {
+		Vector2DBuffer buffer = new Vector2DBuffer(Arrays.asList(new Vector2D(1, 1), new Vector2D(4, 5), new Vector2D(1, 3)));
+		double[] dest = new double[3];
+		
+		assertSame(dest, buffer.distances(new Vector2D(1, 1), dest));
+		assertArrayEquals(new double[] {0, 5, 2}, dest, EPSILON);
+		//a new array is created if the destination is too small
+		assertArrayEquals(new double[] {0, 5, 2}, buffer.distances(new Vector2D(1, 1), null), EPSILON);
+	}
+	
+	@Test
+	public void testDistancesSquared() {
+		Vector2DBuffer buffer = new Vector2DBuffer(Arrays.asList(new Vector2D(1, 1), new Vector2D(4, 5), new Vector2D(1, 3)));
+		
+		assertArrayEquals(new double[] {0, 25, 4}, buffer.distancesSquared(new Vector2D(1, 1), null), EPSILON);
+	}
+	
+	@Test
+	public void testNearest() {
+		Vector2DBuffer buffer = new Vector2DBuffer(Arrays.asList(new Vector2D(1, 1), new Vector2D(4, 5), new Vector2D(1, 3)));
+		
+		assertEquals(0, buffer.nearest(new Vector2D(0, 0)));
+		assertEquals(1, buffer.nearest(new Vector2D(10, 10)));
+		assertEquals(2, buffer.nearest(1, 2.5));
+		assertEquals(-1, new Vector2DBuffer().nearest(0, 0));
+	}
+	
+	@Test
+	public void testGetBounds() {
+		Vector2DBuffer buffer = new Vector2DBuffer(Arrays.asList(new Vector2D(1, 1), new Vector2D(4, -5), new Vector2D(-1, 3)));
+		
+		Vector2D[] bounds = buffer.getBounds();
+		assertEquals(new Vector2D(-1, -5), bounds[0]);
+		assertEquals(new Vector2D(4, 3), bounds[1]);
+		assertThrows(LinearAlgebraException.class, () -> new Vector2DBuffer().getBounds());
+	}
+}
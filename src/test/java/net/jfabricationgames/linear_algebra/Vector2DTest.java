@@ -3,6 +3,7 @@ package net.jfabricationgames.linear_algebra;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -60,6 +61,19 @@ public class Vector2DTest {
 		assertEquals(v3.length(Integer.MAX_VALUE), 4, EPSILON);
 	}
 	
+	@Test
+	public void testLengthNormNegativeValues() {
+		Vector2D v = new Vector2D(-3, 4);
+		Vector2D v2 = new Vector2D(-3, -4);
+		//the norms use the absolute values
+		assertEquals(7, v.length(1), EPSILON);
+		assertEquals(7, v2.length(1), EPSILON);
+		assertEquals(5, v2.length(2), EPSILON);
+		assertEquals(4.49794144527, v2.length(3), EPSILON);
+		assertEquals(4, v2.length(Integer.MAX_VALUE), EPSILON);
+		assertEquals(5, new Vector2D(-5, 1).length(Integer.MAX_VALUE), EPSILON);
+	}
+	
 	@Test
 	public void testRotate() {
 		Vector2D v = new Vector2D(0, 0);
@@ -79,6 +93,33 @@ public class Vector2DTest {
 		assertArrayEquals(new Vector2D(-3, -2.75).setLength(3).asArray(), v3.rotate(42).asArray(), 1e-1);
 	}
 	
+	@Test
+	public void testRotateInPlaceAndDest() {
+		Vector2D v = new Vector2D(1, 0);
+		Vector2D v2 = new Vector2D(-3, 0);
+		Vector2D dest = new Vector2D();
+		assertSame(dest, v.rotate(90, dest));
+		assertEquals(new Vector2D(0, 1), dest);
+		assertEquals(new Vector2D(1, 0), v);//not changed
+		assertSame(v2, v2.rotateInPlace(90));
+		assertEquals(new Vector2D(0, -3), v2);
+		assertEquals(new Vector2D(1, 0).rotate(42), new Vector2D(1, 0).rotateInPlace(42));
+	}
+	
+	@Test
+	public void testRotateRotation2D() {
+		Rotation2D rotation = new Rotation2D(90);
+		Vector2D v = new Vector2D(1, 0);
+		Vector2D v2 = new Vector2D(-3, 0);
+		Vector2D dest = new Vector2D();
+		assertEquals(new Vector2D(0, 1), v.rotate(rotation));
+		assertSame(dest, v2.rotate(rotation, dest));
+		assertEquals(new Vector2D(0, -3), dest);
+		assertSame(v2, v2.rotateInPlace(rotation));
+		assertEquals(new Vector2D(0, -3), v2);
+		assertEquals(v.rotate(42), v.rotate(new Rotation2D(42)));
+	}
+	
 	@Test
 	public void testProject() {
 		Vector2D v = new Vector2D(0, 1);
@@ -88,6 +129,18 @@ public class Vector2DTest {
 		assertEquals(new Vector2D(0, 3), v.project(v3));
 	}
 	
+	@Test
+	public void testProjectDest() {
+		Vector2D v = new Vector2D(0, 1);
+		Vector2D v3 = new Vector2D(5, 3);
+		Vector2D dest = new Vector2D();
+		assertSame(dest, v.project(v3, dest));
+		assertEquals(new Vector2D(0, 3), dest);
+		//the projected vector can be used as destination
+		v.project(v3, v3);
+		assertEquals(new Vector2D(0, 3), v3);
+	}
+	
 	@Test
 	public void testAdd() {
 		Vector2D v = new Vector2D(1, 1);
@@ -97,6 +150,21 @@ public class Vector2DTest {
 		assertEquals(new Vector2D(2.12345, 8.34567), v2.add(v3));
 	}
 	
+	@Test
+	public void testAddInPlaceAndDest() {
+		Vector2D v = new Vector2D(1, 1);
+		Vector2D v2 = new Vector2D(1, 5);
+		Vector2D dest = new Vector2D();
+		assertSame(dest, v.add(v2, dest));
+		assertEquals(new Vector2D(2, 6), dest);
+		assertEquals(new Vector2D(1, 1), v);
+		assertSame(v, v.addInPlace(v2));
+		assertEquals(new Vector2D(2, 6), v);
+		//adding a vector to itself
+		v2.addInPlace(v2);
+		assertEquals(new Vector2D(2, 10), v2);
+	}
+	
 	@Test
 	public void testSub() {
 		Vector2D v = new Vector2D(1, 1);
@@ -106,6 +174,20 @@ public class Vector2DTest {
 		assertEquals(new Vector2D(0.12345, -1.65433), v3.sub(v2));
 	}
 	
+	@Test
+	public void testSubInPlaceAndDest() {
+		Vector2D v = new Vector2D(1, 1);
+		Vector2D v2 = new Vector2D(1, 5);
+		Vector2D dest = new Vector2D();
+		assertSame(dest, v.sub(v2, dest));
+		assertEquals(new Vector2D(0, -4), dest);
+		assertSame(v, v.subInPlace(v2));
+		assertEquals(new Vector2D(0, -4), v);
+		//the parameter vector can be used as destination
+		new Vector2D(3, 3).sub(v2, v2);
+		assertEquals(new Vector2D(2, -2), v2);
+	}
+	
 	@Test
 	public void testMult() {
 		Vector2D v = new Vector2D(1, 1);
@@ -117,6 +199,17 @@ public class Vector2DTest {
 		assertEquals(new Vector2D(0.3, 1.5), v2.mult(0.3));
 	}
 	
+	@Test
+	public void testMultInPlaceAndDest() {
+		Vector2D v = new Vector2D(1, 5);
+		Vector2D dest = new Vector2D();
+		assertSame(dest, v.mult(2, dest));
+		assertEquals(new Vector2D(2, 10), dest);
+		assertEquals(new Vector2D(1, 5), v);
+		assertSame(v, v.multInPlace(0.3));
+		assertEquals(new Vector2D(0.3, 1.5), v);
+	}
+	
 	@Test
 	public void testIsLinearlyDependent() {
 		Vector2D v = new Vector2D(1, 1);
@@ -168,6 +261,17 @@ public class Vector2DTest {
 		assertEquals(new Vector2D(6, 8), v2.setLength(10));
 	}
 	
+	@Test
+	public void testSetLengthInPlaceAndDest() {
+		Vector2D v = new Vector2D(1, 0);
+		Vector2D v2 = new Vector2D(3, 4);
+		Vector2D dest = new Vector2D();
+		assertSame(dest, v.setLength(4, dest));
+		assertEquals(new Vector2D(4, 0), dest);
+		assertSame(v2, v2.setLengthInPlace(10));
+		assertEquals(new Vector2D(6, 8), v2);
+	}
+	
 	@Test
 	public void testDistance() {
 		Vector2D v = new Vector2D(1, 1);
@@ -181,6 +285,17 @@ public class Vector2DTest {
 		assertEquals(v3.distance(v4), 5, EPSILON);
 	}
 	
+	@Test
+	public void testDistanceSquared() {
+		Vector2D v = new Vector2D(1, 1);
+		Vector2D v2 = new Vector2D(5, 5);
+		Vector2D v4 = new Vector2D(-2, -1);
+		assertEquals(32, v.distanceSquared(v2), EPSILON);
+		assertEquals(13, v.distanceSquared(v4), EPSILON);
+		assertEquals(0, v.distanceSquared(v), EPSILON);
+		assertEquals(Math.pow(v2.distance(v4), 2), v2.distanceSquared(v4), EPSILON);
+	}
+	
 	@Test
 	public void testMove() {
 		Vector2D v = new Vector2D(1, 1);
@@ -188,6 +303,13 @@ public class Vector2DTest {
 		assertEquals(new Vector2D(3, 5), v);
 	}
 	
+	@Test
+	public void testMoveVector() {
+		Vector2D v = new Vector2D(1, 1);
+		v.move(new Vector2D(3, 5));
+		assertEquals(new Vector2D(3, 5), v);
+	}
+	
 	@Test
 	public void testMoveTo() {
 		Vector2D v = new Vector2D(1, 1);
@@ -200,6 +322,17 @@ public class Vector2DTest {
 		assertEquals(new Vector2D(11, 11), v.moveTo(v3, 10*Math.sqrt(2)));
 	}
 	
+	@Test
+	public void testMoveToInPlaceAndDest() {
+		Vector2D v = new Vector2D(1, 1);
+		Vector2D v3 = new Vector2D(5, 5);
+		Vector2D dest = new Vector2D();
+		assertSame(dest, v.moveTo(v3, Math.sqrt(2), dest));
+		assertEquals(new Vector2D(2, 2), dest);
+		assertSame(v, v.moveToInPlace(v3, 10*Math.sqrt(2)));
+		assertEquals(new Vector2D(11, 11), v);
+	}
+	
 	@Test
 	public void testGetAngle() {
 		Vector2D v = new Vector2D(1, 0);
@@ -244,6 +377,17 @@ public class Vector2DTest {
 		assertEquals(new Vector2D(-4, -4), v3.vectorTo(v2));
 	}
 	
+	@Test
+	public void testVectorToDest() {
+		Vector2D v = new Vector2D(1, 0);
+		Vector2D v3 = new Vector2D(5, 5);
+		Vector2D dest = new Vector2D();
+		assertSame(dest, v.vectorTo(v3, dest));
+		assertEquals(new Vector2D(4, 5), dest);
+		v.vectorTo(v3, v);
+		assertEquals(new Vector2D(4, 5), v);
+	}
+	
 	@Test
 	public void testIsInRange() {
 		Vector2D p = new Vector2D(0, 0);
@@ -263,4 +407,15 @@ public class Vector2DTest {
 		assertFalse(p.isInRange(p, 1e10));
 	}
 	
+	@Test
+	public void testIsInRangeSquared() {
+		Vector2D p = new Vector2D(0, 0);
+		Vector2D v3 = new Vector2D(3, 4);
+		assertTrue(p.isInRangeSquared(v3, 25));
+		assertFalse(p.isInRangeSquared(v3, 25-EPSILON));
+		assertFalse(p.isInRangeSquared(p, 1));
+		//a negative range never includes a point
+		assertFalse(p.isInRange(new Vector2D(0, 0), -1));
+	}
+	
 }
\ No newline at end of file
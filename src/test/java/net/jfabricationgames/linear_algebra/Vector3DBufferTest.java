@@ -0,0 +1,129 @@
+package net.jfabricationgames.linear_algebra;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class Vector3DBufferTest {
+	
+	public static final double EPSILON = 1e-8;
+	
+	@Test
+	public void testListConversion() {
+		List<Vector3D> points = Arrays.asList(new Vector3D(1, 2, 3), new Vector3D(4, 5, 6), new Vector3D(-7, 8, -9));
+		Vector3DBuffer buffer = new Vector3DBuffer(points);
+		
+		assertEquals(3, buffer.size());
+		assertEquals(points, buffer.toList());
+		assertEquals(new Vector3D(4, 5, 6), buffer.get(1));
+		assertEquals(-7, buffer.getX(2), EPSILON);
+		assertEquals(8, buffer.getY(2), EPSILON);
+		assertEquals(-9, buffer.getZ(2), EPSILON);
+	}
+	
+	@Test
+	public void testAppendGetAndSet() {
+		Vector3DBuffer buffer = new Vector3DBuffer(0);
+		for (int i = 0; i < 50; i++) {
+			buffer.append(i, 2 * i, 3 * i);
+		}
+		buffer.append(new Vector3D(1, 1, 1));
+		Vector3D dest = new Vector3D();
+		
+		assertEquals(51, buffer.size());
+		assertSame(dest, buffer.get(10, dest));
+		assertEquals(new Vector3D(10, 20, 30), dest);
+		
+		buffer.set(50, 4, 5, 6);
+		assertEquals(new Vector3D(4, 5, 6), buffer.get(50));
+		buffer.set(0, new Vector3D(7, 8, 9));
+		assertEquals(new Vector3D(7, 8, 9), buffer.get(0));
+		assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(51));
+	}
+	
+	@Test
+	public void testAddTranslateAndScale() {
+		Vector3DBuffer buffer = new Vector3DBuffer(Arrays.asList(new Vector3D(1, 2, 3), new Vector3D(4, 5, 6)));
+		Vector3DBuffer buffer2 = new Vector3DBuffer(Arrays.asList(new Vector3D(1, 1, 1), new Vector3D(-4, 0, 1)));
+		
+		buffer.add(buffer2);
+		assertEquals(Arrays.asList(new Vector3D(2, 3, 4), new Vector3D(0, 5, 7)), buffer.toList());
+		buffer.translate(new Vector3D(0, -1, 1));
+		assertEquals(Arrays.asList(new Vector3D(2, 2, 5), new Vector3D(0, 4, 8)), buffer.toList());
+		buffer.scale(0.5);
+		assertEquals(Arrays.asList(new Vector3D(1, 1, 2.5), new Vector3D(0, 2, 4)), buffer.toList());
+		assertThrows(LinearAlgebraException.class, () -> buffer.add(new Vector3DBuffer()));
+	}
+	
+	@Test
+	public void testNormalize() {
+		Vector3DBuffer buffer = new Vector3DBuffer(Arrays.asList(new Vector3D(0, 4, 3), new Vector3D(2, 0, 0), new Vector3D(0, 0, 0)));
+		
+		buffer.normalize();
+		assertEquals(Arrays.asList(new Vector3D(0, 0.8, 0.6), new Vector3D(1, 0, 0), new Vector3D(0, 0, 0)), buffer.toList());
+	}
+	
+	@Test
+	public void testScalars() {
+		Vector3DBuffer buffer = new Vector3DBuffer(Arrays.asList(new Vector3D(1, 3, 5), new Vector3D(1, 0, 0)));
+		Vector3DBuffer buffer2 = new Vector3DBuffer(Arrays.asList(new Vector3D(1, 3, 4), new Vector3D(0, 1, 0)));
+		double[] dest = new double[2];
+		
+		assertSame(dest, buffer.scalars(new Vector3D(1, 3, 4), dest));
+		assertArrayEquals(new double[] {30, 1}, dest, EPSILON);
+		assertArrayEquals(new double[] {30, 0}, buffer.scalars(buffer2, null), EPSILON);
+	}
+	
+	@Test
+	public void testCross() {
+		Vector3DBuffer buffer = new Vector3DBuffer(Arrays.asList(new Vector3D(1, 3, 5), new Vector3D(2, 6, 10)));
+		Vector3DBuffer buffer2 = new Vector3DBuffer(Arrays.asList(new Vector3D(2, 6, 10), new Vector3D(1, 3, 4)));
+		
+		buffer.cross(new Vector3D(1, 3, 4));
+		assertEquals(Arrays.asList(new Vector3D(-3, 1, 0), new Vector3D(-6, 2, 0)), buffer.toList());
+		
+		buffer = new Vector3DBuffer(Arrays.asList(new Vector3D(1, 3, 5), new Vector3D(2, 6, 10)));
+		buffer.cross(buffer2);
+		assertEquals(Arrays.asList(new Vector3D(0, 0, 0), new Vector3D(-6, 2, 0)), buffer.toList());
+	}
+	
+	@Test
+	public void testDistances() {
+		Vector3DBuffer buffer = new Vector3DBuffer(Arrays.asList(new Vector3D(1, 3, 5), new Vector3D(2, 6, 10), new Vector3D(1, 3, 4)));
+		
+		assertArrayEquals(new double[] {0, Math.sqrt(35), 1}, buffer.distances(new Vector3D(1, 3, 5), null), EPSILON);
+	}
+	
+	@Test
+	public void testDistancesSquared() {
+		Vector3DBuffer buffer = new Vector3DBuffer(Arrays.asList(new Vector3D(1, 3, 5), new Vector3D(2, 6, 10), new Vector3D(1, 3, 4)));
+		
+		assertArrayEquals(new double[] {0, 35, 1}, buffer.distancesSquared(new Vector3D(1, 3, 5), null), EPSILON);
+	}
+	
+	@Test
+	public void testPlaneDistances() {
+		Plane3D planeXY = new Plane3D(new Vector3D(0, 0, 0), new Vector3D(1, 0, 0), new Vector3D(0, 1, 0));
+		Plane3D plane = new Plane3D(new Vector3D(1, 1, 0), new Vector3D(1, 1, -1), new Vector3D(2, 0, 1));
+		Vector3DBuffer buffer = new Vector3DBuffer(Arrays.asList(new Vector3D(0, 0, 0), new Vector3D(1, 1, 1), new Vector3D(5, 42, -17)));
+		Vector3DBuffer buffer2 = new Vector3DBuffer(Arrays.asList(new Vector3D(2, -2, -2), new Vector3D(4, 5, 6)));
+		
+		assertArrayEquals(new double[] {0, 1, 17}, buffer.planeDistances(planeXY, null), EPSILON);
+		assertArrayEquals(new double[] {Math.sqrt(14), 3d / 2 * Math.sqrt(14)}, buffer2.planeDistances(plane, null), EPSILON);
+	}
+	
+	@Test
+	public void testNearest() {
+		Vector3DBuffer buffer = new Vector3DBuffer(Arrays.asList(new Vector3D(1, 3, 5), new Vector3D(2, 6, 10), new Vector3D(1, 3, 4)));
+		
+		assertEquals(1, buffer.nearest(new Vector3D(10, 10, 10)));
+		assertEquals(2, buffer.nearest(new Vector3D(0, 0, 0)));
+		assertEquals(-1, new Vector3DBuffer().nearest(new Vector3D(0, 0, 0)));
+	}
+}
@@ -3,6 +3,7 @@ package net.jfabricationgames.linear_algebra;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -61,6 +62,18 @@ public class Vector3DTest {
 		assertEquals(5, v3.length(Integer.MAX_VALUE), EPSILON);
 	}
 	
+	@Test
+	public void testLengthNormNegativeValues() {
+		Vector3D v = new Vector3D(-1, 2, -2);
+		
+		//the norms use the absolute values
+		assertEquals(5, v.length(1), EPSILON);
+		assertEquals(3, v.length(2), EPSILON);
+		assertEquals(Math.pow(17, 1d / 3), v.length(3), EPSILON);
+		assertEquals(2, v.length(Integer.MAX_VALUE), EPSILON);
+		assertEquals(7, new Vector3D(1, -7, 2).length(Integer.MAX_VALUE), EPSILON);
+	}
+	
 	@Test
 	public void testRotate() {
 		Vector3D v = new Vector3D(1, 1, 1);
@@ -79,6 +92,21 @@ public class Vector3DTest {
 		assertEquals(new Vector3D(1, -1, 1), v.rotate(-90, Vector3D.Axis.Z));
 	}
 	
+	@Test
+	public void testRotateInPlaceAndDest() {
+		Vector3D v = new Vector3D(1, 1, 1);
+		Vector3D dest = new Vector3D();
+		
+		assertSame(dest, v.rotate(90, Vector3D.Axis.X, dest));
+		assertEquals(new Vector3D(1, -1, 1), dest);
+		assertEquals(new Vector3D(1, 1, 1), v);
+		
+		assertSame(v, v.rotateInPlace(90, Vector3D.Axis.Z));
+		assertEquals(new Vector3D(-1, 1, 1), v);
+		assertSame(v, v.rotateInPlace(-90, Vector3D.Axis.Y));
+		assertEquals(new Vector3D(-1, 1, -1), v);
+	}
+	
 	@Test
 	public void testProject() {
 		Vector3D v = new Vector3D(2, 2, 2);
@@ -89,6 +117,18 @@ public class Vector3DTest {
 		assertEquals(new Vector3D(2, 2, 0), v3.project(v));
 	}
 	
+	@Test
+	public void testProjectDest() {
+		Vector3D v = new Vector3D(2, 2, 2);
+		Vector3D v3 = new Vector3D(1, 1, 0);
+		Vector3D dest = new Vector3D();
+		
+		assertSame(dest, v3.project(v, dest));
+		assertEquals(new Vector3D(2, 2, 0), dest);
+		v3.project(v, v);
+		assertEquals(new Vector3D(2, 2, 0), v);
+	}
+	
 	@Test
 	public void testAdd() {
 		Vector3D v = new Vector3D(1, 1, 1);
@@ -98,6 +138,22 @@ public class Vector3DTest {
 		assertEquals(v.add(v2), v2.add(v));
 	}
 	
+	@Test
+	public void testAddInPlaceAndDest() {
+		Vector3D v = new Vector3D(1, 1, 1);
+		Vector3D v2 = new Vector3D(5, 5, 5);
+		Vector3D dest = new Vector3D();
+		
+		assertSame(dest, v.add(v2, dest));
+		assertEquals(new Vector3D(6, 6, 6), dest);
+		assertEquals(new Vector3D(1, 1, 1), v);
+		
+		assertSame(v, v.addInPlace(v2));
+		assertEquals(new Vector3D(6, 6, 6), v);
+		v2.addInPlace(v2);
+		assertEquals(new Vector3D(10, 10, 10), v2);
+	}
+	
 	@Test
 	public void testSub() {
 		Vector3D v = new Vector3D(1, 1, 1);
@@ -107,6 +163,21 @@ public class Vector3DTest {
 		assertEquals(new Vector3D(4, 4, 4), v2.sub(v));
 	}
 	
+	@Test
+	public void testSubInPlaceAndDest() {
+		Vector3D v = new Vector3D(1, 1, 1);
+		Vector3D v2 = new Vector3D(5, 5, 5);
+		Vector3D dest = new Vector3D();
+		
+		assertSame(dest, v.sub(v2, dest));
+		assertEquals(new Vector3D(-4, -4, -4), dest);
+		
+		assertSame(v2, v2.subInPlace(v));
+		assertEquals(new Vector3D(4, 4, 4), v2);
+		v.sub(v2, v2);
+		assertEquals(new Vector3D(-3, -3, -3), v2);
+	}
+	
 	@Test
 	public void testMult() {
 		Vector3D v = new Vector3D(1, 1, 1);
@@ -118,6 +189,19 @@ public class Vector3DTest {
 		assertEquals(new Vector3D(7, 21, 35), v2.mult(7));
 	}
 	
+	@Test
+	public void testMultInPlaceAndDest() {
+		Vector3D v = new Vector3D(1, 3, 5);
+		Vector3D dest = new Vector3D();
+		
+		assertSame(dest, v.mult(2, dest));
+		assertEquals(new Vector3D(2, 6, 10), dest);
+		assertEquals(new Vector3D(1, 3, 5), v);
+		
+		assertSame(v, v.multInPlace(7));
+		assertEquals(new Vector3D(7, 21, 35), v);
+	}
+	
 	@Test
 	public void testIsLinearlyDependentVector3D() {
 		Vector3D v = new Vector3D(1, 3, 5);
@@ -150,6 +234,31 @@ public class Vector3DTest {
 		assertTrue(Vector3D.isLinearlyDependentVectors(v, v2, v4, v5));//4 vectors in R^3...
 	}
 	
+	@Test
+	public void testIsLinearlyDependentVectors_Tolerance() {
+		Vector3D v = new Vector3D(1, 0, 0);
+		Vector3D v2 = new Vector3D(0, 1, 0);
+		Vector3D almostInPlane = new Vector3D(1, 1, 1e-12);
+		
+		assertTrue(Vector3D.isLinearlyDependentVectors(v, v2, almostInPlane));
+		assertFalse(Vector3D.isLinearlyDependentVectors(v, v2, new Vector3D(1, 1, 1e-6)));
+		assertTrue(Vector3D.isLinearlyDependentVectors(v, v2, new Vector3D(1, 1, 1e-6), 1e-5));
+		assertFalse(Vector3D.isLinearlyDependentVectors(v, v2, almostInPlane, 0));
+		
+		//the tolerance is relative to the lengths of the vectors
+		assertFalse(Vector3D.isLinearlyDependentVectors(v.mult(1e-6), v2.mult(1e-6), new Vector3D(0, 0, 1e-6)));
+		assertTrue(Vector3D.isLinearlyDependentVectors(v.mult(1e6), v2.mult(1e6), almostInPlane.mult(1e6)));
+		
+		//the products of the lengths of large (or small) vectors would overflow (or underflow)
+		assertFalse(Vector3D.isLinearlyDependentVectors(v.mult(1e52), v2.mult(1e52), new Vector3D(0, 0, 1e52)));
+		assertFalse(Vector3D.isLinearlyDependentVectors(v.mult(1e120), new Vector3D(1, 2, 0).mult(1e120), new Vector3D(1, 2, 3).mult(1e120)));
+		assertTrue(Vector3D.isLinearlyDependentVectors(v.mult(1e120), v2.mult(1e120), almostInPlane.mult(1e120)));
+		assertFalse(Vector3D.isLinearlyDependentVectors(v.mult(1e-120), v2.mult(1e-120), new Vector3D(0, 0, 1e-120)));
+		
+		//a null vector is linearly dependent to all other vectors
+		assertTrue(Vector3D.isLinearlyDependentVectors(v, v2, Vector3D.NULL_VEC));
+	}
+	
 	@Test
 	public void testScalar() {
 		Vector3D v = new Vector3D(1, 3, 5);
@@ -172,6 +281,23 @@ public class Vector3DTest {
 		assertEquals(v.cross(v3), v3.cross(v).mult(-1));
 	}
 	
+	@Test
+	public void testCrossInPlaceAndDest() {
+		Vector3D v = new Vector3D(1, 3, 5);
+		Vector3D v3 = new Vector3D(1, 3, 4);
+		Vector3D dest = new Vector3D();
+		
+		assertSame(dest, v.cross(v3, dest));
+		assertEquals(new Vector3D(-3, 1, 0), dest);
+		
+		//the parameter vector can be used as destination
+		v.cross(v3, v3);
+		assertEquals(new Vector3D(-3, 1, 0), v3);
+		
+		assertSame(v, v.crossInPlace(new Vector3D(1, 3, 4)));
+		assertEquals(new Vector3D(-3, 1, 0), v);
+	}
+	
 	@Test
 	public void testSetLength() {
 		Vector3D v = new Vector3D(0, 4, 3);
@@ -179,6 +305,17 @@ public class Vector3DTest {
 		assertEquals(new Vector3D(0, 8, 6), v.setLength(10));
 	}
 	
+	@Test
+	public void testSetLengthInPlaceAndDest() {
+		Vector3D v = new Vector3D(0, 4, 3);
+		Vector3D dest = new Vector3D();
+		
+		assertSame(dest, v.setLength(10, dest));
+		assertEquals(new Vector3D(0, 8, 6), dest);
+		assertSame(v, v.setLengthInPlace(1));
+		assertEquals(new Vector3D(0, 0.8, 0.6), v);
+	}
+	
 	@Test
 	public void testDistance() {
 		Vector3D v = new Vector3D(1, 3, 5);
@@ -205,6 +342,26 @@ public class Vector3DTest {
 		assertEquals(1, v.distance(v3, 3), EPSILON);
 	}
 	
+	@Test
+	public void testDistanceWithMaxNorm() {
+		Vector3D v = new Vector3D(1, 3, 5);
+		Vector3D v2 = new Vector3D(2, 6, 10);
+		
+		assertEquals(5, v.distance(v2, Integer.MAX_VALUE), EPSILON);
+		assertEquals(5, v2.distance(v, Integer.MAX_VALUE), EPSILON);
+	}
+	
+	@Test
+	public void testDistanceSquared() {
+		Vector3D v = new Vector3D(1, 3, 5);
+		Vector3D v2 = new Vector3D(2, 6, 10);
+		Vector3D v3 = new Vector3D(1, 3, 4);
+		
+		assertEquals(35, v.distanceSquared(v2), EPSILON);
+		assertEquals(1, v.distanceSquared(v3), EPSILON);
+		assertEquals(0, v.distanceSquared(v), EPSILON);
+	}
+	
 	@Test
 	public void testMoveTo() {
 		Vector3D v = new Vector3D(1, 3, 5);
@@ -216,6 +373,38 @@ public class Vector3DTest {
 		assertEquals(v3, v.moveTo(v3, v.distance(v3)));
 	}
 	
+	@Test
+	public void testMoveToInPlaceAndDest() {
+		Vector3D v = new Vector3D(1, 3, 5);
+		Vector3D v2 = new Vector3D(2, 6, 10);
+		Vector3D dest = new Vector3D();
+		
+		assertSame(dest, v.moveTo(v2, Math.sqrt(35), dest));
+		assertEquals(v2, dest);
+		assertSame(v, v.moveToInPlace(v2, 2 * Math.sqrt(35)));
+		assertEquals(new Vector3D(3, 9, 15), v);
+	}
+	
+	@Test
+	public void testMove() {
+		Vector3D v = new Vector3D(1, 3, 5);
+		
+		v.move(2, 4, 6);
+		assertEquals(new Vector3D(2, 4, 6), v);
+		v.move(new Vector3D(7, 8, 9));
+		assertEquals(new Vector3D(7, 8, 9), v);
+	}
+	
+	@Test
+	public void testClone() {
+		Vector3D v = new Vector3D(1, 3, 5);
+		Vector3D clone = v.clone();
+		
+		assertEquals(v, clone);
+		clone.move(2, 4, 6);
+		assertEquals(new Vector3D(1, 3, 5), v);
+	}
+	
 	@Test
 	public void testGetAngleTo() {
 		Vector3D v = new Vector3D(1, 0, 0);
@@ -238,6 +427,18 @@ public class Vector3DTest {
 		assertEquals(v2.vectorTo(v3), v3.vectorTo(v2).mult(-1));
 	}
 	
+	@Test
+	public void testVectorToDest() {
+		Vector3D v = new Vector3D(1, 3, 5);
+		Vector3D v3 = new Vector3D(1, 3, 4);
+		Vector3D dest = new Vector3D();
+		
+		assertSame(dest, v.vectorTo(v3, dest));
+		assertEquals(new Vector3D(0, 0, -1), dest);
+		v.vectorTo(v3, v);
+		assertEquals(new Vector3D(0, 0, -1), v);
+	}
+	
 	@Test
 	public void testIsInRange() {
 		Vector3D v = new Vector3D(0, 0, 0);
@@ -257,4 +458,15 @@ public class Vector3DTest {
 		assertFalse(v.isInRange(v3, Math.sqrt(3) - EPSILON));
 	}
 	
+	@Test
+	public void testIsInRangeSquared() {
+		Vector3D v = new Vector3D(0, 0, 0);
+		Vector3D v3 = new Vector3D(1, 1, 1);
+		
+		assertTrue(v.isInRangeSquared(v3, 3));
+		assertFalse(v.isInRangeSquared(v3, 3 - EPSILON));
+		assertFalse(v.isInRangeSquared(v, 1));
+		assertFalse(v.isInRange(new Vector3D(0, 0, 0), -1));
+	}
+	
 }
\ No newline at end of file